@@ -0,0 +1,69 @@
+package com.example.crypto.adapters.in.importer;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Length, CRC32C checksum and first line of a CSV resource, computed in a single pass.
+ *
+ * @param length         number of bytes of the resource
+ * @param checksum       CRC32C of all bytes
+ * @param prefixChecksum CRC32C of the first {@code prefixLength} bytes (see {@link #scan(Resource, long)}),
+ *                       {@code -1} if the resource is shorter
+ * @param firstLine      first line without line terminator (at most {@value #MAX_LINE} bytes)
+ */
+record CsvFingerprint(long length, long checksum, long prefixChecksum, String firstLine) {
+
+    static final int MAX_LINE = 1024;
+
+    /**
+     * Scans the resource.
+     *
+     * @param prefixLength length of the prefix to compute {@link #prefixChecksum()} for
+     */
+    static CsvFingerprint scan(Resource resource, long prefixLength) throws IOException {
+        var crc = new CRC32C();
+        byte[] buffer = new byte[64 * 1024];
+        byte[] line = new byte[MAX_LINE];
+        int lineLength = 0;
+        boolean lineComplete = false;
+
+        long length = 0;
+        long prefixChecksum = prefixLength == 0 ? crc.getValue() : -1;
+
+        try (InputStream in = resource.getInputStream()) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                for (int i = 0; i < n && !lineComplete; i++) {
+                    if (buffer[i] == '\n' || lineLength == MAX_LINE) {
+                        lineComplete = true;
+                    } else {
+                        line[lineLength++] = buffer[i];
+                    }
+                }
+
+                // CRC32C.getValue() does not finish the checksum, so the prefix value is taken on the way
+                if (length < prefixLength && length + n >= prefixLength) {
+                    int head = (int) (prefixLength - length);
+                    crc.update(buffer, 0, head);
+                    prefixChecksum = crc.getValue();
+                    crc.update(buffer, head, n - head);
+                } else {
+                    crc.update(buffer, 0, n);
+                }
+                length += n;
+            }
+        }
+
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+            lineLength--;
+        }
+        String firstLine = new String(Arrays.copyOf(line, lineLength), StandardCharsets.UTF_8);
+        return new CsvFingerprint(length, crc.getValue(), prefixChecksum, firstLine);
+    }
+}
@@ -1,123 +1,402 @@
 package com.example.crypto.adapters.in.importer;
 
+import com.example.crypto.adapters.out.cache.DatasetWatermark;
+import com.example.crypto.adapters.out.memory.DatasetCatalog;
+import com.example.crypto.adapters.out.memory.DatasetCatalog.SymbolMetadata;
+import com.example.crypto.adapters.out.memory.PriceSeries;
+import com.example.crypto.adapters.out.memory.PriceSeriesStore;
+import com.example.crypto.adapters.out.persistence.jpa.ImportManifestEntity;
 import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.ImportManifestRepository;
 import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import com.example.crypto.adapters.out.persistence.rollup.DailyRollupMaintainer;
+import com.example.crypto.adapters.out.persistence.writer.PricePointWriter;
+import com.example.crypto.adapters.out.persistence.writer.PricePointWriter.WriteResult;
 import com.example.crypto.config.properties.AppImportProperties;
+import com.example.crypto.domain.event.PriceDataChangedEvent;
 import com.example.crypto.domain.exception.DataImportException;
+import com.example.crypto.domain.model.PricePoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.ResourceUtils;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Imports crypto price points from CSV files located under classpath.
  *
  * <p>Import runs on application startup and persists data into the database.
  * This prevents reading CSV files on every request.
+ *
+ * <p>When the in-memory engine is enabled, imported price points are also published to the
+ * {@link PriceSeriesStore}. If the import is skipped because the database already contains data,
+ * the store is loaded from the database instead.
+ *
+ * <p>Imports are incremental: every imported file is recorded in the import manifest ({@code import_manifest})
+ * with its imported length and checksum. On a database that already contains data only new files and the
+ * tails appended to imported files are read; files changed in place are reported and skipped. A database filled
+ * before the manifest existed is left as it is.
+ *
+ * <p>Files are parsed concurrently ({@code app.import.parallelism}) and handed over through a bounded queue
+ * ({@code app.import.queue-capacity}) to the startup thread, which is the only one writing to the database.
+ * Files of the same symbol are merged into ascending timestamp order on the way, rows repeated across them are
+ * written once (the later file wins), so indexes are appended to and in-memory series need no sorting.
+ * Batches of {@code app.import.batch-size} rows are written by the configured {@link PricePointWriter}
+ * ({@code app.import.writer}) and committed one by one; if the import fails, the rows it inserted are removed
+ * (prices replaced by the {@code upsert} writer are not restored). With {@code app.import.clean-before-import}
+ * the wipe and the whole import run in one transaction instead, so a failed import keeps the previous dataset.
+ *
+ * <p>Every import also rewrites the daily rollups ({@code daily_price_aggregates}) used by day-aligned queries.
+ * Once the data is complete, its metadata is published in the {@link DatasetCatalog} and its latest timestamp as
+ * the {@link DatasetWatermark}; imported (or cleaned) data is announced with a {@link PriceDataChangedEvent}, so
+ * cached results of the affected symbols and span are evicted.
  */
 @Component
+@Order(CsvPriceImporter.ORDER)
 @EnableConfigurationProperties(AppImportProperties.class)
 public class CsvPriceImporter implements ApplicationRunner {
 
+    /**
+     * Order of the import among the startup {@link ApplicationRunner}s; runners depending on the data come later.
+     */
+    public static final int ORDER = 0;
+
     private static final Logger log = LoggerFactory.getLogger(CsvPriceImporter.class);
 
     private final AppImportProperties props;
     private final ResourcePatternResolver resolver;
     private final PricePointRepository repository;
+    private final PriceSeriesStore store;
+    private final DailyRollupMaintainer rollups;
+    private final PricePointWriter writer;
+    private final TransactionOperations transactions;
+    private final ImportManifestRepository manifest;
+    private final DatasetWatermark watermark;
+    private final DatasetCatalog catalog;
+    private final ApplicationEventPublisher events;
 
     public CsvPriceImporter(AppImportProperties props,
                             ResourcePatternResolver resolver,
-                            PricePointRepository repository) {
+                            PricePointRepository repository,
+                            PriceSeriesStore store,
+                            DailyRollupMaintainer rollups,
+                            PricePointWriter writer,
+                            TransactionOperations transactions,
+                            ImportManifestRepository manifest,
+                            DatasetWatermark watermark,
+                            DatasetCatalog catalog,
+                            ApplicationEventPublisher events) {
         this.props = props;
         this.resolver = resolver;
         this.repository = repository;
+        this.manifest = manifest;
+        this.store = store;
+        this.rollups = rollups;
+        this.writer = writer;
+        this.transactions = transactions;
+        this.watermark = watermark;
+        this.catalog = catalog;
+        this.events = events;
     }
 
     @Override
-    @Transactional
     public void run(ApplicationArguments args) {
         if (!props.enabled()) {
             log.info("CSV import disabled (app.import.enabled=false).");
 
             return;
         }
-
         if (props.cleanBeforeImport()) {
-            log.warn("Cleaning DB before import (app.import.clean-before-import=true)...");
-            repository.deleteAllInBatch();
-        } else if (repository.count() > 0) {
-            log.info("DB already contains data (count={}). Skipping import.", repository.count());
+            cleanAndImport();
+            return;
+        }
+
+        long existing = repository.count();
+        if (existing > 0 && manifest.count() == 0) {
+            log.info("DB already contains data (count={}) without import manifest. Skipping import.", existing);
+            transactions.executeWithoutResult(status -> loadFromDatabase(false));
+            publishCatalog();
             return;
         }
 
+        boolean incremental = existing > 0;
+        long lastIdBeforeImport = 0;
+        Imported imported;
         try {
-            Resource[] resources = resolver.getResources(props.resourcePattern());
-            if (resources.length == 0) {
-                log.warn("No CSV resources found for pattern: {}", props.resourcePattern());
-                return;
+            ImportPlan plan = plan(incremental);
+            if (incremental) {
+                lastIdBeforeImport = repository.findMaxId().orElse(0L);
             }
+            imported = importPlan(plan, incremental, existing);
+        } catch (Exception e) {
+            var failure = new DataImportException("CSV import failed", e);
+            discardPartialImport(failure, lastIdBeforeImport);
+            throw failure;
+        }
+        publish(imported);
+    }
+
+    /**
+     * Wipes the stored data and imports all files in a single transaction: unlike the per-batch commits of other
+     * imports, a failure rolls back to the previous dataset instead of leaving the database empty.
+     */
+    private void cleanAndImport() {
+        log.warn("Cleaning DB before import (app.import.clean-before-import=true)...");
+        Set<String> cleared = Set.copyOf(repository.findDistinctSymbols());
+        Imported imported;
+        try {
+            ImportPlan plan = plan(false);
+            imported = transactions.execute(status -> {
+                clearImportedData();
+                return importPlan(plan, false, 0);
+            });
+        } catch (Exception e) {
+            throw new DataImportException("CSV import failed", e);
+        }
+        if (!cleared.isEmpty()) {
+            events.publishEvent(PriceDataChangedEvent.allTime(cleared));
+        }
+        publish(imported);
+    }
 
-            CsvPriceParser parser = new CsvPriceParser();
+    private ImportPlan plan(boolean incremental) throws IOException {
+        Resource[] resources = resolver.getResources(props.resourcePattern());
+        if (resources.length == 0) {
+            log.warn("No CSV resources found for pattern: {}", props.resourcePattern());
+        }
 
-            long startNanos = System.nanoTime();
-            int batchSize = Math.max(1, props.batchSize());
+        ImportPlan plan = ImportPlan.create(resources, incremental ? manifestByFileName() : Map.of());
+        plan.changed().forEach(fileName -> log.warn("CSV {} was modified since it was imported and is skipped; "
+                + "use app.import.clean-before-import=true to reimport all files.", fileName));
+        return plan;
+    }
 
-            Map<String, Integer> perSymbol = new HashMap<>();
-            long totalImported = 0;
+    private Imported importPlan(ImportPlan plan, boolean incremental, long existing) {
+        if (plan.isEmpty()) {
+            log.info("No new CSV data to import ({} file(s) unchanged, count={}).", plan.unchanged(), existing);
+            if (incremental) {
+                transactions.executeWithoutResult(status -> loadFromDatabase(false));
+            }
+            return Imported.NONE;
+        }
 
-            List<PricePointEntity> batch = new ArrayList<>(batchSize);
+        if (incremental) {
+            log.info("Importing {} new or appended CSV file(s), {} bytes ({} file(s) unchanged, count={}).",
+                    plan.entries().size(), plan.bytesToRead(), plan.unchanged(), existing);
+        }
+        return writePlan(plan, incremental);
+    }
 
-            for (Resource resource : resources) {
-                String filename = Optional.ofNullable(resource.getFilename()).orElse("UNKNOWN");
-                String fallbackSymbol = symbolFromFilename(filename);
+    private Imported writePlan(ImportPlan plan, boolean incremental) {
+        long startNanos = System.nanoTime();
+        int batchSize = Math.max(1, props.batchSize());
+        List<ImportPlan.Entry> entries = plan.entries();
 
-                log.info("Importing CSV: {} (fallbackSymbol={})", filename, fallbackSymbol);
+        Map<String, Integer> perSymbol = new TreeMap<>();
+        Instant[] span = new Instant[2];
+        long[] totalRows = {0};
+        WriteResult[] written = {WriteResult.NONE};
 
-                try (InputStream in = resource.getInputStream()) {
-                    var rows = parser.parse(in, fallbackSymbol);
+        // a full insert-only import feeds the store and the rollups on the way; incremental and upsert imports
+        // (where rows may replace stored ones) reload them from the database afterwards
+        boolean reloadAfterImport = incremental || props.writer() == AppImportProperties.Writer.UPSERT;
+        PriceSeriesStore.Loader loader = !reloadAfterImport && store.isEnabled() ? store.newLoader() : null;
+        DailyRollupMaintainer.Accumulator daily = reloadAfterImport ? null : rollups.newAccumulator();
 
-                    for (var r : rows) {
-                        batch.add(new PricePointEntity(r.symbol(), r.timestamp(), r.priceUsd()));
-                        perSymbol.merge(r.symbol(), 1, Integer::sum);
-                        totalImported++;
+        // filesystem patterns are memory-mapped, classpath/jar resources are streamed
+        boolean memoryMapped = props.resourcePattern().startsWith(ResourceUtils.FILE_URL_PREFIX);
+        CsvSource[] sources = entries.stream().map(ImportPlan.Entry::source).toArray(CsvSource[]::new);
+        var reader = new ParallelCsvReader(sources, this::symbolFromFilename,
+                props.effectiveParallelism(), props.effectiveQueueCapacity(), batchSize, memoryMapped);
 
-                        if (batch.size() >= batchSize) {
-                            repository.saveAll(batch);
+        // parsing and merging per symbol run concurrently, this thread is the single writer; rows arrive
+        // ascending by timestamp per symbol and every batch is committed on its own
+        ParallelCsvReader.Summary summary = reader.forEachChunk(rows -> {
+            List<PricePointEntity> batch = new ArrayList<>(rows.size());
 
-                            repository.flush();
-                            batch.clear();
-                        }
-                    }
+            for (var r : rows) {
+                batch.add(new PricePointEntity(r.symbol(), r.timestamp(), r.priceUsd()));
+                if (daily != null) {
+                    daily.add(r.symbol(), r.timestamp(), r.priceUsd());
+                }
+                if (loader != null) {
+                    loader.add(r.symbol(), r.timestamp(), r.priceUsd());
+                }
+                perSymbol.merge(r.symbol(), 1, Integer::sum);
+                if (span[0] == null || r.timestamp().isBefore(span[0])) {
+                    span[0] = r.timestamp();
+                }
+                if (span[1] == null || r.timestamp().isAfter(span[1])) {
+                    span[1] = r.timestamp();
                 }
             }
 
-            if (!batch.isEmpty()) {
-                repository.saveAll(batch);
+            WriteResult result = transactions.execute(status -> writer.write(batch));
+            written[0] = written[0].plus(result);
+            totalRows[0] += batch.size();
+        });
 
-                repository.flush();
-                batch.clear();
+        long tookMs = (System.nanoTime() - startNanos) / 1_000_000;
+        long rowsPerSecond = totalRows[0] * 1000 / Math.max(1, tookMs);
+
+        log.info("Imported {} price points from {} CSV file(s) in {} ms ({} rows/s, writer={}, parallelism={}).",
+                totalRows[0], entries.size(), tookMs, rowsPerSecond, props.writer(),
+                props.effectiveParallelism());
+        log.info("Merged {} CSV file(s) into {} symbol group(s), {} duplicate row(s) dropped.",
+                entries.size(), summary.groups(), summary.duplicates());
+        if (summary.outOfOrder() > 0) {
+            log.warn("{} CSV row(s) were older than the previous row of their file and were imported unsorted; "
+                    + "duplicates among them are not resolved.", summary.outOfOrder());
+        }
+        log.info("Import result: inserted={}, updated={}, skipped={}.",
+                written[0].inserted(), written[0].updated(), written[0].skipped());
+        log.info("Import summary per symbol: {}", perSymbol);
+
+        List<ImportManifestEntity> manifestEntries = manifestEntries(entries, summary.maxTimestamps());
+        transactions.executeWithoutResult(status -> {
+            if (!incremental) {
+                manifest.deleteAllInBatch();
             }
+            manifest.saveAll(manifestEntries);
+            if (reloadAfterImport) {
+                loadFromDatabase(true);
+            } else {
+                rollups.replaceAll(daily);
+            }
+        });
+        return new Imported(loader, perSymbol.keySet(), span[0], span[1]);
+    }
 
-            long tookMs = (System.nanoTime() - startNanos) / 1_000_000;
+    /**
+     * Publishes committed imported data to the in-memory store, the dataset catalog and the caches.
+     */
+    private void publish(Imported imported) {
+        if (imported.loader() != null) {
+            imported.loader().publish();
+        }
+        publishCatalog();
+        if (!imported.symbols().isEmpty()) {
+            events.publishEvent(new PriceDataChangedEvent(imported.symbols(), imported.from(), imported.to()));
+        }
+    }
 
-            log.info("Imported {} price points from {} CSV file(s) in {} ms.", totalImported, resources.length, tookMs);
-            log.info("Import summary per symbol: {}", perSymbol);
+    /**
+     * Publishes the metadata of the stored dataset, from the in-memory store when loaded, otherwise with one
+     * aggregate query, and marks the dataset as complete up to its latest timestamp; results of earlier ranges may
+     * be cached for good.
+     */
+    private void publishCatalog() {
+        List<SymbolMetadata> entries = store.isLoaded()
+                ? store.allSeries().stream().map(CsvPriceImporter::metadata).toList()
+                : repository.findCatalogBySymbol().stream()
+                        .map(r -> new SymbolMetadata(r.getSymbol(), r.getFirstTimestamp(), r.getLastTimestamp(),
+                                r.getRowCount(), new PricePoint(r.getLastTimestamp(), r.getLatestPrice())))
+                        .toList();
+        catalog.publish(entries);
 
-        } catch (Exception e) {
-            throw new DataImportException("CSV import failed", e);
+        Instant latest = catalog.lastTimestamp().orElse(null);
+        watermark.update(latest);
+        log.info("Dataset catalog published: symbols={} points={}. Dataset high-water mark: {}",
+                entries.size(), catalog.rowCount(), latest);
+    }
+
+    private static SymbolMetadata metadata(PriceSeries series) {
+        PricePoint latest = series.pointAt(series.size() - 1);
+        return new SymbolMetadata(series.symbol(), series.pointAt(0).timestamp(), latest.timestamp(), series.size(),
+                latest);
+    }
+
+    private static List<ImportManifestEntity> manifestEntries(List<ImportPlan.Entry> entries, Instant[] maxTimestamps) {
+        Instant now = Instant.now();
+        List<ImportManifestEntity> result = new ArrayList<>(entries.size());
+
+        for (int i = 0; i < entries.size(); i++) {
+            var entry = entries.get(i);
+            Instant maxTimestamp = maxTimestamps[i];
+            if (entry.previous() != null && entry.previous().getMaxTimestamp() != null
+                    && (maxTimestamp == null || entry.previous().getMaxTimestamp().isAfter(maxTimestamp))) {
+                maxTimestamp = entry.previous().getMaxTimestamp();
+            }
+            result.add(new ImportManifestEntity(entry.source().fileName(), entry.fingerprint().length(),
+                    entry.fingerprint().checksum(), entry.headerLine(), maxTimestamp, now));
+        }
+        return result;
+    }
+
+    private Map<String, ImportManifestEntity> manifestByFileName() {
+        Map<String, ImportManifestEntity> result = new HashMap<>();
+        manifest.findAll().forEach(entry -> result.put(entry.getFileName(), entry));
+        return result;
+    }
+
+    /**
+     * Batches are committed one by one, so a failed import would leave a partial dataset behind, which the next
+     * startup would mistake for imported data. Price point ids grow with every insert and this thread is the only
+     * writer, so removing all rows after the last id before the import restores the previous state.
+     */
+    private void discardPartialImport(DataImportException failure, long lastIdBeforeImport) {
+        try {
+            transactions.executeWithoutResult(status -> repository.deleteByIdGreaterThan(lastIdBeforeImport));
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void clearImportedData() {
+        repository.deleteAllInBatch();
+        manifest.deleteAllInBatch();
+        rollups.clear();
+    }
+
+    /**
+     * Fills the in-memory store (and the daily rollups, if missing or {@code rebuildRollups}) from price points
+     * already persisted in the database, in a single pass.
+     */
+    private void loadFromDatabase(boolean rebuildRollups) {
+        rebuildRollups = rebuildRollups || !rollups.hasRollups();
+        if (!rebuildRollups) {
+            rollups.markReady();
+        }
+        if (!store.isEnabled() && !rebuildRollups) {
+            return;
+        }
+
+        PriceSeriesStore.Loader loader = store.isEnabled() ? store.newLoader() : null;
+        DailyRollupMaintainer.Accumulator daily = rebuildRollups ? rollups.newAccumulator() : null;
+
+        try (var rows = repository.streamAllOrderBySymbolAndTimestamp()) {
+            rows.forEach(r -> {
+                if (loader != null) {
+                    loader.add(r.getSymbol(), r.getTimestamp(), r.getPriceUsd());
+                }
+                if (daily != null) {
+                    daily.add(r.getSymbol(), r.getTimestamp(), r.getPriceUsd());
+                }
+            });
+        }
+
+        if (daily != null) {
+            rollups.replaceAll(daily);
+        }
+        if (loader != null) {
+            loader.publish();
         }
     }
 
@@ -142,4 +421,17 @@ public class CsvPriceImporter implements ApplicationRunner {
 
         return dot > 0 ? upper.substring(0, dot) : upper;
     }
+
+    /**
+     * Outcome of an import, published once its transaction has committed.
+     *
+     * @param loader  rows for the in-memory store, {@code null} if it is reloaded from the database or disabled
+     * @param symbols imported symbols
+     * @param from    oldest imported timestamp
+     * @param to      newest imported timestamp
+     */
+    private record Imported(PriceSeriesStore.Loader loader, Set<String> symbols, Instant from, Instant to) {
+
+        static final Imported NONE = new Imported(null, Set.of(), null, null);
+    }
 }
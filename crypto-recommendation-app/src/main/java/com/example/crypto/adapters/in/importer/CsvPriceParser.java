@@ -5,19 +5,22 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * CSV parser for the test task format.
@@ -37,112 +40,147 @@ import java.util.Objects;
  * Note: For backward compatibility, headerless CSV is also supported:
  * - timestamp,price
  * - timestamp,symbol,price
+ * <p>
+ * Parsing is streaming and single-pass: the format is decided once from the first record (header or data),
+ * rows are produced lazily and the file is never held in memory as a whole.
  */
 class CsvPriceParser {
 
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+            .setTrim(true)
+            .setIgnoreEmptyLines(true)
+            .build();
+
     record ParsedRow(String symbol, Instant timestamp, BigDecimal priceUsd) {
     }
 
+    /**
+     * Parses the whole input into a list. Convenience for small inputs; prefer {@link #stream(InputStream, String)}.
+     */
     List<ParsedRow> parse(InputStream inputStream, String fallbackSymbol) {
+        try (Stream<ParsedRow> rows = stream(inputStream, fallbackSymbol)) {
+            return rows.toList();
+        }
+    }
+
+    /**
+     * Returns a lazy stream of parsed rows.
+     *
+     * <p>The stream must be closed; closing it closes the underlying CSV parser (but not the input stream).
+     * A malformed row fails the stream with {@link DataImportException} when it is reached.
+     */
+    Stream<ParsedRow> stream(InputStream inputStream, String fallbackSymbol) {
         Objects.requireNonNull(inputStream, "inputStream");
         Objects.requireNonNull(fallbackSymbol, "fallbackSymbol");
 
+        CSVParser parser;
         try {
-            byte[] bytes = inputStream.readAllBytes();
-
-            // 1) Preferred: parse with headers
-            List<ParsedRow> withHeaders = tryParseWithHeaders(bytes, fallbackSymbol);
-            if (withHeaders != null) return withHeaders;
+            parser = FORMAT.parse(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new DataImportException("Failed to read CSV for symbol " + fallbackSymbol, e);
+        }
 
-            // 2) Fallback: parse without headers (legacy)
-            List<ParsedRow> withoutHeaders = tryParseWithoutHeaders(bytes, fallbackSymbol);
-            if (withoutHeaders != null) return withoutHeaders;
+        try {
+            Iterator<CSVRecord> records = parser.iterator();
+            if (!records.hasNext()) {
+                return Stream.<ParsedRow>empty().onClose(() -> closeQuietly(parser));
+            }
 
-            throw new DataImportException("CSV parsing failed (unsupported format) for symbol " + fallbackSymbol, null);
-        } catch (IOException e) {
-            throw new DataImportException("Failed to read CSV bytes for symbol " + fallbackSymbol, e);
+            CSVRecord first = records.next();
+            HeaderIndexes header = HeaderIndexes.from(first);
+
+            // header CSV: the first record only describes the columns, otherwise it is already a data row
+            Stream<CSVRecord> dataRecords = header.isPresent()
+                    ? remaining(records)
+                    : Stream.concat(Stream.of(first), remaining(records));
+            RowMapper mapper = header.isPresent() ? header : HEADERLESS;
+
+            return dataRecords
+                    .map(record -> toRow(record, mapper, fallbackSymbol))
+                    .onClose(() -> closeQuietly(parser));
+        } catch (RuntimeException e) {
+            closeQuietly(parser);
+            throw readFailure(e, fallbackSymbol);
         }
     }
 
-    private List<ParsedRow> tryParseWithHeaders(byte[] bytes, String fallbackSymbol) {
-        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
-            CSVParser parser = CSVFormat.DEFAULT.builder()
-                    .setTrim(true)
-                    .setIgnoreEmptyLines(true)
-                    .setHeader()
-                    .setSkipHeaderRecord(true)
-                    .build()
-                    .parse(reader);
-
-            HeaderIndexes header = HeaderIndexes.from(parser.getHeaderMap());
-            if (!header.isPresent()) {
-                return null; // not a header CSV
-            }
+    /**
+     * @return whether the given line is a header naming the {@code timestamp}, {@code symbol} and {@code price}
+     * columns
+     */
+    static boolean isHeader(String line) {
+        try (CSVParser parser = FORMAT.parse(new StringReader(line))) {
+            Iterator<CSVRecord> records = parser.iterator();
+            return records.hasNext() && HeaderIndexes.from(records.next()).isPresent();
+        } catch (IOException | UncheckedIOException e) {
+            return false;
+        }
+    }
 
-            List<ParsedRow> rows = new ArrayList<>();
-            for (CSVRecord record : parser) {
-                String tsRaw = record.get(header.timestampIdx());
-                String symbolRaw = record.get(header.symbolIdx());
-                String priceRaw = record.get(header.priceIdx());
+    private ParsedRow toRow(CSVRecord record, RowMapper mapper, String fallbackSymbol) {
+        try {
+            return mapper.map(record, fallbackSymbol);
+        } catch (DataImportException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new DataImportException("CSV parsing failed for symbol %s at record %d: %s"
+                    .formatted(fallbackSymbol, record.getRecordNumber(), e.getMessage()), e);
+        }
+    }
 
-                String symbol = (symbolRaw == null || symbolRaw.isBlank())
-                        ? fallbackSymbol
-                        : symbolRaw.trim().toUpperCase(Locale.ROOT);
+    private Stream<CSVRecord> remaining(Iterator<CSVRecord> records) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED), false);
+    }
 
-                Instant ts = parseInstant(tsRaw);
-                BigDecimal price = new BigDecimal(priceRaw.trim());
+    private static DataImportException readFailure(RuntimeException e, String fallbackSymbol) {
+        return e instanceof DataImportException die
+                ? die
+                : new DataImportException("Failed to read CSV for symbol " + fallbackSymbol, e);
+    }
 
-                rows.add(new ParsedRow(symbol, ts, price));
-            }
-            return rows;
-        } catch (Exception e) {
-            return null;
+    private static void closeQuietly(CSVParser parser) {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // nothing to do, the input stream is owned by the caller
         }
     }
 
-    private List<ParsedRow> tryParseWithoutHeaders(byte[] bytes, String fallbackSymbol) {
-        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
-            CSVParser parser = CSVFormat.DEFAULT.builder()
-                    .setTrim(true)
-                    .setIgnoreEmptyLines(true)
-                    .build()
-                    .parse(reader);
-
-            List<ParsedRow> rows = new ArrayList<>();
-            for (CSVRecord record : parser) {
-                if (record.size() < 2) {
-                    throw new IllegalArgumentException("Expected at least 2 columns (timestamp,price)");
-                }
-                String tsRaw = record.get(0);
-                String symbolRaw = null;
-                String priceRaw;
-
-                if (record.size() >= 3) {
-                    symbolRaw = record.get(1);
-                    priceRaw = record.get(2);
-                } else {
-                    priceRaw = record.get(1);
-                }
-
-                String symbol = (symbolRaw == null || symbolRaw.isBlank())
-                        ? fallbackSymbol
-                        : symbolRaw.trim().toUpperCase(Locale.ROOT);
-
-                Instant ts = parseInstant(tsRaw);
-                BigDecimal price = new BigDecimal(priceRaw.trim());
-
-                rows.add(new ParsedRow(symbol, ts, price));
-            }
-            return rows;
-        } catch (Exception e) {
-            return null;
+    /**
+     * Maps a data record into a row.
+     */
+    @FunctionalInterface
+    private interface RowMapper {
+        ParsedRow map(CSVRecord record, String fallbackSymbol);
+    }
+
+    /**
+     * Legacy headerless layouts: {@code timestamp,price} and {@code timestamp,symbol,price}.
+     */
+    private static final RowMapper HEADERLESS = (record, fallbackSymbol) -> {
+        if (record.size() < 2) {
+            throw new IllegalArgumentException("Expected at least 2 columns (timestamp,price)");
         }
+        return record.size() >= 3
+                ? row(record.get(0), record.get(1), record.get(2), fallbackSymbol)
+                : row(record.get(0), null, record.get(1), fallbackSymbol);
+    };
+
+    private static ParsedRow row(String tsRaw, String symbolRaw, String priceRaw, String fallbackSymbol) {
+        String symbol = (symbolRaw == null || symbolRaw.isBlank())
+                ? fallbackSymbol
+                : symbolRaw.trim().toUpperCase(Locale.ROOT);
+
+        Instant ts = parseInstant(tsRaw);
+        BigDecimal price = new BigDecimal(priceRaw.trim());
+
+        return new ParsedRow(symbol, ts, price);
     }
 
-    private Instant parseInstant(String raw) {
+    static Instant parseInstant(String raw) {
         String v = raw.trim();
         // digits -> epoch seconds/millis
-        if (v.matches("^\\d{10,}$")) {
+        if (v.length() >= 10 && isDigits(v)) {
             long n = Long.parseLong(v);
             // heuristic: millis if >= 13 digits
             if (v.length() >= 13) {
@@ -154,25 +192,32 @@ class CsvPriceParser {
         return Instant.parse(v);
     }
 
+    private static boolean isDigits(String v) {
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Case-insensitive header matcher for required columns.
      */
-    private record HeaderIndexes(Integer timestampIdx, Integer symbolIdx, Integer priceIdx) {
+    private record HeaderIndexes(Integer timestampIdx, Integer symbolIdx, Integer priceIdx) implements RowMapper {
 
-        static HeaderIndexes from(Map<String, Integer> headerMap) {
-            if (headerMap == null || headerMap.isEmpty()) {
-                return new HeaderIndexes(null, null, null);
-            }
+        static HeaderIndexes from(CSVRecord first) {
             Integer ts = null;
             Integer sym = null;
             Integer price = null;
 
-            for (Map.Entry<String, Integer> e : headerMap.entrySet()) {
-                String key = e.getKey();
+            for (int i = 0; i < first.size(); i++) {
+                String key = first.get(i);
                 if (key == null) continue;
-                if (key.equalsIgnoreCase("timestamp")) ts = e.getValue();
-                if (key.equalsIgnoreCase("symbol")) sym = e.getValue();
-                if (key.equalsIgnoreCase("price")) price = e.getValue();
+                if (ts == null && key.equalsIgnoreCase("timestamp")) ts = i;
+                if (sym == null && key.equalsIgnoreCase("symbol")) sym = i;
+                if (price == null && key.equalsIgnoreCase("price")) price = i;
             }
             return new HeaderIndexes(ts, sym, price);
         }
@@ -180,5 +225,10 @@ class CsvPriceParser {
         boolean isPresent() {
             return timestampIdx != null && symbolIdx != null && priceIdx != null;
         }
+
+        @Override
+        public ParsedRow map(CSVRecord record, String fallbackSymbol) {
+            return row(record.get(timestampIdx), record.get(symbolIdx), record.get(priceIdx), fallbackSymbol);
+        }
     }
 }
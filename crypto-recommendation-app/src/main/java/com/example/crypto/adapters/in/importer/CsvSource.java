@@ -0,0 +1,52 @@
+package com.example.crypto.adapters.in.importer;
+
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Part of a CSV resource to import: the whole file, or the tail appended since a previous import.
+ *
+ * @param resource   CSV resource
+ * @param fileName   file name (also used to derive the fallback symbol)
+ * @param offset     number of leading bytes to skip
+ * @param headerLine header line to put in front of the tail, {@code null} for headerless files or whole files
+ */
+record CsvSource(Resource resource, String fileName, long offset, String headerLine) {
+
+    /**
+     * @return a source covering the whole resource
+     */
+    static CsvSource whole(Resource resource, String fileName) {
+        return new CsvSource(resource, fileName, 0, null);
+    }
+
+    /**
+     * @return whether the source covers the whole resource
+     */
+    boolean isWhole() {
+        return offset == 0;
+    }
+
+    /**
+     * Opens the CSV content: the header line (if any) followed by the bytes from {@code offset} on.
+     */
+    InputStream open() throws IOException {
+        InputStream in = resource.getInputStream();
+        try {
+            in.skipNBytes(offset);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+        if (headerLine == null) {
+            return in;
+        }
+        var header = new ByteArrayInputStream((headerLine + "\n").getBytes(StandardCharsets.UTF_8));
+        return new SequenceInputStream(header, in);
+    }
+}
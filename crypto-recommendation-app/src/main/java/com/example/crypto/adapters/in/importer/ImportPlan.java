@@ -0,0 +1,114 @@
+package com.example.crypto.adapters.in.importer;
+
+import com.example.crypto.adapters.out.persistence.jpa.ImportManifestEntity;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decides which part of every CSV resource has to be imported, based on the import manifest of a previous run.
+ *
+ * <ul>
+ *   <li>files without manifest entry are imported as a whole</li>
+ *   <li>files whose imported prefix still has the recorded checksum are unchanged (same length) or appended
+ *       (longer); only the appended tail is imported</li>
+ *   <li>files whose imported prefix changed cannot be imported incrementally and are reported as changed</li>
+ * </ul>
+ */
+final class ImportPlan {
+
+    /**
+     * A source to import.
+     *
+     * @param source      part of the resource to read
+     * @param fingerprint fingerprint of the whole resource at planning time
+     * @param headerLine  header line of the resource, {@code null} for headerless files
+     * @param previous    manifest entry of the previous import, {@code null} for new files
+     */
+    record Entry(CsvSource source, CsvFingerprint fingerprint, String headerLine, ImportManifestEntity previous) {
+    }
+
+    private final List<Entry> entries;
+    private final int unchanged;
+    private final List<String> changed;
+
+    private ImportPlan(List<Entry> entries, int unchanged, List<String> changed) {
+        this.entries = List.copyOf(entries);
+        this.unchanged = unchanged;
+        this.changed = List.copyOf(changed);
+    }
+
+    /**
+     * Plans the import of the given resources.
+     *
+     * @param resources CSV resources
+     * @param manifest  manifest entries of the previous import by file name (empty for a full import)
+     */
+    static ImportPlan create(Resource[] resources, Map<String, ImportManifestEntity> manifest) throws IOException {
+        List<Entry> entries = new ArrayList<>(resources.length);
+        List<String> changed = new ArrayList<>();
+        int unchanged = 0;
+
+        for (Resource resource : resources) {
+            String fileName = Optional.ofNullable(resource.getFilename()).orElse("UNKNOWN");
+            ImportManifestEntity previous = manifest.get(fileName);
+
+            if (previous == null) {
+                var fingerprint = CsvFingerprint.scan(resource, 0);
+                String header = CsvPriceParser.isHeader(fingerprint.firstLine()) ? fingerprint.firstLine() : null;
+                entries.add(new Entry(CsvSource.whole(resource, fileName), fingerprint, header, null));
+                continue;
+            }
+
+            var fingerprint = CsvFingerprint.scan(resource, previous.getImportedBytes());
+            if (fingerprint.prefixChecksum() != previous.getChecksum()) {
+                changed.add(fileName);
+            } else if (fingerprint.length() == previous.getImportedBytes()) {
+                unchanged++;
+            } else {
+                var tail = new CsvSource(resource, fileName, previous.getImportedBytes(), previous.getHeaderLine());
+                entries.add(new Entry(tail, fingerprint, previous.getHeaderLine(), previous));
+            }
+        }
+        return new ImportPlan(entries, unchanged, changed);
+    }
+
+    /**
+     * @return sources to import, in resource order
+     */
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * @return whether there is nothing to import
+     */
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * @return number of files imported before and not modified since
+     */
+    int unchanged() {
+        return unchanged;
+    }
+
+    /**
+     * @return names of files changed in place since they were imported
+     */
+    List<String> changed() {
+        return changed;
+    }
+
+    /**
+     * @return number of bytes to read
+     */
+    long bytesToRead() {
+        return entries.stream().mapToLong(e -> e.fingerprint().length() - e.source().offset()).sum();
+    }
+}
@@ -0,0 +1,489 @@
+package com.example.crypto.adapters.in.importer;
+
+import com.example.crypto.domain.exception.DataImportException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Memory-mapped CSV reader for price files on the local filesystem.
+ *
+ * <p>Understands the same formats as {@link CsvPriceParser} (header {@code timestamp,symbol,price} in any order
+ * and case, or the headerless {@code timestamp,price} / {@code timestamp,symbol,price} layouts), but tokenizes the
+ * mapped bytes directly: epoch timestamps and plain decimal prices are decoded into primitive {@code long}s without
+ * creating intermediate {@link String}s, and symbols are only decoded when they change. Rare values (ISO-8601
+ * timestamps, prices with more than 18 digits or an exponent, quoted fields) take a slower path that produces
+ * exactly the same result as {@link CsvPriceParser}.
+ *
+ * <p>The file is mapped in windows of at most {@code windowSize} bytes, so files of any size can be read.
+ *
+ * <p>Usage: {@code while (reader.next()) { reader.epochMillis(); reader.unscaledPrice(); ... }}. Not thread-safe.
+ */
+final class MappedCsvReader implements AutoCloseable {
+
+    static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    private static final int MAX_FAST_DIGITS = 18;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private final String fallbackSymbol;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLimit;
+    private int pos;
+
+    private int[] fieldStart = new int[4];
+    private int[] fieldEnd = new int[4];
+    private int fieldCount;
+    private boolean quoted;
+    private long recordNumber;
+
+    private boolean formatDecided;
+    private int timestampIdx;
+    private int symbolIdx;
+    private int priceIdx;
+    private boolean headerless;
+
+    private byte[] lastSymbolBytes = new byte[0];
+    private String lastSymbol;
+
+    private String symbol;
+    private long epochMillis;
+    private Instant exactTimestamp;
+    private long unscaledPrice;
+    private int priceScale;
+    private BigDecimal exactPrice;
+
+    private MappedCsvReader(FileChannel channel, String fallbackSymbol, long windowSize) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        this.fallbackSymbol = fallbackSymbol;
+        mapWindow(0);
+    }
+
+    /**
+     * Opens a reader over a CSV file.
+     */
+    static MappedCsvReader open(Path file, String fallbackSymbol) {
+        return open(file, fallbackSymbol, DEFAULT_WINDOW_SIZE);
+    }
+
+    static MappedCsvReader open(Path file, String fallbackSymbol, long windowSize) {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(fallbackSymbol, "fallbackSymbol");
+
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            return new MappedCsvReader(channel, fallbackSymbol, Math.min(windowSize, Integer.MAX_VALUE));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new DataImportException("Failed to read CSV " + file + " for symbol " + fallbackSymbol, e);
+        }
+    }
+
+    /**
+     * Advances to the next data row.
+     *
+     * @return {@code false} when the end of the file was reached
+     * @throws DataImportException if the row is malformed
+     */
+    boolean next() {
+        while (nextRecord()) {
+            if (!formatDecided) {
+                formatDecided = true;
+                if (detectHeader()) {
+                    continue;
+                }
+            }
+            decodeRow();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return symbol of the current row
+     */
+    String symbol() {
+        return symbol;
+    }
+
+    /**
+     * @return timestamp of the current row in epoch millis
+     */
+    long epochMillis() {
+        return epochMillis;
+    }
+
+    /**
+     * @return unscaled price of the current row; only meaningful when {@link #hasExactPrice()} is {@code false}
+     */
+    long unscaledPrice() {
+        return unscaledPrice;
+    }
+
+    /**
+     * @return scale of {@link #unscaledPrice()}
+     */
+    int priceScale() {
+        return priceScale;
+    }
+
+    /**
+     * @return whether the price did not fit into {@link #unscaledPrice()} and is only available via {@link #price()}
+     */
+    boolean hasExactPrice() {
+        return exactPrice != null;
+    }
+
+    /**
+     * @return price of the current row
+     */
+    BigDecimal price() {
+        return exactPrice != null ? exactPrice : BigDecimal.valueOf(unscaledPrice, priceScale);
+    }
+
+    /**
+     * @return timestamp of the current row
+     */
+    Instant timestamp() {
+        return exactTimestamp != null ? exactTimestamp : Instant.ofEpochMilli(epochMillis);
+    }
+
+    /**
+     * @return the current row as produced by {@link CsvPriceParser}
+     */
+    CsvPriceParser.ParsedRow toParsedRow() {
+        return new CsvPriceParser.ParsedRow(symbol, timestamp(), price());
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(channel);
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // record splitting
+
+    private boolean nextRecord() {
+        while (true) {
+            int lineEnd = findLineEnd();
+            if (lineEnd < 0) {
+                return false;
+            }
+            int lineStart = pos;
+            pos = lineEnd < windowLimit ? lineEnd + 1 : lineEnd;
+
+            int end = lineEnd;
+            if (end > lineStart && window.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end == lineStart) {
+                continue;
+            }
+
+            recordNumber++;
+            splitFields(lineStart, end);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the index of the {@code '\n'} ending the current line within the window (remapping the window if the
+     * line crosses its end), {@code windowLimit} for a last line without line break, or {@code -1} at end of file.
+     */
+    private int findLineEnd() {
+        while (true) {
+            for (int i = pos; i < windowLimit; i++) {
+                if (window.get(i) == '\n') {
+                    return i;
+                }
+            }
+
+            long absolutePos = windowStart + pos;
+            boolean lastWindow = windowStart + windowLimit >= fileSize;
+            if (lastWindow) {
+                return pos < windowLimit ? windowLimit : -1;
+            }
+            if (pos == 0) {
+                throw failure("line longer than " + windowSize + " bytes");
+            }
+            try {
+                mapWindow(absolutePos);
+            } catch (IOException e) {
+                throw new DataImportException("Failed to read CSV for symbol " + fallbackSymbol, e);
+            }
+        }
+    }
+
+    private void mapWindow(long start) throws IOException {
+        long size = Math.min(windowSize, fileSize - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+        windowLimit = (int) size;
+        pos = 0;
+    }
+
+    private void splitFields(int start, int end) {
+        fieldCount = 0;
+        quoted = false;
+
+        int fieldFrom = start;
+        boolean inQuotes = false;
+        for (int i = start; i < end; i++) {
+            byte b = window.get(i);
+            if (b == '"') {
+                inQuotes = !inQuotes;
+                quoted = true;
+            } else if (b == ',' && !inQuotes) {
+                addField(fieldFrom, i);
+                fieldFrom = i + 1;
+            }
+        }
+        addField(fieldFrom, end);
+    }
+
+    private void addField(int from, int to) {
+        while (from < to && isSpace(window.get(from))) {
+            from++;
+        }
+        while (to > from && isSpace(window.get(to - 1))) {
+            to--;
+        }
+        if (fieldCount == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+        }
+        fieldStart[fieldCount] = from;
+        fieldEnd[fieldCount] = to;
+        fieldCount++;
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // format detection and decoding
+
+    private boolean detectHeader() {
+        Integer ts = null;
+        Integer sym = null;
+        Integer price = null;
+
+        for (int i = 0; i < fieldCount; i++) {
+            String key = fieldString(i);
+            if (ts == null && key.equalsIgnoreCase("timestamp")) ts = i;
+            if (sym == null && key.equalsIgnoreCase("symbol")) sym = i;
+            if (price == null && key.equalsIgnoreCase("price")) price = i;
+        }
+
+        if (ts != null && sym != null && price != null) {
+            timestampIdx = ts;
+            symbolIdx = sym;
+            priceIdx = price;
+            return true;
+        }
+        headerless = true;
+        return false;
+    }
+
+    private void decodeRow() {
+        int ts;
+        int sym;
+        int price;
+
+        if (headerless) {
+            if (fieldCount < 2) {
+                throw failure("Expected at least 2 columns (timestamp,price)");
+            }
+            ts = 0;
+            sym = fieldCount >= 3 ? 1 : -1;
+            price = fieldCount >= 3 ? 2 : 1;
+        } else {
+            ts = timestampIdx;
+            sym = symbolIdx;
+            price = priceIdx;
+            if (Math.max(ts, Math.max(sym, price)) >= fieldCount) {
+                throw failure("Expected %d columns but found %d".formatted(
+                        Math.max(ts, Math.max(sym, price)) + 1, fieldCount));
+            }
+        }
+
+        try {
+            decodeTimestamp(ts);
+            decodeSymbol(sym);
+            decodePrice(price);
+        } catch (DataImportException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw failure(e.getMessage(), e);
+        }
+    }
+
+    private void decodeTimestamp(int field) {
+        exactTimestamp = null;
+
+        int from = fieldStart[field];
+        int to = fieldEnd[field];
+        int digits = to - from;
+
+        if (!quoted && digits >= 10 && digits <= MAX_FAST_DIGITS && allDigits(from, to)) {
+            long n = 0;
+            for (int i = from; i < to; i++) {
+                n = n * 10 + (window.get(i) - '0');
+            }
+            // heuristic shared with CsvPriceParser: millis if >= 13 digits, otherwise seconds
+            epochMillis = digits >= 13 ? n : Math.multiplyExact(n, 1000L);
+            return;
+        }
+
+        exactTimestamp = CsvPriceParser.parseInstant(fieldString(field));
+        epochMillis = exactTimestamp.toEpochMilli();
+    }
+
+    private void decodeSymbol(int field) {
+        if (field < 0 || fieldStart[field] == fieldEnd[field]) {
+            symbol = fallbackSymbol;
+            return;
+        }
+        if (quoted) {
+            String raw = fieldString(field);
+            symbol = raw.isBlank() ? fallbackSymbol : raw.trim().toUpperCase(Locale.ROOT);
+            return;
+        }
+
+        int from = fieldStart[field];
+        int length = fieldEnd[field] - from;
+        if (length == lastSymbolBytes.length && sameBytes(from, lastSymbolBytes)) {
+            symbol = lastSymbol;
+            return;
+        }
+
+        byte[] bytes = new byte[length];
+        window.get(from, bytes);
+        lastSymbolBytes = bytes;
+        lastSymbol = new String(bytes, StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+        symbol = lastSymbol;
+    }
+
+    private void decodePrice(int field) {
+        exactPrice = null;
+
+        int from = fieldStart[field];
+        int to = fieldEnd[field];
+        if (!quoted && decodeFastPrice(from, to)) {
+            return;
+        }
+
+        exactPrice = new BigDecimal(fieldString(field));
+    }
+
+    /**
+     * Decodes {@code [+-]digits[.digits]} with at most {@value #MAX_FAST_DIGITS} digits.
+     *
+     * @return {@code false} if the value has to be decoded by {@link BigDecimal}
+     */
+    private boolean decodeFastPrice(int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (window.get(i) == '-' || window.get(i) == '+')) {
+            negative = window.get(i) == '-';
+            i++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < to; i++) {
+            byte b = window.get(i);
+            if (b >= '0' && b <= '9') {
+                if (++digits > MAX_FAST_DIGITS) {
+                    return false;
+                }
+                value = value * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return false;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        unscaledPrice = negative ? -value : value;
+        priceScale = Math.max(scale, 0);
+        return true;
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // helpers
+
+    private String fieldString(int field) {
+        byte[] bytes = new byte[fieldEnd[field] - fieldStart[field]];
+        window.get(fieldStart[field], bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).replace("\"\"", "\"").trim();
+        }
+        return value;
+    }
+
+    private boolean allDigits(int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = window.get(i);
+            if (b < '0' || b > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameBytes(int from, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (window.get(from + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private DataImportException failure(String reason) {
+        return failure(reason, null);
+    }
+
+    private DataImportException failure(String reason, Throwable cause) {
+        return new DataImportException("CSV parsing failed for symbol %s at record %d: %s"
+                .formatted(fallbackSymbol, recordNumber, reason), cause);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // read-only channel, nothing to flush
+        }
+    }
+}
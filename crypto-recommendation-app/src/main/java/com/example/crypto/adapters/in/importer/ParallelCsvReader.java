@@ -0,0 +1,382 @@
+package com.example.crypto.adapters.in.importer;
+
+import com.example.crypto.domain.exception.DataImportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Parses CSV sources concurrently and hands the parsed rows over to a single consumer, merged per symbol.
+ *
+ * <p>Sources are grouped by the symbol of their first row (e.g. {@code BTC_values.csv} and
+ * {@code BTC2_extended_values.csv}). Every group is read on its own virtual thread, at most {@code parallelism}
+ * of them at the same time; the rows of its sources are merged by {@link SortedRowMerger} into ascending
+ * timestamp order with duplicates removed, so the consumer receives every symbol pre-sorted. Merged rows are
+ * split into chunks of {@code chunkSize} and put into a bounded queue, which is drained by the thread calling
+ * {@link #forEachChunk(ChunkConsumer)}. Files are streamed and a full queue blocks the parsers, so memory stays
+ * bounded by {@code queueCapacity + parallelism} chunks, independent of file sizes.
+ *
+ * <p>With {@code memoryMapped}, whole sources backed by a file are read with {@link MappedCsvReader} instead of
+ * {@link CsvPriceParser}.
+ *
+ * <p>Failures are reported deterministically: all groups are processed, then the failure of the first
+ * failing source (in source order) is thrown, with failures of later sources attached as suppressed.
+ */
+class ParallelCsvReader {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelCsvReader.class);
+
+    private final CsvSource[] sources;
+    private final UnaryOperator<String> fallbackSymbol;
+    private final int parallelism;
+    private final int queueCapacity;
+    private final int chunkSize;
+    private final boolean memoryMapped;
+
+    /**
+     * @param sources        CSV sources to read, in source order (later sources win duplicate rows)
+     * @param fallbackSymbol derives the fallback symbol from a file name
+     * @param parallelism    maximum number of source groups parsed at the same time
+     * @param queueCapacity  maximum number of parsed chunks waiting for the consumer
+     * @param chunkSize      maximum number of rows per chunk
+     * @param memoryMapped   whether file resources are memory-mapped
+     */
+    ParallelCsvReader(CsvSource[] sources, UnaryOperator<String> fallbackSymbol,
+                      int parallelism, int queueCapacity, int chunkSize, boolean memoryMapped) {
+        this.sources = sources;
+        this.fallbackSymbol = fallbackSymbol;
+        this.parallelism = Math.max(1, parallelism);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.memoryMapped = memoryMapped;
+    }
+
+    /**
+     * Parses all sources and passes every chunk of merged rows to {@code consumer} on the calling thread.
+     *
+     * <p>Once a source failed, remaining chunks are still drained (so parsers never block) but no longer
+     * passed to the consumer.
+     *
+     * @return what was read
+     * @throws DataImportException if any source could not be read or parsed, or the consumer failed
+     */
+    Summary forEachChunk(ChunkConsumer consumer) {
+        List<int[]> groups = groupBySymbol();
+        BlockingQueue<Message> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Semaphore permits = new Semaphore(parallelism);
+        DataImportException[] failures = new DataImportException[sources.length];
+        Instant[] maxTimestamps = new Instant[sources.length];
+        long duplicates = 0;
+        long outOfOrder = 0;
+        Exception consumerFailure = null;
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (int[] group : groups) {
+                executor.submit(() -> parse(group, queue, permits, maxTimestamps));
+            }
+
+            int pending = groups.size();
+            boolean failed = false;
+
+            while (pending > 0) {
+                Message message = queue.take();
+
+                if (message instanceof Completed done) {
+                    pending--;
+                    duplicates += done.duplicates();
+                    outOfOrder += done.outOfOrder();
+                    if (done.error() != null) {
+                        failures[done.sourceIndex()] = done.error();
+                        failed = true;
+                    }
+                } else if (message instanceof Chunk chunk && !failed) {
+                    try {
+                        consumer.accept(chunk.rows());
+                    } catch (RuntimeException e) {
+                        consumerFailure = e;
+                        failed = true;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataImportException("CSV import interrupted", e);
+        } finally {
+            // all parsers are done unless we leave early; then interrupt them, they may be blocked on the queue
+            executor.shutdownNow();
+            executor.close();
+        }
+
+        if (consumerFailure != null) {
+            throw new DataImportException("Failed to store imported price points", consumerFailure);
+        }
+        throwFirstFailure(failures);
+
+        return new Summary(maxTimestamps, groups.size(), duplicates, outOfOrder);
+    }
+
+    /**
+     * Groups the sources by the symbol of their first row, keeping source order within every group. A source
+     * whose first row cannot be read forms its own group, its failure is reported when the group is read.
+     */
+    private List<int[]> groupBySymbol() {
+        Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+
+        for (int i = 0; i < sources.length; i++) {
+            Object key = i;
+            try (SourceCursor cursor = open(i)) {
+                CsvPriceParser.ParsedRow first = cursor.next();
+                if (first != null) {
+                    key = first.symbol();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Could not read first row of CSV {}", sources[i].fileName(), e);
+            }
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        return groups.values().stream()
+                .map(indexes -> indexes.stream().mapToInt(Integer::intValue).toArray())
+                .toList();
+    }
+
+    private void parse(int[] group, BlockingQueue<Message> queue, Semaphore permits, Instant[] maxTimestamps) {
+        List<SourceCursor> opened = new ArrayList<>(group.length);
+        int failedIndex = group[0];
+        Throwable error = null;
+        long duplicates = 0;
+        long outOfOrder = 0;
+
+        try {
+            permits.acquire();
+            try {
+                SortedRowMerger.RowCursor[] cursors = new SortedRowMerger.RowCursor[group.length];
+                for (int i = 0; i < group.length; i++) {
+                    int index = group[i];
+                    CsvSource source = sources[index];
+                    log.info("Importing CSV: {} (fallbackSymbol={}, offset={}, group of {})", source.fileName(),
+                            fallbackSymbol.apply(source.fileName()), source.offset(), group.length);
+                    SourceCursor cursor = attributed(index, () -> open(index));
+                    opened.add(cursor);
+                    cursors[i] = () -> attributed(index, cursor::next);
+                }
+
+                var merger = new SortedRowMerger(cursors);
+                Chunker chunker = new Chunker(queue);
+                merger.mergeInto(chunker::add);
+                chunker.flush();
+
+                for (int i = 0; i < group.length; i++) {
+                    maxTimestamps[group[i]] = merger.maxTimestamp(i);
+                }
+                duplicates = merger.duplicates();
+                outOfOrder = merger.outOfOrder();
+            } finally {
+                permits.release();
+                opened.forEach(ParallelCsvReader::closeQuietly);
+            }
+        } catch (InterruptedException e) {
+            // import was abandoned by the consumer, nobody waits for the completion anymore
+            Thread.currentThread().interrupt();
+            return;
+        } catch (SourceFailure e) {
+            failedIndex = e.sourceIndex;
+            error = e.getCause();
+        } catch (Throwable e) {
+            error = e;
+        }
+
+        try {
+            var failure = error == null ? null
+                    : new DataImportException("Failed to import CSV " + sources[failedIndex].fileName(), error);
+            queue.put(new Completed(failedIndex, failure, duplicates, outOfOrder));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SourceCursor open(int index) throws IOException {
+        CsvSource source = sources[index];
+        Resource resource = source.resource();
+        String filename = source.fileName();
+        String symbol = fallbackSymbol.apply(filename);
+
+        if (memoryMapped && source.isWhole() && resource.isFile()) {
+            log.debug("Opening CSV {} memory-mapped", filename);
+            MappedCsvReader reader = MappedCsvReader.open(resource.getFile().toPath(), symbol);
+            return new SourceCursor() {
+                @Override
+                public CsvPriceParser.ParsedRow next() {
+                    return reader.next() ? reader.toParsedRow() : null;
+                }
+
+                @Override
+                public void close() {
+                    reader.close();
+                }
+            };
+        }
+
+        InputStream in = source.open();
+        Stream<CsvPriceParser.ParsedRow> rows;
+        try {
+            rows = new CsvPriceParser().stream(in, symbol);
+        } catch (RuntimeException e) {
+            in.close();
+            throw e;
+        }
+        Iterator<CsvPriceParser.ParsedRow> it = rows.iterator();
+        return new SourceCursor() {
+            @Override
+            public CsvPriceParser.ParsedRow next() {
+                return it.hasNext() ? it.next() : null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try (in; rows) {
+                    // closes both
+                }
+            }
+        };
+    }
+
+    /**
+     * Runs {@code action}, attributing its failure to the source at {@code index}.
+     */
+    private <T> T attributed(int index, SourceAction<T> action) {
+        try {
+            return action.run();
+        } catch (IOException | RuntimeException e) {
+            throw new SourceFailure(index, e);
+        }
+    }
+
+    private static void closeQuietly(SourceCursor cursor) {
+        try {
+            cursor.close();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to close CSV cursor", e);
+        }
+    }
+
+    private static void throwFirstFailure(DataImportException[] failures) {
+        DataImportException first = null;
+
+        for (DataImportException failure : failures) {
+            if (failure == null) {
+                continue;
+            }
+            if (first == null) {
+                first = failure;
+            } else {
+                first.addSuppressed(failure);
+            }
+        }
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    /**
+     * Collects merged rows of one group into chunks and puts full chunks into the queue.
+     */
+    private final class Chunker {
+
+        private final BlockingQueue<Message> queue;
+        private List<CsvPriceParser.ParsedRow> chunk = new ArrayList<>(chunkSize);
+
+        Chunker(BlockingQueue<Message> queue) {
+            this.queue = queue;
+        }
+
+        void add(CsvPriceParser.ParsedRow row) throws InterruptedException {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                queue.put(new Chunk(chunk));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        void flush() throws InterruptedException {
+            if (!chunk.isEmpty()) {
+                queue.put(new Chunk(chunk));
+            }
+        }
+    }
+
+    /**
+     * Receives the merged rows, chunk by chunk.
+     */
+    @FunctionalInterface
+    interface ChunkConsumer {
+
+        /**
+         * @param rows parsed rows of one symbol group, ascending by symbol and timestamp
+         */
+        void accept(List<CsvPriceParser.ParsedRow> rows);
+    }
+
+    /**
+     * Outcome of reading all sources.
+     *
+     * @param maxTimestamps latest timestamp read per source (by source index), {@code null} for sources without rows
+     * @param groups        number of symbol groups the sources were merged in
+     * @param duplicates    number of rows dropped because a later row had the same symbol and timestamp
+     * @param outOfOrder    number of rows older than their predecessor in the same source, passed on unsorted
+     */
+    record Summary(Instant[] maxTimestamps, int groups, long duplicates, long outOfOrder) {
+    }
+
+    private interface SourceCursor extends SortedRowMerger.RowCursor, AutoCloseable {
+
+        @Override
+        void close() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SourceAction<T> {
+
+        T run() throws IOException;
+    }
+
+    /**
+     * Failure of reading a particular source, unwrapped by the group task.
+     */
+    private static final class SourceFailure extends RuntimeException {
+
+        private final int sourceIndex;
+
+        SourceFailure(int sourceIndex, Exception cause) {
+            super(cause);
+            this.sourceIndex = sourceIndex;
+        }
+    }
+
+    private sealed interface Message permits Chunk, Completed {
+    }
+
+    private record Chunk(List<CsvPriceParser.ParsedRow> rows) implements Message {
+    }
+
+    private record Completed(int sourceIndex, DataImportException error, long duplicates, long outOfOrder)
+            implements Message {
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.crypto.adapters.in.importer;
+
+import com.example.crypto.adapters.in.importer.CsvPriceParser.ParsedRow;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the rows of several CSV sources into one sequence ascending by symbol and timestamp (k-way merge).
+ *
+ * <p>Every source is expected to list the rows of a symbol in ascending timestamp order, as the provided files do.
+ * The merger keeps the current row of every source in a priority queue and always emits the smallest one, so
+ * {@code n} rows of {@code k} sources are merged in {@code O(n log k)} while holding one row per source.
+ *
+ * <p>Rows with the same symbol and timestamp are emitted once: the row of the later source wins, within a source
+ * the later row wins. A row going back in time within its source cannot be merged into order; it is emitted as it
+ * comes and counted as out of order.
+ */
+final class SortedRowMerger {
+
+    private static final Comparator<Head> ORDER = Comparator
+            .comparing((Head h) -> h.row.symbol())
+            .thenComparing(h -> h.row.timestamp())
+            .thenComparingInt(h -> h.source);
+
+    private final RowCursor[] cursors;
+    private final ParsedRow[] lastRows;
+    private final Instant[] maxTimestamps;
+    private final PriorityQueue<Head> heads;
+
+    private long duplicates;
+    private long outOfOrder;
+
+    /**
+     * @param cursors row cursors of the sources, in source order (later sources win duplicates)
+     */
+    SortedRowMerger(RowCursor[] cursors) {
+        this.cursors = cursors;
+        this.lastRows = new ParsedRow[cursors.length];
+        this.maxTimestamps = new Instant[cursors.length];
+        this.heads = new PriorityQueue<>(Math.max(1, cursors.length), ORDER);
+    }
+
+    /**
+     * Reads all sources and passes the merged rows to {@code sink}.
+     */
+    void mergeInto(RowSink sink) throws IOException, InterruptedException {
+        for (int i = 0; i < cursors.length; i++) {
+            advance(i);
+        }
+
+        ParsedRow pending = null;
+        while (!heads.isEmpty()) {
+            Head head = heads.poll();
+            ParsedRow row = head.row;
+            advance(head.source);
+
+            if (pending != null && sameKey(pending, row)) {
+                duplicates++;
+            } else if (pending != null) {
+                sink.accept(pending);
+            }
+            pending = row;
+        }
+        if (pending != null) {
+            sink.accept(pending);
+        }
+    }
+
+    /**
+     * @return latest timestamp read from the source (including dropped duplicates), {@code null} if it had no rows
+     */
+    Instant maxTimestamp(int source) {
+        return maxTimestamps[source];
+    }
+
+    /**
+     * @return number of rows dropped because a later row had the same symbol and timestamp
+     */
+    long duplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @return number of rows older than the previous row of the same symbol in their source
+     */
+    long outOfOrder() {
+        return outOfOrder;
+    }
+
+    private void advance(int source) throws IOException {
+        ParsedRow row = cursors[source].next();
+        if (row == null) {
+            return;
+        }
+
+        ParsedRow last = lastRows[source];
+        if (last != null && last.symbol().equals(row.symbol()) && row.timestamp().isBefore(last.timestamp())) {
+            outOfOrder++;
+        }
+        if (maxTimestamps[source] == null || row.timestamp().isAfter(maxTimestamps[source])) {
+            maxTimestamps[source] = row.timestamp();
+        }
+        lastRows[source] = row;
+        heads.add(new Head(source, row));
+    }
+
+    private static boolean sameKey(ParsedRow a, ParsedRow b) {
+        return a.timestamp().equals(b.timestamp()) && a.symbol().equals(b.symbol());
+    }
+
+    /**
+     * Reads the rows of one source.
+     */
+    @FunctionalInterface
+    interface RowCursor {
+
+        /**
+         * @return the next row, or {@code null} at the end of the source
+         */
+        ParsedRow next() throws IOException;
+    }
+
+    /**
+     * Receives merged rows.
+     */
+    @FunctionalInterface
+    interface RowSink {
+
+        void accept(ParsedRow row) throws InterruptedException;
+    }
+
+    private record Head(int source, ParsedRow row) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.crypto.adapters.in.warmup;
+
+import com.example.crypto.adapters.in.importer.CsvPriceImporter;
+import com.example.crypto.adapters.in.web.controller.CryptoController;
+import com.example.crypto.application.service.CryptoRecommendationService;
+import com.example.crypto.config.properties.AppWarmUpProperties;
+import com.example.crypto.domain.exception.NoDataForPeriodException;
+import com.example.crypto.domain.model.TimeRange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Warms up caches and hot code paths after the startup import, before the application reports readiness.
+ *
+ * <p>Spring Boot reports readiness ({@code /actuator/health/readiness}) only after all {@link ApplicationRunner}s
+ * have completed, so a new instance receives traffic once this runner returns. It first precomputes the cached
+ * results clients request most: recommendations and stats of every supported symbol over the whole dataset
+ * (the default range) and the best crypto of the {@code app.warm-up.recent-days} most recent days. Then it calls
+ * the {@link CryptoController} endpoints {@code app.warm-up.iterations} times and serializes their responses to
+ * JSON, so that the request path is JIT-compiled before the first real request.
+ *
+ * <p>The warm-up stops when its {@code app.warm-up.budget} is used up; failures are logged and never prevent the
+ * application from starting.
+ */
+@Component
+@Order(CsvPriceImporter.ORDER + 1)
+@EnableConfigurationProperties(AppWarmUpProperties.class)
+public class StartupWarmUp implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    private final AppWarmUpProperties props;
+    private final CryptoRecommendationService service;
+    private final CryptoController controller;
+    private final ObjectMapper objectMapper;
+
+    public StartupWarmUp(AppWarmUpProperties props, CryptoRecommendationService service,
+                         CryptoController controller, ObjectMapper objectMapper) {
+        this.props = props;
+        this.service = service;
+        this.controller = controller;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!props.enabled()) {
+            log.info("Warm-up disabled (app.warm-up.enabled=false).");
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + props.budget().toNanos();
+        try {
+            TimeRange dataset = service.resolveRange(null, null);
+            List<String> symbols = service.supportedSymbols();
+            if (symbols.isEmpty()) {
+                log.info("Warm-up skipped: no supported symbols.");
+                return;
+            }
+            List<LocalDate> days = recentDays(dataset);
+
+            int precomputed = precompute(dataset, symbols, days, deadline);
+            int iterations = exercise(symbols, days, deadline);
+
+            log.info("Warm-up finished in {} ms: precomputed={} iterations={}{}",
+                    (System.nanoTime() - startNanos) / 1_000_000, precomputed, iterations,
+                    System.nanoTime() - deadline >= 0 ? " (budget " + props.budget() + " used up)" : "");
+        } catch (NoDataForPeriodException e) {
+            log.info("Warm-up skipped: no price data.");
+        } catch (RuntimeException e) {
+            log.warn("Warm-up failed after {} ms, continuing startup.", (System.nanoTime() - startNanos) / 1_000_000, e);
+        }
+    }
+
+    private int precompute(TimeRange dataset, List<String> symbols, List<LocalDate> days, long deadline) {
+        List<Runnable> steps = new ArrayList<>();
+        steps.add(() -> service.recommendations(dataset));
+        symbols.forEach(symbol -> steps.add(() -> service.stats(symbol, dataset)));
+        days.forEach(day -> steps.add(() -> service.bestForDay(day)));
+
+        int precomputed = 0;
+        for (Runnable step : steps) {
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            try {
+                step.run();
+                precomputed++;
+            } catch (NoDataForPeriodException e) {
+                // a recent day without data
+            }
+        }
+        return precomputed;
+    }
+
+    private int exercise(List<String> symbols, List<LocalDate> days, long deadline) {
+        int i = 0;
+        for (; i < props.iterations() && System.nanoTime() - deadline < 0; i++) {
+            String symbol = symbols.get(i % symbols.size());
+            attempt(() -> controller.recommendations(null, null, null, 0));
+            attempt(() -> controller.stats(symbol, null, null));
+            if (!days.isEmpty()) {
+                LocalDate day = days.get(i % days.size());
+                attempt(() -> controller.bestForDay(day));
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Runs one request and serializes its response like the message converters do. Days without data are expected
+     * and ignored.
+     */
+    private void attempt(Supplier<?> request) {
+        try {
+            objectMapper.writeValueAsBytes(request.get());
+        } catch (NoDataForPeriodException e) {
+            // a recent day without data
+        } catch (JsonProcessingException e) {
+            log.warn("Warm-up response could not be serialized: {}", e.getMessage());
+        }
+    }
+
+    private List<LocalDate> recentDays(TimeRange dataset) {
+        LocalDate last = LocalDate.ofInstant(dataset.toExclusive().minusMillis(1), TimeRange.DEFAULT_ZONE);
+        List<LocalDate> days = new ArrayList<>(props.recentDays());
+        for (int i = 0; i < props.recentDays(); i++) {
+            days.add(last.minusDays(i));
+        }
+        return days;
+    }
+}
@@ -2,15 +2,22 @@ package com.example.crypto.adapters.in.web.controller;
 
 import com.example.crypto.adapters.in.web.dto.BestCryptoResponse;
 import com.example.crypto.adapters.in.web.dto.CryptoStatsResponse;
+import com.example.crypto.adapters.in.web.dto.LatestPriceResponse;
 import com.example.crypto.adapters.in.web.dto.PricePointDto;
+import com.example.crypto.adapters.in.web.dto.PriceWindowResponse;
 import com.example.crypto.adapters.in.web.dto.RecommendationResponse;
+import com.example.crypto.adapters.in.web.dto.RecommendationWindowResponse;
 import com.example.crypto.application.service.CryptoRecommendationService;
+import com.example.crypto.domain.model.CryptoStats;
 import com.example.crypto.domain.model.TimeRange;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -22,7 +29,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.time.Period;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * REST controller exposing crypto recommendation endpoints.
@@ -32,6 +41,11 @@ import java.util.List;
 @RequestMapping("/api/v1/cryptos")
 public class CryptoController {
 
+    private static final String ALL_SYMBOLS = "all";
+    private static final long MAX_LIMIT = 1_000;
+    private static final long MAX_OFFSET = 10_000;
+    private static final long MAX_WINDOW_DAYS = 366;
+
     private final CryptoRecommendationService service;
 
     public CryptoController(CryptoRecommendationService service) {
@@ -53,6 +67,9 @@ public class CryptoController {
 
     /**
      * Endpoint: recommendations.
+     *
+     * <p>With {@code limit}, only the top {@code offset + limit} cryptos are selected and ranked (see
+     * {@link CryptoRecommendationService#topRecommendations}), and the page after {@code offset} is returned.
      */
     @Operation(
             summary = "Returns cryptos sorted descending by normalized range",
@@ -66,11 +83,54 @@ public class CryptoController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(required = false)
             @Parameter(example = "2026-01-31", description = "End date (inclusive).")
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false)
+            @Parameter(example = "10", description = "Maximum number of cryptos to return. All cryptos if omitted.")
+            @Min(1) @Max(MAX_LIMIT) Integer limit,
+            @RequestParam(defaultValue = "0")
+            @Parameter(example = "0", description = "Number of top-ranked cryptos to skip.")
+            @Min(0) @Max(MAX_OFFSET) int offset
+    ) {
+        TimeRange range = service.resolveRange(from, to);
+        List<CryptoRecommendationService.RecommendationRow> ranked = limit == null
+                ? service.recommendations(range)
+                : service.topRecommendations(range, offset + limit);
+        return ranked.subList(Math.min(offset, ranked.size()), ranked.size()).stream()
+                .map(CryptoController::toResponse)
+                .toList();
+    }
+
+    /**
+     * Endpoint: top-ranked cryptos of consecutive windows (e.g. the best crypto of every day), in one request.
+     */
+    @Operation(
+            summary = "Returns the cryptos with the highest normalized range for consecutive windows",
+            description = "Windows of length step start at from; the last one is cut at to. Windows without data are left out."
+    )
+    @ApiResponse(responseCode = "200", description = "Top-ranked cryptos per window, ordered by window")
+    @ApiResponse(responseCode = "404", description = "No data for period",
+            content = @Content(mediaType = "application/problem+json",
+                    schema = @Schema(implementation = com.example.crypto.adapters.in.web.dto.ProblemDetailDto.class)))
+    @GetMapping("/recommendations/series")
+    public List<RecommendationWindowResponse> recommendationSeries(
+            @RequestParam(required = false)
+            @Parameter(example = "2026-01-01", description = "Start date (inclusive). If only from or to is provided, it is treated as a single-day range.")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @Parameter(example = "2026-01-31", description = "End date (inclusive).")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "P1D")
+            @Parameter(example = "P1W", description = "Window length as ISO-8601 period of days, weeks or months (e.g. P1D, P1W, P1M)")
+            @Pattern(regexp = "^P[1-9][0-9]{0,2}[DWM]$", message = "step must be a period of days, weeks or months, e.g. P1D")
+            String step,
+            @RequestParam(defaultValue = "1")
+            @Parameter(example = "3", description = "Number of top-ranked cryptos per window.")
+            @Min(1) @Max(MAX_LIMIT) int limit
     ) {
         TimeRange range = service.resolveRange(from, to);
-        return service.recommendations(range).stream()
-                .map(r -> new RecommendationResponse(r.symbol(), r.normalizedRange(), r.min(), r.max()))
+        return service.recommendationSeries(range, Period.parse(step), limit).stream()
+                .map(w -> new RecommendationWindowResponse(w.from(), w.to(),
+                        w.top().stream().map(CryptoController::toResponse).toList()))
                 .toList();
     }
 
@@ -96,16 +156,132 @@ public class CryptoController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
         TimeRange range = service.resolveRange(from, to);
-        var stats = service.stats(symbol, range);
+        return toResponse(service.stats(symbol, range));
+    }
 
-        return new CryptoStatsResponse(
-                stats.symbol(),
-                new PricePointDto(stats.oldest().timestamp(), stats.oldest().priceUsd()),
-                new PricePointDto(stats.newest().timestamp(), stats.newest().priceUsd()),
-                stats.min(),
-                stats.max(),
-                stats.normalizedRange()
-        );
+    /**
+     * Endpoint: stats of several cryptos in one response, computed in one grouped pass.
+     */
+    @Operation(summary = "Returns oldest/newest/min/max for several cryptos",
+            description = "Symbols without data in the range are left out of the response")
+    @ApiResponse(responseCode = "200", description = "Stats per crypto, ordered by symbol")
+    @ApiResponse(responseCode = "404", description = "Unsupported crypto or no data",
+            content = @Content(mediaType = "application/problem+json",
+                    schema = @Schema(implementation = com.example.crypto.adapters.in.web.dto.ProblemDetailDto.class)))
+    @GetMapping("/stats")
+    public List<CryptoStatsResponse> statsForSymbols(
+            @RequestParam @NotEmpty
+            @Parameter(example = "BTC,ETH", description = "Comma-separated crypto symbols, or 'all' for every supported crypto")
+            List<@Pattern(regexp = "^[A-Za-z0-9]{2,10}$", message = "symbol must be 2-10 alphanumeric chars") String> symbols,
+            @RequestParam(required = false)
+            @Parameter(example = "2026-01-01", description = "Start date (inclusive). If only from or to is provided, it is treated as a single-day range.")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @Parameter(example = "2026-01-31", description = "End date (inclusive).")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        TimeRange range = service.resolveRange(from, to);
+        boolean all = symbols.stream().anyMatch(ALL_SYMBOLS::equalsIgnoreCase);
+        return service.statsBySymbol(all ? null : symbols, range).stream()
+                .map(CryptoController::toResponse)
+                .toList();
+    }
+
+    /**
+     * Endpoint: windows of a crypto's prices with the highest normalized range, e.g. its most volatile week.
+     */
+    @Operation(summary = "Returns the windows of days days with the highest normalized range of requested crypto",
+            description = "A window starts at every price point and has to end within the range")
+    @ApiResponse(responseCode = "200", description = "Windows, descending by normalized range")
+    @ApiResponse(responseCode = "404", description = "Unsupported crypto or no data",
+            content = @Content(mediaType = "application/problem+json",
+                    schema = @Schema(implementation = com.example.crypto.adapters.in.web.dto.ProblemDetailDto.class)))
+    @GetMapping("/{symbol}/windows")
+    public List<PriceWindowResponse> windows(
+            @PathVariable
+            @Parameter(example = "BTC", description = "Crypto symbol (2-10 alphanumeric chars)")
+            @Pattern(regexp = "^[A-Za-z0-9]{2,10}$", message = "symbol must be 2-10 alphanumeric chars")
+            String symbol,
+            @RequestParam
+            @Parameter(example = "7", description = "Window length in days.")
+            @Min(1) @Max(MAX_WINDOW_DAYS) int days,
+            @RequestParam(required = false)
+            @Parameter(example = "2026-01-01", description = "Start date (inclusive). If only from or to is provided, it is treated as a single-day range.")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @Parameter(example = "2026-12-31", description = "End date (inclusive).")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "1")
+            @Parameter(example = "3", description = "Number of windows to return.")
+            @Min(1) @Max(MAX_LIMIT) int limit
+    ) {
+        TimeRange range = service.resolveRange(from, to);
+        return service.topWindows(symbol, range, days, limit).stream()
+                .map(CryptoController::toResponse)
+                .toList();
+    }
+
+    /**
+     * Endpoint: windows with the highest normalized range across all cryptos. Meant to be served by the in-memory
+     * engine; without it every price point of the range is read from the database.
+     */
+    @Operation(summary = "Returns the windows of days days with the highest normalized range across all cryptos",
+            description = "A window starts at every price point and has to end within the range. Cheap only with "
+                    + "the in-memory engine; otherwise every price point of the range is read from the database")
+    @ApiResponse(responseCode = "200", description = "Windows, descending by normalized range")
+    @ApiResponse(responseCode = "404", description = "No data for period",
+            content = @Content(mediaType = "application/problem+json",
+                    schema = @Schema(implementation = com.example.crypto.adapters.in.web.dto.ProblemDetailDto.class)))
+    @GetMapping("/windows")
+    public List<PriceWindowResponse> windows(
+            @RequestParam
+            @Parameter(example = "7", description = "Window length in days.")
+            @Min(1) @Max(MAX_WINDOW_DAYS) int days,
+            @RequestParam(required = false)
+            @Parameter(example = "2026-01-01", description = "Start date (inclusive). If only from or to is provided, it is treated as a single-day range.")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @Parameter(example = "2026-12-31", description = "End date (inclusive).")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10")
+            @Parameter(example = "10", description = "Number of windows to return.")
+            @Min(1) @Max(MAX_LIMIT) int limit
+    ) {
+        TimeRange range = service.resolveRange(from, to);
+        return service.topWindows(range, days, limit).stream()
+                .map(CryptoController::toResponse)
+                .toList();
+    }
+
+    /**
+     * Endpoint: latest prices of all supported cryptos, answered from the dataset catalog.
+     */
+    @Operation(summary = "Returns the newest price of every supported crypto")
+    @ApiResponse(responseCode = "200", description = "Newest prices, ordered by symbol")
+    @GetMapping("/latest")
+    public List<LatestPriceResponse> latest() {
+        return service.latestPrices().entrySet().stream()
+                .map(e -> new LatestPriceResponse(e.getKey(), e.getValue().timestamp(), e.getValue().priceUsd()))
+                .toList();
+    }
+
+    /**
+     * Endpoint: latest price of a crypto, answered from the dataset catalog.
+     */
+    @Operation(summary = "Returns the newest price of requested crypto")
+    @ApiResponse(responseCode = "200", description = "Newest price")
+    @ApiResponse(responseCode = "404", description = "Unsupported crypto",
+            content = @Content(mediaType = "application/problem+json",
+                    schema = @Schema(implementation = com.example.crypto.adapters.in.web.dto.ProblemDetailDto.class)))
+    @GetMapping("/{symbol}/latest")
+    public LatestPriceResponse latest(
+            @PathVariable
+            @Parameter(example = "BTC", description = "Crypto symbol (2-10 alphanumeric chars)")
+            @Pattern(regexp = "^[A-Za-z0-9]{2,10}$", message = "symbol must be 2-10 alphanumeric chars")
+            String symbol
+    ) {
+        var latest = service.latestPrice(symbol);
+        return new LatestPriceResponse(symbol.toUpperCase(Locale.ROOT), latest.timestamp(), latest.priceUsd());
     }
 
     @Operation(summary = "Returns crypto with highest normalized range for a specific day")
@@ -122,4 +298,26 @@ public class CryptoController {
         var best = service.bestForDay(day);
         return new BestCryptoResponse(best.day(), best.symbol(), best.min(), best.max(), best.normalizedRange());
     }
+
+    private static PriceWindowResponse toResponse(CryptoRecommendationService.PriceWindow window) {
+        return new PriceWindowResponse(window.symbol(), window.from(), window.to(),
+                new PricePointDto(window.low().timestamp(), window.low().priceUsd()),
+                new PricePointDto(window.high().timestamp(), window.high().priceUsd()),
+                window.normalizedRange());
+    }
+
+    private static RecommendationResponse toResponse(CryptoRecommendationService.RecommendationRow row) {
+        return new RecommendationResponse(row.symbol(), row.normalizedRange(), row.min(), row.max());
+    }
+
+    private static CryptoStatsResponse toResponse(CryptoStats stats) {
+        return new CryptoStatsResponse(
+                stats.symbol(),
+                new PricePointDto(stats.oldest().timestamp(), stats.oldest().priceUsd()),
+                new PricePointDto(stats.newest().timestamp(), stats.newest().priceUsd()),
+                stats.min(),
+                stats.max(),
+                stats.normalizedRange()
+        );
+    }
 }
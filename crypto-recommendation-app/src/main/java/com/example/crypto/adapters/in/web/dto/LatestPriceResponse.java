@@ -0,0 +1,16 @@
+package com.example.crypto.adapters.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * API response DTO for the newest price of a crypto.
+ */
+public record LatestPriceResponse(
+        @Schema(example = "BTC") String symbol,
+        @Schema(example = "2026-01-31T20:00:00Z") Instant timestamp,
+        @Schema(example = "46813.21") BigDecimal price
+) {
+}
@@ -0,0 +1,19 @@
+package com.example.crypto.adapters.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * API response DTO for a window of a crypto's prices, ranked by normalized range.
+ */
+public record PriceWindowResponse(
+        @Schema(example = "BTC") String symbol,
+        @Schema(example = "2022-01-03T04:00:00Z") Instant from,
+        @Schema(example = "2022-01-10T04:00:00Z") Instant to,
+        PricePointDto low,
+        PricePointDto high,
+        @Schema(example = "0.1234") BigDecimal normalizedRange
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.crypto.adapters.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * API response DTO for the top-ranked cryptos of one window of a recommendation series.
+ */
+public record RecommendationWindowResponse(
+        @Schema(example = "2026-01-01") LocalDate from,
+        @Schema(example = "2026-01-07") LocalDate to,
+        List<RecommendationResponse> recommendations
+) {
+}
@@ -0,0 +1,104 @@
+package com.example.crypto.adapters.out.cache;
+
+import com.example.crypto.domain.model.PriceRange;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Weighs cache entries by their approximate retained heap size in bytes, so that caches can be bounded by memory
+ * ({@code maximumWeight}) instead of entry count.
+ *
+ * <p>Sizes assume a 64-bit JVM with compressed references and Latin-1 strings. Cached values are records, lists
+ * and a few value types; records are walked through their components, unknown types count as
+ * {@value #UNKNOWN_BYTES} bytes. The estimate only has to be stable and roughly proportional, it is not exact.
+ */
+public final class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    static final int UNKNOWN_BYTES = 64;
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int HEADER_BYTES = 16;
+
+    private static final ClassValue<RecordComponent[]> COMPONENTS = new ClassValue<>() {
+        @Override
+        protected RecordComponent[] computeValue(Class<?> type) {
+            return type.getRecordComponents();
+        }
+    };
+
+    /**
+     * Weighs a key and its value, including the per-entry overhead of the cache itself.
+     */
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + estimate(key) + estimate(value));
+    }
+
+    /**
+     * @return approximate retained size of {@code value} in bytes
+     */
+    public static long estimate(Object value) {
+        return switch (value) {
+            case null -> 0;
+            case String s -> align(24) + align(HEADER_BYTES + s.length());
+            case BigDecimal d -> 40 + (d.precision() > 18 ? bigInteger(d) : 0);
+            case Instant i -> 24;
+            case LocalDate d -> 24;
+            case Integer i -> 16;
+            case Long l -> 24;
+            case PriceRange r -> 40 + (r.isScaled() ? 0 : estimate(r.min()) + estimate(r.max()));
+            case Collection<?> c -> collection(c);
+            case Map<?, ?> m -> map(m);
+            case Record r -> record(r);
+            default -> UNKNOWN_BYTES;
+        };
+    }
+
+    private static long bigInteger(BigDecimal value) {
+        return align(40) + align(HEADER_BYTES + value.unscaledValue().bitLength() / 8);
+    }
+
+    private static long collection(Collection<?> values) {
+        long bytes = 2 * HEADER_BYTES + align(HEADER_BYTES + (long) REFERENCE_BYTES * values.size());
+        for (Object value : values) {
+            bytes += estimate(value);
+        }
+        return bytes;
+    }
+
+    private static long map(Map<?, ?> values) {
+        long bytes = 3 * HEADER_BYTES + align(HEADER_BYTES + 2L * REFERENCE_BYTES * values.size());
+        for (var entry : values.entrySet()) {
+            bytes += 32 + estimate(entry.getKey()) + estimate(entry.getValue());
+        }
+        return bytes;
+    }
+
+    private static long record(Record value) {
+        RecordComponent[] components = COMPONENTS.get(value.getClass());
+        long bytes = align(12 + (long) 8 * components.length);
+
+        for (RecordComponent component : components) {
+            if (component.getType().isPrimitive()) {
+                continue;
+            }
+            try {
+                bytes += estimate(component.getAccessor().invoke(value));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                bytes += UNKNOWN_BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
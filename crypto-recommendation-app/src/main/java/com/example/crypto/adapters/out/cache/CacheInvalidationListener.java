@@ -0,0 +1,66 @@
+package com.example.crypto.adapters.out.cache;
+
+import com.example.crypto.config.CacheConfig;
+import com.example.crypto.domain.event.PriceDataChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Evicts cached results affected by changed price data.
+ *
+ * <p>Only entries whose {@link RangeKey} overlaps the changed symbols and span are removed, the rest of the
+ * cache stays warm. The supported symbols are evicted on every change, as a change may add a symbol.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private static final List<String> RANGE_CACHES =
+            List.of(CacheConfig.CACHE_RECOMMENDATIONS, CacheConfig.CACHE_STATS, CacheConfig.CACHE_BEST_DAY);
+
+    private final CacheManager cacheManager;
+
+    public CacheInvalidationListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @EventListener
+    public void onPriceDataChanged(PriceDataChangedEvent changed) {
+        long evicted = 0;
+
+        for (String name : RANGE_CACHES) {
+            Cache<Object, Object> cache = nativeCache(name);
+            if (cache == null) {
+                continue;
+            }
+            long[] removed = {0};
+            cache.asMap().keySet().removeIf(key -> {
+                boolean affected = !(key instanceof RangeKey range) || range.isAffectedBy(changed);
+                removed[0] += affected ? 1 : 0;
+                return affected;
+            });
+            evicted += removed[0];
+        }
+
+        var supported = cacheManager.getCache(CacheConfig.CACHE_SUPPORTED);
+        if (supported != null) {
+            supported.clear();
+        }
+
+        log.info("Price data changed (symbols={}, {} -> {}): evicted {} cached result(s).",
+                changed.symbols(), changed.fromInclusive(), changed.toInclusive(), evicted);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache(String name) {
+        var cache = cacheManager.getCache(name);
+        return cache == null ? null : (Cache<Object, Object>) cache.getNativeCache();
+    }
+}
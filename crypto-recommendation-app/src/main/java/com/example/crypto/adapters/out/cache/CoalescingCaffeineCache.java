@@ -0,0 +1,257 @@
+package com.example.crypto.adapters.out.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caffeine cache that coalesces concurrent misses of the same key into a single computation (single flight) and
+ * refreshes hot entries ahead of their expiration.
+ *
+ * <p>Used with {@code @Cacheable(sync = true)}: the first caller of a missing key installs a pending future in the
+ * {@link AsyncCache} and computes the value on its own thread; callers arriving meanwhile wait for that future
+ * instead of running the same query again, and are counted as {@code cache.coalesced.waiters}. A failed computation
+ * is propagated to its waiters and not cached, so the next caller computes again.
+ *
+ * <p>Values are stored with their write timestamp ({@link TimestampedValue}); the {@link RangeAwareExpiry} decides
+ * how long they are fresh. An entry read after {@code refreshAfterWrite} is recomputed in the background with the
+ * caller's value loader while callers keep getting the current value (stale-while-revalidate), at most one refresh
+ * per key. An entry read after its time to live is recomputed by the caller like a miss; if that fails within the
+ * {@code staleIfError} window, the old value is served instead of the failure. Entries of closed ranges never
+ * change and are never refreshed. Refreshes ({@code cache.refreshes}), stale values served ({@code cache.stale.served})
+ * and the age of the oldest expiring entry ({@code cache.entry.age.max}) are published to Micrometer.
+ */
+public class CoalescingCaffeineCache extends CaffeineCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingCaffeineCache.class);
+
+    private static final Executor REFRESH_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-refresh-", 0).factory());
+
+    private final RangeAwareExpiry expiry;
+    private final long refreshAfterNanos;
+    private final Ticker ticker;
+    private final Executor refreshExecutor;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter coalescedWaiters;
+    private final Counter refreshed;
+    private final Counter refreshFailed;
+    private final Counter staleServed;
+
+    /**
+     * @param cache             asynchronous cache expiring entries with {@code expiry}
+     * @param expiry            expiry of the cache, defines the time to live and the stale-if-error window
+     * @param refreshAfterWrite age after which a read refreshes the entry in the background, {@code null} to disable
+     * @param ticker            time source of the cache
+     */
+    public CoalescingCaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues,
+                                   MeterRegistry registry, RangeAwareExpiry expiry, Duration refreshAfterWrite,
+                                   Ticker ticker) {
+        this(name, cache, allowNullValues, registry, expiry, refreshAfterWrite, ticker, REFRESH_EXECUTOR);
+    }
+
+    CoalescingCaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues,
+                            MeterRegistry registry, RangeAwareExpiry expiry, Duration refreshAfterWrite,
+                            Ticker ticker, Executor refreshExecutor) {
+        super(name, cache, allowNullValues);
+        this.expiry = expiry;
+        this.refreshAfterNanos = refreshAfterWrite == null ? Long.MAX_VALUE : refreshAfterWrite.toNanos();
+        this.ticker = ticker;
+        this.refreshExecutor = refreshExecutor;
+
+        this.coalescedWaiters = Counter.builder("cache.coalesced.waiters")
+                .description("Cache misses that waited for a computation already running for the same key")
+                .tag("cache", name)
+                .register(registry);
+        this.refreshed = refreshCounter(name, "success", registry);
+        this.refreshFailed = refreshCounter(name, "failure", registry);
+        this.staleServed = Counter.builder("cache.stale.served")
+                .description("Reads served an expired value because recomputing it failed")
+                .tag("cache", name)
+                .register(registry);
+        TimeGauge.builder("cache.entry.age.max", this, TimeUnit.NANOSECONDS, CoalescingCaffeineCache::oldestEntryAge)
+                .description("Age of the oldest cached entry that expires")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private static Counter refreshCounter(String name, String result, MeterRegistry registry) {
+        return Counter.builder("cache.refreshes")
+                .description("Background refreshes of cached entries read after refresh-after-write")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CompletableFuture<Object> computation = new CompletableFuture<>();
+        // records hit/miss statistics; installs our computation only if there is no value or computation yet
+        CompletableFuture<Object> future = getAsyncCache().get(key, (k, executor) -> computation);
+
+        if (future == computation) {
+            return (T) fromStoreValue(compute(key, valueLoader, computation, null).value());
+        }
+        if (!future.isDone()) {
+            coalescedWaiters.increment();
+        }
+        TimestampedValue current = await(key, valueLoader, future);
+
+        long age = ticker.read() - current.writtenNanos();
+        if (age < refreshAfterNanos || expiry.isPermanent(key)) {
+            return (T) fromStoreValue(current.value());
+        }
+        if (age < expiry.timeToLiveNanos()) {
+            refreshInBackground(key, valueLoader, future);
+            return (T) fromStoreValue(current.value());
+        }
+
+        // expired but kept for stale-if-error: recompute like a miss, concurrent callers wait for it
+        CompletableFuture<Object> recomputation = new CompletableFuture<>();
+        if (getAsyncCache().asMap().replace(key, future, recomputation)) {
+            return (T) fromStoreValue(compute(key, valueLoader, recomputation, current).value());
+        }
+        return get(key, valueLoader);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object stored = super.lookup(key);
+        if (stored instanceof TimestampedValue stamped && isFresh(key, stamped)) {
+            return stamped.value();
+        }
+        return null;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, stamp(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object existing = getNativeCache().asMap().putIfAbsent(key, stamp(value));
+        return existing == null ? null : toValueWrapper(storeValue(existing));
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<Object> result = getAsyncCache().getIfPresent(key);
+        if (result == null) {
+            return null;
+        }
+        return result.thenApply(stored -> isAllowNullValues()
+                ? toValueWrapper(storeValue(stored))
+                : fromStoreValue(storeValue(stored)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return (CompletableFuture<T>) getAsyncCache()
+                .get(key, (k, executor) -> valueLoader.get().<Object>thenApply(this::stamp))
+                .thenApply(stored -> fromStoreValue(storeValue(stored)));
+    }
+
+    private TimestampedValue compute(Object key, Callable<?> valueLoader, CompletableFuture<Object> computation,
+                                     TimestampedValue stale) {
+        try {
+            TimestampedValue value = stamp(valueLoader.call());
+            computation.complete(value);
+            return value;
+        } catch (Throwable e) {
+            if (stale != null && !(e instanceof Error) && ticker.read() - stale.writtenNanos()
+                    < expiry.timeToLiveNanos() + expiry.staleIfErrorNanos()) {
+                // keeps its write timestamp, so it is still dropped at the end of the stale-if-error window
+                computation.complete(stale);
+                staleServed.increment();
+                log.warn("Recomputing {} in cache {} failed, serving the stale value: {}", key, getName(), e.toString());
+                return stale;
+            }
+            // a failed future is removed from the cache, waiters receive the same failure
+            computation.completeExceptionally(e);
+            if (e instanceof Error error) {
+                throw error;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private void refreshInBackground(Object key, Callable<?> valueLoader, CompletableFuture<Object> current) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                TimestampedValue value = stamp(valueLoader.call());
+                // replaces only the value that was refreshed: an entry evicted meanwhile stays evicted
+                getAsyncCache().asMap().replace(key, current, CompletableFuture.completedFuture(value));
+                refreshed.increment();
+            } catch (Throwable e) {
+                refreshFailed.increment();
+                log.warn("Refreshing {} in cache {} failed, keeping the cached value: {}", key, getName(), e.toString());
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    private TimestampedValue await(Object key, Callable<?> valueLoader, CompletableFuture<Object> future) {
+        try {
+            return (TimestampedValue) future.join();
+        } catch (CompletionException | CancellationException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private boolean isFresh(Object key, TimestampedValue value) {
+        return expiry.isPermanent(key) || ticker.read() - value.writtenNanos() < expiry.timeToLiveNanos();
+    }
+
+    private TimestampedValue stamp(Object value) {
+        return new TimestampedValue(toStoreValue(value), ticker.read());
+    }
+
+    private static Object storeValue(Object stored) {
+        return stored instanceof TimestampedValue stamped ? stamped.value() : stored;
+    }
+
+    private double oldestEntryAge() {
+        return getNativeCache().policy().expireVariably()
+                .map(policy -> policy.oldest(1))
+                .flatMap(oldest -> oldest.entrySet().stream().findFirst())
+                .filter(entry -> !expiry.isPermanent(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .map(value -> ticker.read() - ((TimestampedValue) value).writtenNanos())
+                .orElse(0L);
+    }
+
+    /**
+     * A cached value with the ticker time it was computed at.
+     *
+     * @param value        store value (never {@code null})
+     * @param writtenNanos {@link Ticker} time of the computation
+     */
+    public record TimestampedValue(Object value, long writtenNanos) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.crypto.adapters.out.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * High-water mark of the imported dataset: the latest price point timestamp once the import has completed.
+ *
+ * <p>Results of ranges ending at or before the mark cannot change anymore and are cached without expiration by
+ * {@link RangeAwareExpiry}. Until the import published the mark (or when the import is disabled), every
+ * range is treated as live.
+ */
+@Component
+public class DatasetWatermark {
+
+    private volatile Instant highWaterMark;
+
+    /**
+     * Publishes the latest imported timestamp, {@code null} if the dataset is empty.
+     */
+    public void update(Instant latestTimestamp) {
+        highWaterMark = latestTimestamp;
+    }
+
+    /**
+     * @return the latest imported timestamp, empty until published
+     */
+    public Optional<Instant> current() {
+        return Optional.ofNullable(highWaterMark);
+    }
+
+    /**
+     * @return whether the range of {@code key} lies entirely before the high-water mark
+     */
+    public boolean isClosed(RangeKey key) {
+        Instant mark = highWaterMark;
+        return mark != null && key.endsAtOrBefore(mark);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.crypto.adapters.out.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * Expires cache entries depending on the freshness of their data.
+ *
+ * <p>Entries keyed by a closed {@link RangeKey} (ending at or before the {@link DatasetWatermark}) never expire
+ * and are only removed by size eviction. All other entries, ranges touching the live edge and keys without a
+ * range, are fresh for {@code timeToLive} after they were computed and are then kept for another
+ * {@code staleIfError}, so that {@link CoalescingCaffeineCache} can still serve them when recomputing fails.
+ * The age of a {@link CoalescingCaffeineCache.TimestampedValue} is measured from its write timestamp, so serving
+ * a stale value again does not extend its life.
+ */
+public final class RangeAwareExpiry implements Expiry<Object, Object> {
+
+    private final DatasetWatermark watermark;
+    private final long timeToLiveNanos;
+    private final long staleIfErrorNanos;
+
+    public RangeAwareExpiry(DatasetWatermark watermark, Duration timeToLive) {
+        this(watermark, timeToLive, Duration.ZERO);
+    }
+
+    public RangeAwareExpiry(DatasetWatermark watermark, Duration timeToLive, Duration staleIfError) {
+        this.watermark = watermark;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.staleIfErrorNanos = staleIfError.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        if (isPermanent(key)) {
+            return Long.MAX_VALUE;
+        }
+        long lifetime = timeToLiveNanos + staleIfErrorNanos;
+        if (value instanceof CoalescingCaffeineCache.TimestampedValue stamped) {
+            return Math.max(0, lifetime - (currentTime - stamped.writtenNanos()));
+        }
+        return lifetime;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    /**
+     * @return whether entries of {@code key} never expire because their range is closed
+     */
+    boolean isPermanent(Object key) {
+        return key instanceof RangeKey range && watermark.isClosed(range);
+    }
+
+    long timeToLiveNanos() {
+        return timeToLiveNanos;
+    }
+
+    long staleIfErrorNanos() {
+        return staleIfErrorNanos;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.crypto.adapters.out.cache;
+
+import com.example.crypto.domain.event.PriceDataChangedEvent;
+import com.example.crypto.domain.model.TimeRange;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Cache key of a query over a time range, for one symbol or for all symbols.
+ *
+ * <p>Keys are structured (instead of concatenated strings), so that the cache can reason about the range of an
+ * entry, e.g. whether it lies entirely before the latest imported price point.
+ *
+ * @param symbol        upper-case symbol, {@code null} for queries over all symbols
+ * @param fromInclusive start of the range
+ * @param toExclusive   end of the range
+ * @param limit         number of top-ranked rows of a ranked query, {@code 0} for all rows
+ */
+public record RangeKey(String symbol, Instant fromInclusive, Instant toExclusive, int limit) {
+
+    public RangeKey(String symbol, Instant fromInclusive, Instant toExclusive) {
+        this(symbol, fromInclusive, toExclusive, 0);
+    }
+
+    /**
+     * @return key of a query over all symbols within {@code range}
+     */
+    public static RangeKey of(TimeRange range) {
+        return new RangeKey(null, range.fromInclusive(), range.toExclusive());
+    }
+
+    /**
+     * @return key of a query for {@code symbol} within {@code range}
+     */
+    public static RangeKey of(String symbol, TimeRange range) {
+        return new RangeKey(symbol == null ? null : symbol.trim().toUpperCase(Locale.ROOT),
+                range.fromInclusive(), range.toExclusive());
+    }
+
+    /**
+     * @return key of the {@code limit} top-ranked rows of a query over all symbols within {@code range}
+     */
+    public static RangeKey top(TimeRange range, int limit) {
+        return new RangeKey(null, range.fromInclusive(), range.toExclusive(), limit);
+    }
+
+    /**
+     * @return key of a query over all symbols within the UTC day
+     */
+    public static RangeKey of(LocalDate day) {
+        return of(TimeRange.singleDay(day));
+    }
+
+    /**
+     * @return whether the result of this key depends on price points of {@code changed}
+     */
+    public boolean isAffectedBy(PriceDataChangedEvent changed) {
+        return (symbol == null || changed.symbols().contains(symbol))
+                && !fromInclusive.isAfter(changed.toInclusive())
+                && toExclusive.isAfter(changed.fromInclusive());
+    }
+
+    /**
+     * @return whether no price point at or after {@code timestamp} can fall into the range
+     */
+    public boolean endsAtOrBefore(Instant timestamp) {
+        return !toExclusive.isAfter(timestamp);
+    }
+}
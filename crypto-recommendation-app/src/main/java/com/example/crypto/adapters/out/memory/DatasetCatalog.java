@@ -0,0 +1,143 @@
+package com.example.crypto.adapters.out.memory;
+
+import com.example.crypto.domain.model.PricePoint;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Metadata of the imported dataset: first/last timestamp, row count and latest price, per symbol and overall.
+ *
+ * <p>Maintained by the importer and published atomically as an immutable snapshot, independently of the
+ * in-memory read engine. Default ranges, symbol checks and latest prices are answered from it without SQL. Until
+ * a snapshot is published (e.g. when the import is disabled) callers are expected to query the database.
+ *
+ * <p>Symbols are published as a {@link SymbolRegistry}; per-symbol metadata is indexed by the symbol ids, so a
+ * lookup is a single hash probe.
+ */
+@Component
+public class DatasetCatalog {
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @return whether a snapshot has been published
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Atomically replaces the published snapshot.
+     *
+     * @param entries metadata of every stored symbol
+     */
+    public void publish(Collection<SymbolMetadata> entries) {
+        // ordered by symbol, the index of an entry is the id of its symbol
+        List<SymbolMetadata> ordered = entries.stream()
+                .sorted(Comparator.comparing(SymbolMetadata::symbol))
+                .toList();
+        SymbolRegistry registry = SymbolRegistry.of(ordered.stream().map(SymbolMetadata::symbol).toList());
+        if (registry.size() != ordered.size()) {
+            throw new IllegalArgumentException("Dataset catalog entries must have distinct symbols");
+        }
+
+        Instant first = null;
+        Instant last = null;
+        long rows = 0;
+        for (SymbolMetadata entry : ordered) {
+            first = first == null || entry.firstTimestamp().isBefore(first) ? entry.firstTimestamp() : first;
+            last = last == null || entry.lastTimestamp().isAfter(last) ? entry.lastTimestamp() : last;
+            rows += entry.rowCount();
+        }
+
+        this.snapshot = new Snapshot(registry, ordered, first, last, rows);
+    }
+
+    /**
+     * @return registry of the stored symbols
+     */
+    public SymbolRegistry registry() {
+        return current().registry();
+    }
+
+    /**
+     * @return stored symbols, ordered alphabetically
+     */
+    public List<String> symbols() {
+        return registry().symbols();
+    }
+
+    /**
+     * @return whether price points of {@code symbol} are stored
+     */
+    public boolean contains(String symbol) {
+        return registry().contains(symbol);
+    }
+
+    /**
+     * @return metadata of a symbol, if stored
+     */
+    public Optional<SymbolMetadata> symbol(String symbol) {
+        var s = current();
+        int id = s.registry().idOf(symbol);
+        return id < 0 ? Optional.empty() : Optional.of(s.ordered().get(id));
+    }
+
+    /**
+     * @return metadata of all symbols, ordered by symbol
+     */
+    public List<SymbolMetadata> allSymbols() {
+        return current().ordered();
+    }
+
+    /**
+     * @return earliest timestamp across all symbols
+     */
+    public Optional<Instant> firstTimestamp() {
+        return Optional.ofNullable(current().firstTimestamp());
+    }
+
+    /**
+     * @return latest timestamp across all symbols
+     */
+    public Optional<Instant> lastTimestamp() {
+        return Optional.ofNullable(current().lastTimestamp());
+    }
+
+    /**
+     * @return number of stored price points
+     */
+    public long rowCount() {
+        return current().rowCount();
+    }
+
+    private Snapshot current() {
+        var s = snapshot;
+        if (s == null) {
+            throw new IllegalStateException("Dataset catalog is not loaded");
+        }
+        return s;
+    }
+
+    /**
+     * Metadata of one symbol.
+     *
+     * @param symbol         crypto symbol
+     * @param firstTimestamp timestamp of the oldest price point
+     * @param lastTimestamp  timestamp of the newest price point
+     * @param rowCount       number of price points
+     * @param latest         newest price point
+     */
+    public record SymbolMetadata(String symbol, Instant firstTimestamp, Instant lastTimestamp, long rowCount,
+                                 PricePoint latest) {
+    }
+
+    private record Snapshot(SymbolRegistry registry, List<SymbolMetadata> ordered, Instant firstTimestamp,
+                            Instant lastTimestamp, long rowCount) {
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.crypto.adapters.out.memory;
+
+import com.example.crypto.domain.model.PricePoint;
+import com.example.crypto.domain.model.PriceRange;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Immutable, columnar price history of a single crypto symbol.
+ *
+ * <p>Timestamps are stored as a strictly ascending {@code long[]} of epoch millis and prices as a parallel
+ * {@code long[]} of fixed-point values with the same scale as the {@code price_usd} column (10 fraction digits).
+ * Range lookups are binary searches over the timestamp column.
+ *
+ * <p>Range minimum/maximum queries are served by a {@link RangeMinMaxIndex} built together with the series,
+ * so their cost does not depend on the width of the requested range.
+ *
+ * <p>If a price does not fit into the fixed-point representation, the series keeps an exact
+ * {@link BigDecimal} column instead, so results never lose precision.
+ */
+public final class PriceSeries {
+
+    /**
+     * Number of fraction digits kept for prices, matching {@code PricePointEntity.priceUsd}.
+     */
+    public static final int PRICE_SCALE = PriceRange.SCALE;
+
+    private final String symbol;
+    private final long[] timestamps;
+    private final long[] scaledPrices;
+    private final BigDecimal[] exactPrices;
+    private final RangeMinMaxIndex index;
+
+    private PriceSeries(String symbol, long[] timestamps, long[] scaledPrices, BigDecimal[] exactPrices) {
+        this.symbol = symbol;
+        this.timestamps = timestamps;
+        this.scaledPrices = scaledPrices;
+        this.exactPrices = exactPrices;
+        this.index = new RangeMinMaxIndex(timestamps.length, this::comparePrices);
+    }
+
+    /**
+     * Creates a builder collecting (timestamp, price) pairs of a symbol in any order.
+     */
+    public static Builder builder(String symbol) {
+        return new Builder(symbol);
+    }
+
+    /**
+     * @return crypto symbol
+     */
+    public String symbol() {
+        return symbol;
+    }
+
+    /**
+     * @return number of price points
+     */
+    public int size() {
+        return timestamps.length;
+    }
+
+    /**
+     * @return epoch millis of the price point at {@code index}
+     */
+    public long timestampAt(int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * @return price of the price point at {@code index}
+     */
+    public BigDecimal priceAt(int index) {
+        return exactPrices != null ? exactPrices[index] : BigDecimal.valueOf(scaledPrices[index], PRICE_SCALE);
+    }
+
+    /**
+     * @return price point at {@code index}
+     */
+    public PricePoint pointAt(int index) {
+        return new PricePoint(Instant.ofEpochMilli(timestamps[index]), priceAt(index));
+    }
+
+    /**
+     * Returns the index of the first price point with a timestamp {@code >= epochMillis},
+     * or {@link #size()} if there is none.
+     */
+    public int lowerBound(long epochMillis) {
+        int lo = 0;
+        int hi = timestamps.length;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[mid] < epochMillis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index of the lowest price in {@code [fromIndex, toIndex)}.
+     */
+    public int minIndex(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+
+        return index.minIndex(fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the index of the highest price in {@code [fromIndex, toIndex)}.
+     */
+    public int maxIndex(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+
+        return index.maxIndex(fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the lowest and highest price in {@code [fromIndex, toIndex)}, in fixed-point form when possible.
+     */
+    public PriceRange priceRange(int fromIndex, int toIndex) {
+        return priceRangeOf(minIndex(fromIndex, toIndex), maxIndex(fromIndex, toIndex));
+    }
+
+    /**
+     * Returns the range between the prices at two indexes, in fixed-point form when possible.
+     *
+     * @param minIndex index of the lowest price
+     * @param maxIndex index of the highest price
+     */
+    public PriceRange priceRangeOf(int minIndex, int maxIndex) {
+        return exactPrices != null
+                ? PriceRange.of(exactPrices[minIndex], exactPrices[maxIndex])
+                : PriceRange.ofScaled(scaledPrices[minIndex], scaledPrices[maxIndex]);
+    }
+
+    /**
+     * Compares the prices at two indexes.
+     */
+    public int comparePrices(int i, int j) {
+        return exactPrices != null
+                ? exactPrices[i].compareTo(exactPrices[j])
+                : Long.compare(scaledPrices[i], scaledPrices[j]);
+    }
+
+    /**
+     * @return approximate retained size of the range min/max index in bytes
+     */
+    public long indexFootprintBytes() {
+        return index.footprintBytes();
+    }
+
+    /**
+     * @return time spent building the range min/max index, in nanoseconds
+     */
+    public long indexBuildNanos() {
+        return index.buildNanos();
+    }
+
+    private void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > timestamps.length || fromIndex >= toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range [%d, %d) for size %d"
+                    .formatted(fromIndex, toIndex, timestamps.length));
+        }
+    }
+
+    /**
+     * Collects price points of a single symbol and produces an immutable {@link PriceSeries}.
+     *
+     * <p>Input does not have to be sorted. Duplicated timestamps are collapsed, the last added price wins.
+     */
+    public static final class Builder {
+
+        private final String symbol;
+        private long[] timestamps = new long[64];
+        private BigDecimal[] prices = new BigDecimal[64];
+        private int size;
+
+        private Builder(String symbol) {
+            this.symbol = Objects.requireNonNull(symbol, "symbol");
+        }
+
+        /**
+         * Adds a price point.
+         */
+        public Builder add(Instant timestamp, BigDecimal priceUsd) {
+            return add(timestamp.toEpochMilli(), priceUsd);
+        }
+
+        /**
+         * Adds a price point.
+         */
+        public Builder add(long epochMillis, BigDecimal priceUsd) {
+            Objects.requireNonNull(priceUsd, "priceUsd");
+
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+            }
+            timestamps[size] = epochMillis;
+            prices[size] = priceUsd.setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+            size++;
+
+            return this;
+        }
+
+        /**
+         * @return number of price points added so far (including duplicates)
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Builds an immutable series sorted by timestamp.
+         */
+        public PriceSeries build() {
+            Integer[] order = null;
+            for (int i = 1; i < size; i++) {
+                if (timestamps[i] <= timestamps[i - 1]) {
+                    order = sortedOrder();
+                    break;
+                }
+            }
+
+            long[] ts = new long[size];
+            BigDecimal[] px = new BigDecimal[size];
+            int n = 0;
+
+            for (int k = 0; k < size; k++) {
+                int i = order == null ? k : order[k];
+                if (n > 0 && ts[n - 1] == timestamps[i]) {
+                    px[n - 1] = prices[i]; // duplicated timestamp, last one wins
+                    continue;
+                }
+                ts[n] = timestamps[i];
+                px[n] = prices[i];
+                n++;
+            }
+
+            ts = Arrays.copyOf(ts, n);
+            px = Arrays.copyOf(px, n);
+
+            long[] scaled = new long[n];
+            for (int i = 0; i < n; i++) {
+                var unscaled = px[i].unscaledValue();
+                if (unscaled.bitLength() > 63) {
+                    return new PriceSeries(symbol, ts, null, px);
+                }
+                scaled[i] = unscaled.longValue();
+            }
+
+            return new PriceSeries(symbol, ts, scaled, null);
+        }
+
+        private Integer[] sortedOrder() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            // stable sort keeps insertion order of equal timestamps, so the last added price wins
+            Arrays.sort(order, Comparator.comparingLong(i -> timestamps[i]));
+
+            return order;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.crypto.adapters.out.memory;
+
+import com.example.crypto.config.properties.AppInMemoryProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory read engine holding a columnar {@link PriceSeries} per symbol.
+ *
+ * <p>The store is filled once by the importer and then published atomically as an immutable snapshot.
+ * Until a snapshot is published (or when the engine is disabled via {@code app.in-memory.enabled=false})
+ * queries are expected to be answered from the database.
+ */
+@Component
+@EnableConfigurationProperties(AppInMemoryProperties.class)
+public class PriceSeriesStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceSeriesStore.class);
+
+    private final AppInMemoryProperties props;
+    private volatile Snapshot snapshot;
+
+    public PriceSeriesStore(AppInMemoryProperties props) {
+        this.props = props;
+    }
+
+    /**
+     * @return whether the in-memory engine is enabled by configuration
+     */
+    public boolean isEnabled() {
+        return props.enabled();
+    }
+
+    /**
+     * @return whether a snapshot has been published and can be used to answer queries
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Creates a loader collecting price points for a new snapshot.
+     */
+    public Loader newLoader() {
+        return new Loader();
+    }
+
+    /**
+     * @return series of a symbol, if present
+     */
+    public Optional<PriceSeries> series(String symbol) {
+        return Optional.ofNullable(current().bySymbol().get(symbol));
+    }
+
+    /**
+     * @return all series, ordered by symbol
+     */
+    public Collection<PriceSeries> allSeries() {
+        return current().ordered();
+    }
+
+    /**
+     * @return supported symbols, ordered alphabetically
+     */
+    public List<String> symbols() {
+        return current().symbols();
+    }
+
+    /**
+     * @return earliest timestamp across all series
+     */
+    public Optional<Instant> minTimestamp() {
+        var s = current();
+        return s.ordered().isEmpty() ? Optional.empty() : Optional.of(Instant.ofEpochMilli(s.minTimestamp()));
+    }
+
+    /**
+     * @return latest timestamp across all series
+     */
+    public Optional<Instant> maxTimestamp() {
+        var s = current();
+        return s.ordered().isEmpty() ? Optional.empty() : Optional.of(Instant.ofEpochMilli(s.maxTimestamp()));
+    }
+
+    /**
+     * @return approximate retained size of all range min/max indexes in bytes
+     */
+    public long indexFootprintBytes() {
+        return current().ordered().stream().mapToLong(PriceSeries::indexFootprintBytes).sum();
+    }
+
+    private Snapshot current() {
+        var s = snapshot;
+        if (s == null) {
+            throw new IllegalStateException("In-memory price series are not loaded");
+        }
+        return s;
+    }
+
+    private void publish(Snapshot next) {
+        this.snapshot = next;
+    }
+
+    /**
+     * Immutable view of all series published at once.
+     */
+    private record Snapshot(Map<String, PriceSeries> bySymbol, List<PriceSeries> ordered, List<String> symbols,
+                            long minTimestamp, long maxTimestamp) {
+    }
+
+    /**
+     * Collects price points of all symbols and publishes them as a new snapshot.
+     *
+     * <p>Not thread-safe; intended to be used by a single import thread.
+     */
+    public final class Loader {
+
+        private final Map<String, PriceSeries.Builder> builders = new HashMap<>();
+
+        private Loader() {
+        }
+
+        /**
+         * Adds a price point.
+         */
+        public void add(String symbol, Instant timestamp, BigDecimal priceUsd) {
+            builders.computeIfAbsent(symbol, PriceSeries::builder).add(timestamp, priceUsd);
+        }
+
+        /**
+         * Builds all series and atomically replaces the currently published snapshot.
+         */
+        public void publish() {
+            long startNanos = System.nanoTime();
+
+            List<PriceSeries> ordered = builders.values().stream()
+                    .map(PriceSeries.Builder::build)
+                    .filter(s -> s.size() > 0)
+                    .sorted((a, b) -> a.symbol().compareTo(b.symbol()))
+                    .toList();
+
+            Map<String, PriceSeries> bySymbol = new HashMap<>();
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            long points = 0;
+            long indexBytes = 0;
+            long indexNanos = 0;
+
+            for (PriceSeries s : ordered) {
+                bySymbol.put(s.symbol(), s);
+                min = Math.min(min, s.timestampAt(0));
+                max = Math.max(max, s.timestampAt(s.size() - 1));
+                points += s.size();
+                indexBytes += s.indexFootprintBytes();
+                indexNanos += s.indexBuildNanos();
+            }
+
+            PriceSeriesStore.this.publish(new Snapshot(Map.copyOf(bySymbol), ordered,
+                    ordered.stream().map(PriceSeries::symbol).toList(), min, max));
+
+            long tookMs = (System.nanoTime() - startNanos) / 1_000_000;
+            log.info("In-memory price series published: symbols={} points={} in {} ms.", ordered.size(), points, tookMs);
+            log.info("Range min/max index built: {} bytes in {} us.", indexBytes, indexNanos / 1_000);
+        }
+    }
+}
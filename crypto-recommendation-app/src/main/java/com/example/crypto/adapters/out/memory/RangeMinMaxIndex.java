@@ -0,0 +1,173 @@
+package com.example.crypto.adapters.out.memory;
+
+/**
+ * Range-minimum/maximum index over the price column of a {@link PriceSeries}.
+ *
+ * <p>Prices are grouped into blocks of {@value #BLOCK_SIZE} points. A sparse table over per-block minima and
+ * maxima answers the fully covered blocks of a query with two lookups, and the at most two partial blocks at
+ * the edges are scanned. Every query therefore costs at most {@code 2 * BLOCK_SIZE} comparisons, no matter how
+ * wide the requested range is, while the table needs only {@code (n / BLOCK_SIZE) * log2(n / BLOCK_SIZE)}
+ * entries instead of the {@code n * log2(n)} of a plain sparse table.
+ */
+final class RangeMinMaxIndex {
+
+    static final int BLOCK_SIZE = 32;
+    private static final int BLOCK_SHIFT = 5;
+
+    /**
+     * Compares the prices stored at two positions of the indexed column.
+     */
+    @FunctionalInterface
+    interface PriceComparator {
+        int compare(int i, int j);
+    }
+
+    private final PriceComparator prices;
+    private final int size;
+    private final int[][] minTable;
+    private final int[][] maxTable;
+    private final long buildNanos;
+
+    RangeMinMaxIndex(int size, PriceComparator prices) {
+        long startNanos = System.nanoTime();
+
+        this.prices = prices;
+        this.size = size;
+
+        int blocks = (size + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+        int levels = blocks == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(blocks);
+
+        this.minTable = new int[levels][];
+        this.maxTable = new int[levels][];
+
+        if (levels > 0) {
+            int[] min0 = new int[blocks];
+            int[] max0 = new int[blocks];
+            for (int b = 0; b < blocks; b++) {
+                int from = b << BLOCK_SHIFT;
+                int to = Math.min(size, from + BLOCK_SIZE);
+                min0[b] = scanMin(from, to);
+                max0[b] = scanMax(from, to);
+            }
+            minTable[0] = min0;
+            maxTable[0] = max0;
+
+            for (int level = 1; level < levels; level++) {
+                int half = 1 << (level - 1);
+                int count = blocks - (1 << level) + 1;
+                int[] min = new int[count];
+                int[] max = new int[count];
+                int[] prevMin = minTable[level - 1];
+                int[] prevMax = maxTable[level - 1];
+
+                for (int b = 0; b < count; b++) {
+                    min[b] = lower(prevMin[b], prevMin[b + half]);
+                    max[b] = higher(prevMax[b], prevMax[b + half]);
+                }
+                minTable[level] = min;
+                maxTable[level] = max;
+            }
+        }
+
+        this.buildNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Returns the position of the lowest price in {@code [fromIndex, toIndex)}.
+     */
+    int minIndex(int fromIndex, int toIndex) {
+        int last = toIndex - 1;
+        int firstBlock = fromIndex >>> BLOCK_SHIFT;
+        int lastBlock = last >>> BLOCK_SHIFT;
+
+        if (firstBlock == lastBlock) {
+            return scanMin(fromIndex, toIndex);
+        }
+
+        int best = lower(scanMin(fromIndex, (firstBlock + 1) << BLOCK_SHIFT), scanMin(lastBlock << BLOCK_SHIFT, toIndex));
+        if (lastBlock - firstBlock > 1) {
+            int level = log2(lastBlock - firstBlock - 1);
+            int[] table = minTable[level];
+            best = lower(best, lower(table[firstBlock + 1], table[lastBlock - (1 << level)]));
+        }
+        return best;
+    }
+
+    /**
+     * Returns the position of the highest price in {@code [fromIndex, toIndex)}.
+     */
+    int maxIndex(int fromIndex, int toIndex) {
+        int last = toIndex - 1;
+        int firstBlock = fromIndex >>> BLOCK_SHIFT;
+        int lastBlock = last >>> BLOCK_SHIFT;
+
+        if (firstBlock == lastBlock) {
+            return scanMax(fromIndex, toIndex);
+        }
+
+        int best = higher(scanMax(fromIndex, (firstBlock + 1) << BLOCK_SHIFT), scanMax(lastBlock << BLOCK_SHIFT, toIndex));
+        if (lastBlock - firstBlock > 1) {
+            int level = log2(lastBlock - firstBlock - 1);
+            int[] table = maxTable[level];
+            best = higher(best, higher(table[firstBlock + 1], table[lastBlock - (1 << level)]));
+        }
+        return best;
+    }
+
+    /**
+     * @return approximate retained size of the index tables in bytes
+     */
+    long footprintBytes() {
+        long bytes = 16L + 2 * (16L + 4L * minTable.length);
+        for (int level = 0; level < minTable.length; level++) {
+            bytes += 2 * (16L + 4L * minTable[level].length);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return time spent building the index
+     */
+    long buildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * @return number of indexed positions
+     */
+    int size() {
+        return size;
+    }
+
+    private int scanMin(int from, int to) {
+        int best = from;
+        for (int i = from + 1; i < to; i++) {
+            if (prices.compare(i, best) < 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private int scanMax(int from, int to) {
+        int best = from;
+        for (int i = from + 1; i < to; i++) {
+            if (prices.compare(i, best) > 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private int lower(int i, int j) {
+        return prices.compare(j, i) < 0 ? j : i;
+    }
+
+    private int higher(int i, int j) {
+        return prices.compare(j, i) > 0 ? j : i;
+    }
+
+    private static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.crypto.adapters.out.memory;
+
+/**
+ * Slides a fixed-length time window over a {@link PriceSeries} and reports the lowest and highest price of every
+ * window position.
+ *
+ * <p>One window starts at every price point and covers {@code [timestamp, timestamp + length)}. Both ends only
+ * move forward, and the candidates for the minimum and the maximum are kept in monotonic deques of indexes: every
+ * index is pushed and popped at most once, so a whole sweep costs O(n) comparisons, independent of the window
+ * length (a {@link RangeMinMaxIndex} query per window would cost up to {@code 2 * BLOCK_SIZE}).
+ *
+ * <p>Consecutive positions often share their lowest and highest price point; such positions describe the same
+ * move and are reported once, at the earliest start.
+ */
+public final class SlidingWindowMinMax {
+
+    /**
+     * Receives one window position.
+     */
+    @FunctionalInterface
+    public interface WindowConsumer {
+
+        /**
+         * @param fromIndex index of the first price point of the window
+         * @param toIndex   index after the last price point of the window
+         * @param minIndex  index of the lowest price in the window
+         * @param maxIndex  index of the highest price in the window
+         */
+        void accept(int fromIndex, int toIndex, int minIndex, int maxIndex);
+    }
+
+    private SlidingWindowMinMax() {
+    }
+
+    /**
+     * Sweeps the windows of {@code series} starting in {@code [fromIndex, toIndex)} that end at or before
+     * {@code endMillis}.
+     *
+     * @param lengthMillis window length, {@code > 0}
+     * @param endMillis    exclusive end of the scanned period; windows reaching beyond it are skipped
+     */
+    public static void sweep(PriceSeries series, int fromIndex, int toIndex, long lengthMillis, long endMillis,
+                             WindowConsumer consumer) {
+        if (lengthMillis <= 0) {
+            throw new IllegalArgumentException("window length must be positive");
+        }
+
+        // indexes with increasing prices (min candidates) and decreasing prices (max candidates); every index is
+        // pushed once, so the arrays never wrap
+        int capacity = Math.max(0, toIndex - fromIndex);
+        int[] mins = new int[capacity];
+        int[] maxs = new int[capacity];
+        int minHead = 0;
+        int minTail = 0;
+        int maxHead = 0;
+        int maxTail = 0;
+
+        int end = fromIndex;
+        int lastMin = -1;
+        int lastMax = -1;
+        for (int start = fromIndex; start < toIndex; start++) {
+            long windowEnd = series.timestampAt(start) + lengthMillis;
+            if (windowEnd > endMillis) {
+                break;
+            }
+
+            while (end < toIndex && series.timestampAt(end) < windowEnd) {
+                while (minTail > minHead && series.comparePrices(mins[minTail - 1], end) >= 0) {
+                    minTail--;
+                }
+                mins[minTail++] = end;
+                while (maxTail > maxHead && series.comparePrices(maxs[maxTail - 1], end) <= 0) {
+                    maxTail--;
+                }
+                maxs[maxTail++] = end;
+                end++;
+            }
+            if (mins[minHead] < start) {
+                minHead++;
+            }
+            if (maxs[maxHead] < start) {
+                maxHead++;
+            }
+
+            int min = mins[minHead];
+            int max = maxs[maxHead];
+            if (min != lastMin || max != lastMax) {
+                consumer.accept(start, end, min, max);
+                lastMin = min;
+                lastMax = max;
+            }
+        }
+    }
+}
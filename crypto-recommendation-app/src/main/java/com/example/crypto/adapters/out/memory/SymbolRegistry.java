@@ -0,0 +1,71 @@
+package com.example.crypto.adapters.out.memory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable registry of the stored symbols with dense ids.
+ *
+ * <p>Ids are {@code 0..size()-1} in alphabetical order of the symbols, so they can index arrays of per-symbol
+ * data. Checking or resolving a symbol is a single hash probe.
+ */
+public final class SymbolRegistry {
+
+    public static final SymbolRegistry EMPTY = of(List.of());
+
+    private final List<String> symbols;
+    private final Map<String, Integer> ids;
+
+    private SymbolRegistry(List<String> symbols) {
+        this.symbols = symbols;
+        this.ids = new HashMap<>(Math.max(16, symbols.size() * 4 / 3 + 1));
+        for (int i = 0; i < symbols.size(); i++) {
+            ids.put(symbols.get(i), i);
+        }
+    }
+
+    /**
+     * @param symbols symbols to register; duplicates are registered once
+     */
+    public static SymbolRegistry of(Collection<String> symbols) {
+        return new SymbolRegistry(symbols.stream().distinct().sorted().toList());
+    }
+
+    /**
+     * @return id of {@code symbol}, {@code -1} if it is not registered
+     */
+    public int idOf(String symbol) {
+        Integer id = ids.get(symbol);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return whether {@code symbol} is registered
+     */
+    public boolean contains(String symbol) {
+        return ids.containsKey(symbol);
+    }
+
+    /**
+     * @return symbol with the given id
+     */
+    public String symbolOf(int id) {
+        return symbols.get(id);
+    }
+
+    /**
+     * @return registered symbols ordered by id (alphabetically)
+     */
+    public List<String> symbols() {
+        return symbols;
+    }
+
+    /**
+     * @return number of registered symbols
+     */
+    public int size() {
+        return symbols.size();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.crypto.adapters.out.persistence.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPA entity representing the daily (UTC) rollup of price points of a single crypto.
+ *
+ * <p>Uniqueness is enforced by (symbol, utc_day). The column is not called {@code day}, which is a reserved
+ * word in H2.
+ */
+@Entity
+@Table(
+        name = "daily_price_aggregates",
+        indexes = {
+                @Index(name = "idx_daily_day", columnList = "utc_day")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_daily_symbol_day", columnNames = {"symbol", "utc_day"})
+        }
+)
+public class DailyPriceAggregateEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String symbol;
+
+    @Column(name = "utc_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false, precision = 24, scale = 10)
+    private BigDecimal minPrice;
+
+    @Column(nullable = false, precision = 24, scale = 10)
+    private BigDecimal maxPrice;
+
+    @Column(nullable = false)
+    private Instant firstTimestamp;
+
+    @Column(nullable = false, precision = 24, scale = 10)
+    private BigDecimal firstPrice;
+
+    @Column(nullable = false)
+    private Instant lastTimestamp;
+
+    @Column(nullable = false, precision = 24, scale = 10)
+    private BigDecimal lastPrice;
+
+    @Column(nullable = false)
+    private long pointCount;
+
+    protected DailyPriceAggregateEntity() {
+    }
+
+    /**
+     * Creates a new daily rollup row.
+     *
+     * @param symbol         crypto symbol (e.g. BTC)
+     * @param day            UTC day
+     * @param minPrice       lowest price of the day
+     * @param maxPrice       highest price of the day
+     * @param firstTimestamp timestamp of the first price point of the day
+     * @param firstPrice     price of the first price point of the day
+     * @param lastTimestamp  timestamp of the last price point of the day
+     * @param lastPrice      price of the last price point of the day
+     * @param pointCount     number of price points of the day
+     */
+    public DailyPriceAggregateEntity(String symbol, LocalDate day, BigDecimal minPrice, BigDecimal maxPrice,
+                                     Instant firstTimestamp, BigDecimal firstPrice,
+                                     Instant lastTimestamp, BigDecimal lastPrice, long pointCount) {
+        this.symbol = symbol;
+        this.day = day;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.firstTimestamp = firstTimestamp;
+        this.firstPrice = firstPrice;
+        this.lastTimestamp = lastTimestamp;
+        this.lastPrice = lastPrice;
+        this.pointCount = pointCount;
+    }
+
+    /**
+     * @return database identifier
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return crypto symbol
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return UTC day
+     */
+    public LocalDate getDay() {
+        return day;
+    }
+
+    /**
+     * @return lowest price of the day
+     */
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    /**
+     * @return highest price of the day
+     */
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    /**
+     * @return timestamp of the first price point of the day
+     */
+    public Instant getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    /**
+     * @return price of the first price point of the day
+     */
+    public BigDecimal getFirstPrice() {
+        return firstPrice;
+    }
+
+    /**
+     * @return timestamp of the last price point of the day
+     */
+    public Instant getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * @return price of the last price point of the day
+     */
+    public BigDecimal getLastPrice() {
+        return lastPrice;
+    }
+
+    /**
+     * @return number of price points of the day
+     */
+    public long getPointCount() {
+        return pointCount;
+    }
+}
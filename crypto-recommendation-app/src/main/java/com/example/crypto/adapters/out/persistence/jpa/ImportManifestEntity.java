@@ -0,0 +1,103 @@
+package com.example.crypto.adapters.out.persistence.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * JPA entity describing how much of a CSV file has already been imported.
+ *
+ * <p>The checksum (CRC32C) covers the first {@code importedBytes} bytes of the file, so a later import can tell
+ * an unchanged file, an appended file (same checksum over the imported prefix) and a file changed in place
+ * apart. The header line is kept to parse appended rows of files with a header.
+ */
+@Entity
+@Table(name = "import_manifest")
+public class ImportManifestEntity {
+
+    @Id
+    @Column(length = 255)
+    private String fileName;
+
+    @Column(nullable = false)
+    private long importedBytes;
+
+    @Column(nullable = false)
+    private long checksum;
+
+    @Column(length = 1024)
+    private String headerLine;
+
+    private Instant maxTimestamp;
+
+    @Column(nullable = false)
+    private Instant importedAt;
+
+    protected ImportManifestEntity() {
+    }
+
+    /**
+     * Creates a manifest entry.
+     *
+     * @param fileName      CSV file name
+     * @param importedBytes number of bytes imported from the start of the file
+     * @param checksum      CRC32C of the imported bytes
+     * @param headerLine    header line of the file, {@code null} for headerless files
+     * @param maxTimestamp  latest imported timestamp, {@code null} if no row was imported
+     * @param importedAt    time of the import
+     */
+    public ImportManifestEntity(String fileName, long importedBytes, long checksum, String headerLine,
+                                Instant maxTimestamp, Instant importedAt) {
+        this.fileName = fileName;
+        this.importedBytes = importedBytes;
+        this.checksum = checksum;
+        this.headerLine = headerLine;
+        this.maxTimestamp = maxTimestamp;
+        this.importedAt = importedAt;
+    }
+
+    /**
+     * @return CSV file name
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return number of bytes imported from the start of the file
+     */
+    public long getImportedBytes() {
+        return importedBytes;
+    }
+
+    /**
+     * @return CRC32C of the imported bytes
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * @return header line of the file, {@code null} for headerless files
+     */
+    public String getHeaderLine() {
+        return headerLine;
+    }
+
+    /**
+     * @return latest imported timestamp, {@code null} if no row was imported
+     */
+    public Instant getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * @return time of the import
+     */
+    public Instant getImportedAt() {
+        return importedAt;
+    }
+}
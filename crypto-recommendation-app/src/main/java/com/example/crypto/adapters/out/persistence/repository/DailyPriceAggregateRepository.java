@@ -0,0 +1,56 @@
+package com.example.crypto.adapters.out.persistence.repository;
+
+import com.example.crypto.adapters.out.persistence.jpa.DailyPriceAggregateEntity;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolDayMinMaxProjection;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolMinMaxProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for accessing daily price rollups.
+ *
+ * <p>Aggregates over whole UTC days merge one row per symbol and day instead of scanning raw price points.
+ */
+public interface DailyPriceAggregateRepository extends JpaRepository<DailyPriceAggregateEntity, Long> {
+
+    /**
+     * Aggregates min and max price per symbol over a range of whole days.
+     *
+     * @param fromDay        inclusive first day
+     * @param toDayExclusive exclusive last day
+     * @return list of (symbol, minPrice, maxPrice)
+     */
+    @Query("""
+            select a.symbol as symbol,
+                   min(a.minPrice) as minPrice,
+                   max(a.maxPrice) as maxPrice
+            from DailyPriceAggregateEntity a
+            where a.day >= :fromDay and a.day < :toDay
+            group by a.symbol
+            """)
+    List<SymbolMinMaxProjection> findMinMaxBySymbolInDayRange(@Param("fromDay") LocalDate fromDay,
+                                                              @Param("toDay") LocalDate toDayExclusive);
+
+    /**
+     * Returns min and max price per symbol and day over a range of whole days.
+     *
+     * @param fromDay        inclusive first day
+     * @param toDayExclusive exclusive last day
+     * @return list of (symbol, day, minPrice, maxPrice), ordered by symbol and day
+     */
+    @Query("""
+            select a.symbol as symbol,
+                   floor(extract(epoch from a.day) / 86400) as epochDay,
+                   a.minPrice as minPrice,
+                   a.maxPrice as maxPrice
+            from DailyPriceAggregateEntity a
+            where a.day >= :fromDay and a.day < :toDay
+            order by a.symbol, a.day
+            """)
+    List<SymbolDayMinMaxProjection> findMinMaxBySymbolAndDayInDayRange(@Param("fromDay") LocalDate fromDay,
+                                                                      @Param("toDay") LocalDate toDayExclusive);
+}
@@ -0,0 +1,10 @@
+package com.example.crypto.adapters.out.persistence.repository;
+
+import com.example.crypto.adapters.out.persistence.jpa.ImportManifestEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository for the CSV import manifest, keyed by file name.
+ */
+public interface ImportManifestRepository extends JpaRepository<ImportManifestEntity, String> {
+}
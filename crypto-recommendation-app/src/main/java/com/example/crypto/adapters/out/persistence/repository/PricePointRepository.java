@@ -1,15 +1,23 @@
 package com.example.crypto.adapters.out.persistence.repository;
 
 import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.projection.PriceRowProjection;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolCatalogProjection;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolDayMinMaxProjection;
 import com.example.crypto.adapters.out.persistence.repository.projection.SymbolMinMaxProjection;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolRangeStatsProjection;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolStatsProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for accessing crypto price points.
@@ -28,6 +36,11 @@ public interface PricePointRepository extends JpaRepository<PricePointEntity, Lo
             """)
     List<String> findDistinctSymbols();
 
+    /**
+     * @return whether price points of {@code symbol} are stored (an index lookup by {@code idx_symbol_ts})
+     */
+    boolean existsBySymbol(String symbol);
+
     /**
      * @return the minimum timestamp across all stored price points.
      */
@@ -40,6 +53,36 @@ public interface PricePointRepository extends JpaRepository<PricePointEntity, Lo
     @Query("select max(p.timestamp) from PricePointEntity p")
     Optional<Instant> findMaxTimestamp();
 
+    /**
+     * Aggregates first/last timestamp, row count and latest price per symbol, in a single statement.
+     *
+     * <p>The latest price is a correlated lookup by the unique (symbol, timestamp) key.
+     *
+     * @return one row per symbol, ordered by symbol
+     */
+    @Query("""
+            select p.symbol as symbol,
+                   min(p.timestamp) as firstTimestamp,
+                   max(p.timestamp) as lastTimestamp,
+                   count(p) as rowCount,
+                   (select l.priceUsd
+                    from PricePointEntity l
+                    where l.symbol = p.symbol
+                      and l.timestamp = (select max(l2.timestamp)
+                                         from PricePointEntity l2
+                                         where l2.symbol = p.symbol)
+                   ) as latestPrice
+            from PricePointEntity p
+            group by p.symbol
+            order by p.symbol
+            """)
+    List<SymbolCatalogProjection> findCatalogBySymbol();
+
+    /**
+     * @return newest price point of a symbol
+     */
+    Optional<PricePointEntity> findFirstBySymbolOrderByTimestampDesc(String symbol);
+
     /**
      * Aggregates min and max price per symbol in a time range.
      *
@@ -57,6 +100,26 @@ public interface PricePointRepository extends JpaRepository<PricePointEntity, Lo
             """)
     List<SymbolMinMaxProjection> findMinMaxBySymbolInRange(@Param("from") Instant from, @Param("to") Instant to);
 
+    /**
+     * Aggregates min and max price per symbol and UTC day in a time range, in a single grouped statement.
+     *
+     * @param from inclusive lower bound
+     * @param to   exclusive upper bound
+     * @return list of (symbol, day, minPrice, maxPrice), ordered by symbol and day
+     */
+    @Query("""
+            select p.symbol as symbol,
+                   floor(extract(epoch from p.timestamp) / 86400) as epochDay,
+                   min(p.priceUsd) as minPrice,
+                   max(p.priceUsd) as maxPrice
+            from PricePointEntity p
+            where p.timestamp >= :from and p.timestamp < :to
+            group by p.symbol, floor(extract(epoch from p.timestamp) / 86400)
+            order by p.symbol, floor(extract(epoch from p.timestamp) / 86400)
+            """)
+    List<SymbolDayMinMaxProjection> findMinMaxBySymbolAndDayInRange(@Param("from") Instant from,
+                                                                    @Param("to") Instant to);
+
     /**
      * @return min price for a given symbol within a time range.
      */
@@ -82,6 +145,78 @@ public interface PricePointRepository extends JpaRepository<PricePointEntity, Lo
                                                       @Param("from") Instant from,
                                                       @Param("to") Instant to);
 
+    /**
+     * Aggregates min/max price together with the oldest and newest price point of a symbol in a time range,
+     * in a single statement.
+     *
+     * <p>Oldest/newest prices are correlated lookups by the unique (symbol, timestamp) key, so every part of the
+     * statement is served by {@code idx_symbol_ts}.
+     *
+     * @return one row; all values are {@code null} when the range contains no price points
+     */
+    @Query("""
+            select min(p.priceUsd) as minPrice,
+                   max(p.priceUsd) as maxPrice,
+                   min(p.timestamp) as oldestTimestamp,
+                   max(p.timestamp) as newestTimestamp,
+                   (select o.priceUsd
+                    from PricePointEntity o
+                    where o.symbol = :symbol
+                      and o.timestamp = (select min(o2.timestamp)
+                                         from PricePointEntity o2
+                                         where o2.symbol = :symbol and o2.timestamp >= :from and o2.timestamp < :to)
+                   ) as oldestPrice,
+                   (select n.priceUsd
+                    from PricePointEntity n
+                    where n.symbol = :symbol
+                      and n.timestamp = (select max(n2.timestamp)
+                                         from PricePointEntity n2
+                                         where n2.symbol = :symbol and n2.timestamp >= :from and n2.timestamp < :to)
+                   ) as newestPrice
+            from PricePointEntity p
+            where p.symbol = :symbol and p.timestamp >= :from and p.timestamp < :to
+            """)
+    Optional<SymbolStatsProjection> findStatsForSymbolInRange(@Param("symbol") String symbol,
+                                                             @Param("from") Instant from,
+                                                             @Param("to") Instant to);
+
+    /**
+     * Aggregates min/max price together with the oldest and newest price point of several symbols in a time range,
+     * grouped by symbol in a single statement.
+     *
+     * <p>Same shape as {@link #findStatsForSymbolInRange}, correlated on the symbol of the group.
+     *
+     * @return one row per symbol with price points in the range, ordered by symbol
+     */
+    @Query("""
+            select p.symbol as symbol,
+                   min(p.priceUsd) as minPrice,
+                   max(p.priceUsd) as maxPrice,
+                   min(p.timestamp) as oldestTimestamp,
+                   max(p.timestamp) as newestTimestamp,
+                   (select o.priceUsd
+                    from PricePointEntity o
+                    where o.symbol = p.symbol
+                      and o.timestamp = (select min(o2.timestamp)
+                                         from PricePointEntity o2
+                                         where o2.symbol = p.symbol and o2.timestamp >= :from and o2.timestamp < :to)
+                   ) as oldestPrice,
+                   (select n.priceUsd
+                    from PricePointEntity n
+                    where n.symbol = p.symbol
+                      and n.timestamp = (select max(n2.timestamp)
+                                         from PricePointEntity n2
+                                         where n2.symbol = p.symbol and n2.timestamp >= :from and n2.timestamp < :to)
+                   ) as newestPrice
+            from PricePointEntity p
+            where p.symbol in :symbols and p.timestamp >= :from and p.timestamp < :to
+            group by p.symbol
+            order by p.symbol
+            """)
+    List<SymbolRangeStatsProjection> findStatsBySymbolInRange(@Param("symbols") Collection<String> symbols,
+                                                              @Param("from") Instant from,
+                                                              @Param("to") Instant to);
+
     /**
      * @return oldest (earliest) price point for a symbol within a time range.
      */
@@ -93,4 +228,63 @@ public interface PricePointRepository extends JpaRepository<PricePointEntity, Lo
      */
     Optional<PricePointEntity> findFirstBySymbolAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(
             String symbol, Instant fromInclusive, Instant toExclusive);
+
+    /**
+     * @return price points of a symbol within a time range, ordered by timestamp
+     */
+    @Query("""
+            select p.symbol as symbol,
+                   p.timestamp as timestamp,
+                   p.priceUsd as priceUsd
+            from PricePointEntity p
+            where p.symbol = :symbol and p.timestamp >= :from and p.timestamp < :to
+            order by p.timestamp
+            """)
+    List<PriceRowProjection> findPricesBySymbolInRange(@Param("symbol") String symbol,
+                                                       @Param("from") Instant from,
+                                                       @Param("to") Instant to);
+
+    /**
+     * Streams the price points of all symbols within a time range, ordered by symbol and timestamp.
+     *
+     * <p>Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("""
+            select p.symbol as symbol,
+                   p.timestamp as timestamp,
+                   p.priceUsd as priceUsd
+            from PricePointEntity p
+            where p.timestamp >= :from and p.timestamp < :to
+            order by p.symbol, p.timestamp
+            """)
+    Stream<PriceRowProjection> streamPricesInRange(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Streams all price points ordered by symbol and timestamp.
+     *
+     * <p>Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("""
+            select p.symbol as symbol,
+                   p.timestamp as timestamp,
+                   p.priceUsd as priceUsd
+            from PricePointEntity p
+            order by p.symbol, p.timestamp
+            """)
+    Stream<PriceRowProjection> streamAllOrderBySymbolAndTimestamp();
+
+    /**
+     * @return highest id assigned so far (ids are assigned in insertion order)
+     */
+    @Query("select max(p.id) from PricePointEntity p")
+    Optional<Long> findMaxId();
+
+    /**
+     * Deletes all price points inserted after the one with the given id. Must run inside a transaction.
+     *
+     * @return number of deleted price points
+     */
+    @Modifying
+    @Query("delete from PricePointEntity p where p.id > :id")
+    int deleteByIdGreaterThan(@Param("id") long id);
 }
@@ -0,0 +1,25 @@
+package com.example.crypto.adapters.out.persistence.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Projection of a raw price point without entity management overhead.
+ */
+public interface PriceRowProjection {
+
+    /**
+     * @return crypto symbol
+     */
+    String getSymbol();
+
+    /**
+     * @return timestamp (UTC)
+     */
+    Instant getTimestamp();
+
+    /**
+     * @return price in USD
+     */
+    BigDecimal getPriceUsd();
+}
@@ -0,0 +1,35 @@
+package com.example.crypto.adapters.out.persistence.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Projection for the per-symbol dataset metadata query.
+ */
+public interface SymbolCatalogProjection {
+
+    /**
+     * @return crypto symbol
+     */
+    String getSymbol();
+
+    /**
+     * @return timestamp of the oldest price point
+     */
+    Instant getFirstTimestamp();
+
+    /**
+     * @return timestamp of the newest price point
+     */
+    Instant getLastTimestamp();
+
+    /**
+     * @return number of price points
+     */
+    long getRowCount();
+
+    /**
+     * @return price of the newest price point
+     */
+    BigDecimal getLatestPrice();
+}
@@ -0,0 +1,12 @@
+package com.example.crypto.adapters.out.persistence.repository.projection;
+
+/**
+ * Projection for min/max aggregation queries grouped by symbol and UTC day.
+ */
+public interface SymbolDayMinMaxProjection extends SymbolMinMaxProjection {
+
+    /**
+     * @return UTC day of the aggregated price points, as days since 1970-01-01
+     */
+    Number getEpochDay();
+}
@@ -0,0 +1,13 @@
+package com.example.crypto.adapters.out.persistence.repository.projection;
+
+/**
+ * Projection for the grouped stats aggregate of several symbols in a time range: one row per symbol that has
+ * price points in the range.
+ */
+public interface SymbolRangeStatsProjection extends SymbolStatsProjection {
+
+    /**
+     * @return crypto symbol
+     */
+    String getSymbol();
+}
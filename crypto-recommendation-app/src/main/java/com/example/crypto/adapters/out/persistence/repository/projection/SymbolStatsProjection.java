@@ -0,0 +1,42 @@
+package com.example.crypto.adapters.out.persistence.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Projection for the single-statement stats aggregate of one symbol in a time range.
+ *
+ * <p>All values are {@code null} when the range contains no price points.
+ */
+public interface SymbolStatsProjection {
+
+    /**
+     * @return aggregated minimum price
+     */
+    BigDecimal getMinPrice();
+
+    /**
+     * @return aggregated maximum price
+     */
+    BigDecimal getMaxPrice();
+
+    /**
+     * @return timestamp of the oldest price point
+     */
+    Instant getOldestTimestamp();
+
+    /**
+     * @return price of the oldest price point
+     */
+    BigDecimal getOldestPrice();
+
+    /**
+     * @return timestamp of the newest price point
+     */
+    Instant getNewestTimestamp();
+
+    /**
+     * @return price of the newest price point
+     */
+    BigDecimal getNewestPrice();
+}
@@ -0,0 +1,156 @@
+package com.example.crypto.adapters.out.persistence.rollup;
+
+import com.example.crypto.adapters.out.persistence.jpa.DailyPriceAggregateEntity;
+import com.example.crypto.adapters.out.persistence.repository.DailyPriceAggregateRepository;
+import com.example.crypto.domain.model.TimeRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the {@code daily_price_aggregates} rollup table.
+ *
+ * <p>The importer feeds every imported price point into an {@link Accumulator} and replaces the rollups once the
+ * import succeeded. Rollups are only reported as {@link #isReady() ready} after they were written or verified by
+ * the importer, so price points inserted by other means never get answered from stale rollups.
+ */
+@Component
+public class DailyRollupMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyRollupMaintainer.class);
+
+    private final DailyPriceAggregateRepository repository;
+    private volatile boolean ready;
+
+    public DailyRollupMaintainer(DailyPriceAggregateRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @return whether rollups are consistent with the imported price points
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return whether rollups were already persisted (e.g. by a previous run on a persistent database)
+     */
+    public boolean hasRollups() {
+        return repository.count() > 0;
+    }
+
+    /**
+     * Marks already persisted rollups as consistent with the imported price points.
+     */
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Removes all persisted rollups. Must run inside a transaction.
+     */
+    public void clear() {
+        repository.deleteAllInBatch();
+        this.ready = false;
+    }
+
+    /**
+     * Creates an accumulator collecting price points into daily rollups.
+     */
+    public Accumulator newAccumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * Replaces all persisted rollups by the accumulated ones. Must run inside a transaction.
+     */
+    public void replaceAll(Accumulator accumulator) {
+        long startNanos = System.nanoTime();
+
+        repository.deleteAllInBatch();
+        repository.saveAll(accumulator.toEntities());
+        repository.flush();
+        this.ready = true;
+
+        long tookMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Daily rollups written: rows={} in {} ms.", accumulator.days.size(), tookMs);
+    }
+
+    private record DayKey(String symbol, LocalDate day) {
+    }
+
+    /**
+     * Collects price points into one rollup per symbol and UTC day.
+     *
+     * <p>Not thread-safe; intended to be used by a single import thread. Input does not have to be sorted.
+     */
+    public static final class Accumulator {
+
+        private final Map<DayKey, Day> days = new HashMap<>();
+
+        private Accumulator() {
+        }
+
+        /**
+         * Adds a price point.
+         */
+        public void add(String symbol, Instant timestamp, BigDecimal priceUsd) {
+            var day = LocalDate.ofInstant(timestamp, TimeRange.DEFAULT_ZONE);
+            days.computeIfAbsent(new DayKey(symbol, day), k -> new Day()).add(timestamp, priceUsd);
+        }
+
+        private List<DailyPriceAggregateEntity> toEntities() {
+            List<DailyPriceAggregateEntity> entities = new ArrayList<>(days.size());
+            days.forEach((key, d) -> entities.add(new DailyPriceAggregateEntity(key.symbol(), key.day(),
+                    d.min, d.max, d.firstTimestamp, d.firstPrice, d.lastTimestamp, d.lastPrice, d.count)));
+
+            return entities;
+        }
+    }
+
+    private static final class Day {
+        private BigDecimal min;
+        private BigDecimal max;
+        private Instant firstTimestamp;
+        private BigDecimal firstPrice;
+        private Instant lastTimestamp;
+        private BigDecimal lastPrice;
+        private long count;
+
+        void add(Instant timestamp, BigDecimal price) {
+            if (count == 0) {
+                min = price;
+                max = price;
+                firstTimestamp = timestamp;
+                firstPrice = price;
+                lastTimestamp = timestamp;
+                lastPrice = price;
+            } else {
+                if (price.compareTo(min) < 0) {
+                    min = price;
+                }
+                if (price.compareTo(max) > 0) {
+                    max = price;
+                }
+                if (timestamp.isBefore(firstTimestamp)) {
+                    firstTimestamp = timestamp;
+                    firstPrice = price;
+                }
+                if (!timestamp.isBefore(lastTimestamp)) {
+                    lastTimestamp = timestamp;
+                    lastPrice = price;
+                }
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.crypto.adapters.out.persistence.writer;
+
+import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes price points with batched {@code MERGE} statements, so points already stored under the same
+ * {@code (symbol, timestamp)} ({@code uk_symbol_ts}) replace the stored price instead of failing the import.
+ *
+ * <p>Within a batch, points are de-duplicated per symbol with a primitive hash set of timestamps; the last point
+ * of a key wins, like it would when writing the points one by one. Before merging, the stored timestamps of the
+ * batch's symbols and time span are read once, so every point can be reported as inserted, updated or skipped
+ * (duplicate within the batch, or stored with the same price).
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.import", name = "writer", havingValue = "upsert")
+public class JdbcPricePointUpsertWriter implements PricePointWriter {
+
+    private static final String MERGE_SQL = """
+            merge into price_points p
+            using (values (?, ?, ?)) s(symbol, ts, price)
+            on p.symbol = s.symbol and p.timestamp = s.ts
+            when matched and p.price_usd <> s.price then
+                update set price_usd = s.price
+            when not matched then
+                insert (symbol, timestamp, price_usd) values (s.symbol, s.ts, s.price)
+            """;
+
+    private static final String EXISTING_SQL = """
+            select timestamp from price_points
+            where symbol = ? and timestamp >= ? and timestamp <= ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcPricePointUpsertWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public WriteResult write(List<PricePointEntity> points) {
+        if (points.isEmpty()) {
+            return WriteResult.NONE;
+        }
+
+        List<PricePointEntity> unique = lastPerKey(points);
+        Map<String, LongHashSet> existing = existingKeys(unique);
+
+        int[][] counts = jdbcTemplate.batchUpdate(MERGE_SQL, unique, unique.size(), (ps, p) -> {
+            ps.setString(1, p.getSymbol());
+            ps.setObject(2, p.getTimestamp().atOffset(ZoneOffset.UTC));
+            ps.setBigDecimal(3, p.getPriceUsd());
+        });
+
+        long inserted = 0;
+        long updated = 0;
+        long skipped = points.size() - unique.size();
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                PricePointEntity p = unique.get(i++);
+                if (count == 0) {
+                    skipped++;
+                } else if (existing.get(p.getSymbol()).contains(key(p.getTimestamp()))) {
+                    updated++;
+                } else {
+                    inserted++;
+                }
+            }
+        }
+        return new WriteResult(inserted, updated, skipped);
+    }
+
+    /**
+     * @return the points without duplicate keys, keeping the last point of every key, in their original order
+     */
+    private static List<PricePointEntity> lastPerKey(List<PricePointEntity> points) {
+        Map<String, LongHashSet> seen = new HashMap<>();
+        List<PricePointEntity> unique = new ArrayList<>(points.size());
+
+        for (int i = points.size() - 1; i >= 0; i--) {
+            PricePointEntity p = points.get(i);
+            if (seen.computeIfAbsent(p.getSymbol(), s -> new LongHashSet(points.size())).add(key(p.getTimestamp()))) {
+                unique.add(p);
+            }
+        }
+        Collections.reverse(unique);
+        return unique;
+    }
+
+    /**
+     * Reads the stored timestamps of every symbol of the batch within the batch's time span of that symbol.
+     */
+    private Map<String, LongHashSet> existingKeys(List<PricePointEntity> points) {
+        Map<String, Instant[]> spans = new HashMap<>();
+        for (PricePointEntity p : points) {
+            Instant[] span = spans.computeIfAbsent(p.getSymbol(), s -> new Instant[]{p.getTimestamp(), p.getTimestamp()});
+            if (p.getTimestamp().isBefore(span[0])) {
+                span[0] = p.getTimestamp();
+            }
+            if (p.getTimestamp().isAfter(span[1])) {
+                span[1] = p.getTimestamp();
+            }
+        }
+
+        Map<String, LongHashSet> existing = new HashMap<>();
+        spans.forEach((symbol, span) -> {
+            LongHashSet keys = new LongHashSet(16);
+            jdbcTemplate.query(EXISTING_SQL,
+                    rs -> {
+                        keys.add(key(rs.getObject(1, OffsetDateTime.class).toInstant()));
+                    },
+                    symbol, span[0].atOffset(ZoneOffset.UTC), span[1].atOffset(ZoneOffset.UTC));
+            existing.put(symbol, keys);
+        });
+        return existing;
+    }
+
+    /**
+     * @return timestamp in epoch microseconds, the precision of the {@code timestamp} column
+     */
+    private static long key(Instant timestamp) {
+        return Math.addExact(Math.multiplyExact(timestamp.getEpochSecond(), 1_000_000L), timestamp.getNano() / 1_000);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.crypto.adapters.out.persistence.writer;
+
+import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writes price points with plain JDBC batch inserts, bypassing the persistence context.
+ *
+ * <p>A whole batch is sent as one {@link java.sql.PreparedStatement} batch; ids are generated by the
+ * database identity column, so nothing has to be read back.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.import", name = "writer", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcPricePointWriter implements PricePointWriter {
+
+    private static final String INSERT_SQL =
+            "insert into price_points (symbol, timestamp, price_usd) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcPricePointWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public WriteResult write(List<PricePointEntity> points) {
+        if (points.isEmpty()) {
+            return WriteResult.NONE;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, points, points.size(), (ps, p) -> {
+            ps.setString(1, p.getSymbol());
+            ps.setObject(2, p.getTimestamp().atOffset(ZoneOffset.UTC));
+            ps.setBigDecimal(3, p.getPriceUsd());
+        });
+        return WriteResult.inserted(points.size());
+    }
+}
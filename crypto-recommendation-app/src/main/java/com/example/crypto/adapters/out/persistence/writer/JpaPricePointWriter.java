@@ -0,0 +1,32 @@
+package com.example.crypto.adapters.out.persistence.writer;
+
+import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes price points through the JPA repository.
+ *
+ * <p>{@link PricePointEntity} uses {@code IDENTITY} ids, so Hibernate inserts every entity with its own
+ * statement (JDBC batching is disabled for identity ids). Prefer {@link JdbcPricePointWriter} for bulk loads.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.import", name = "writer", havingValue = "jpa")
+public class JpaPricePointWriter implements PricePointWriter {
+
+    private final PricePointRepository repository;
+
+    public JpaPricePointWriter(PricePointRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public WriteResult write(List<PricePointEntity> points) {
+        repository.saveAll(points);
+        repository.flush();
+        return WriteResult.inserted(points.size());
+    }
+}
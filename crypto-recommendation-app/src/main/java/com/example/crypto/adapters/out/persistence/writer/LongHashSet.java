@@ -0,0 +1,94 @@
+package com.example.crypto.adapters.out.persistence.writer;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing hash set of primitive {@code long}s (no boxing).
+ *
+ * <p>Not thread-safe.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final double MAX_LOAD = 0.5;
+
+    private long[] slots;
+    private int mask;
+    private int size;
+    private boolean containsEmpty;
+
+    /**
+     * @param expectedSize number of elements the set should hold without resizing
+     */
+    LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * @return {@code true} if the value was not contained yet
+     */
+    boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+
+        int i = indexOf(value);
+        if (slots[i] == value) {
+            return false;
+        }
+        slots[i] = value;
+        if (++size > slots.length * MAX_LOAD) {
+            rehash();
+        }
+        return true;
+    }
+
+    boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmpty;
+        }
+        return slots[indexOf(value)] == value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return slot holding {@code value}, or the empty slot where it would be inserted
+     */
+    private int indexOf(long value) {
+        int i = mix(value) & mask;
+        while (slots[i] != EMPTY && slots[i] != value) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void rehash() {
+        long[] old = slots;
+        allocate(old.length << 1);
+        for (long value : old) {
+            if (value != EMPTY) {
+                slots[indexOf(value)] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
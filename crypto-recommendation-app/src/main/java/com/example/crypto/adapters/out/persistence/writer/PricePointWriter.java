@@ -0,0 +1,47 @@
+package com.example.crypto.adapters.out.persistence.writer;
+
+import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+
+import java.util.List;
+
+/**
+ * Writes batches of price points into {@code price_points}.
+ *
+ * <p>Selected by {@code app.import.writer}. Implementations must be called inside a transaction; the caller
+ * decides how many batches are committed together.
+ */
+public interface PricePointWriter {
+
+    /**
+     * Writes the given (not yet persisted) price points.
+     *
+     * @return what happened to the points
+     */
+    WriteResult write(List<PricePointEntity> points);
+
+    /**
+     * Outcome of writing price points.
+     *
+     * @param inserted number of new price points
+     * @param updated  number of existing price points whose price was replaced
+     * @param skipped  number of price points not written (duplicates within the batch or unchanged prices)
+     */
+    record WriteResult(long inserted, long updated, long skipped) {
+
+        public static final WriteResult NONE = new WriteResult(0, 0, 0);
+
+        /**
+         * @return result of inserting {@code count} new price points
+         */
+        public static WriteResult inserted(long count) {
+            return new WriteResult(count, 0, 0);
+        }
+
+        /**
+         * @return sum of both results
+         */
+        public WriteResult plus(WriteResult other) {
+            return new WriteResult(inserted + other.inserted, updated + other.updated, skipped + other.skipped);
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.crypto.application.service;
 
+import com.example.crypto.adapters.out.memory.DatasetCatalog;
+import com.example.crypto.adapters.out.memory.PriceSeries;
+import com.example.crypto.adapters.out.memory.PriceSeriesStore;
+import com.example.crypto.adapters.out.memory.SlidingWindowMinMax;
+import com.example.crypto.adapters.out.persistence.repository.DailyPriceAggregateRepository;
 import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolDayMinMaxProjection;
 import com.example.crypto.adapters.out.persistence.repository.projection.SymbolMinMaxProjection;
+import com.example.crypto.adapters.out.persistence.rollup.DailyRollupMaintainer;
 import com.example.crypto.config.CacheConfig;
 import com.example.crypto.domain.exception.NoDataForDayException;
 import com.example.crypto.domain.exception.NoDataForRangeException;
 import com.example.crypto.domain.exception.UnsupportedCryptoException;
 import com.example.crypto.domain.model.CryptoStats;
 import com.example.crypto.domain.model.PricePoint;
+import com.example.crypto.domain.model.PriceRange;
 import com.example.crypto.domain.model.TimeRange;
 import com.example.crypto.domain.service.NormalizedRangeCalculator;
 import org.slf4j.Logger;
@@ -17,29 +25,60 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 /**
  * Application service exposing crypto statistics and recommendations.
  *
- * <p>All computations are based on price points already imported into the database at startup.
+ * <p>All computations are based on price points already imported at startup. Queries are answered from the
+ * in-memory {@link PriceSeriesStore} once it is loaded, otherwise from the database. On the database path,
+ * per-symbol min/max over whole days is merged from the daily rollup table instead of scanning raw ticks.
+ * Supported symbols, the default range and latest prices come from the {@link DatasetCatalog} once the import
+ * has published it.
+ *
+ * <p>Results are cached with {@code sync = true}: concurrent callers missing the same key share one computation.
  */
 @Service
 @Transactional(readOnly = true)
 public class CryptoRecommendationService {
 
     private static final Logger log = LoggerFactory.getLogger(CryptoRecommendationService.class);
-
+    private static final NormalizedRangeCalculator RANGE_CALCULATOR = new NormalizedRangeCalculator();
+    private static final int MAX_SERIES_WINDOWS = 1_000;
+    private static final Comparator<WindowCandidate> WINDOW_RANKING =
+            Comparator.<WindowCandidate, PriceRange>comparing(WindowCandidate::range, RANGE_CALCULATOR::compare)
+                    .reversed()
+                    .thenComparing(w -> w.series().symbol())
+                    .thenComparingLong(WindowCandidate::fromMillis);
 
     private final PricePointRepository repo;
-    private final NormalizedRangeCalculator rangeCalculator = new NormalizedRangeCalculator();
+    private final PriceSeriesStore store;
+    private final DatasetCatalog catalog;
+    private final DailyPriceAggregateRepository dailyRepo;
+    private final DailyRollupMaintainer rollups;
 
-    public CryptoRecommendationService(PricePointRepository repo) {
+    public CryptoRecommendationService(PricePointRepository repo, PriceSeriesStore store, DatasetCatalog catalog,
+                                       DailyPriceAggregateRepository dailyRepo, DailyRollupMaintainer rollups) {
         this.repo = repo;
+        this.store = store;
+        this.catalog = catalog;
+        this.dailyRepo = dailyRepo;
+        this.rollups = rollups;
     }
 
     /**
@@ -48,9 +87,10 @@ public class CryptoRecommendationService {
      * <p>Result is cached to avoid repeated DB queries.
      */
 
-    @Cacheable(cacheNames = CacheConfig.CACHE_SUPPORTED)
+    @Cacheable(cacheNames = CacheConfig.CACHE_SUPPORTED, sync = true)
     public List<String> supportedSymbols() {
-        var symbols = repo.findDistinctSymbols();
+        var symbols = catalog.isLoaded() ? catalog.registry().symbols()
+                : store.isLoaded() ? store.symbols() : repo.findDistinctSymbols();
         log.info("Supported symbols loaded: count={}", symbols.size());
         return symbols;
     }
@@ -65,7 +105,7 @@ public class CryptoRecommendationService {
      * </ul>
      */
     public TimeRange resolveRange(LocalDate from, LocalDate to) {
-        log.info("Resolving time range: from={} to={}", from, to);
+        log.debug("Resolving time range: from={} to={}", from, to);
 
         // - if only one boundary is provided, treat it as a single-day range
         // - if both are provided, validate via TimeRange.of(from, to)
@@ -81,11 +121,13 @@ public class CryptoRecommendationService {
             return TimeRange.of(from, to);
         }
 
-        // By default whole available dataset range in DB
-        Instant min = repo.findMinTimestamp()
+        // By default whole available dataset range
+        Instant min = (catalog.isLoaded() ? catalog.firstTimestamp()
+                : store.isLoaded() ? store.minTimestamp() : repo.findMinTimestamp())
                 .orElseThrow(() -> new NoDataForRangeException("ALL", Instant.EPOCH, Instant.EPOCH));
 
-        Instant max = repo.findMaxTimestamp()
+        Instant max = (catalog.isLoaded() ? catalog.lastTimestamp()
+                : store.isLoaded() ? store.maxTimestamp() : repo.findMaxTimestamp())
                 .orElseThrow(() -> new NoDataForRangeException("ALL", Instant.EPOCH, Instant.EPOCH));
 
         // make toExclusive safely beyond max
@@ -98,83 +140,527 @@ public class CryptoRecommendationService {
      * <p>Normalized range = (max - min) / min.
      */
     @Cacheable(cacheNames = CacheConfig.CACHE_RECOMMENDATIONS,
-            key = "#p0.fromInclusive().toString() + '|' + #p0.toExclusive().toString()")
+            key = "T(com.example.crypto.adapters.out.cache.RangeKey).of(#p0)", sync = true)
     public List<RecommendationRow> recommendations(TimeRange range) {
         log.info("Calculating recommendations for range: {} -> {}", range.fromInclusive(), range.toExclusive());
 
-        List<SymbolMinMaxProjection> rows = repo.findMinMaxBySymbolInRange(range.fromInclusive(), range.toExclusive());
+        List<SymbolMinMax> rows = minMaxBySymbol(range);
         if (rows.isEmpty()) {
             throw new NoDataForRangeException("ALL", range.fromInclusive(), range.toExclusive());
         }
 
-        return rows.stream()
-                .map(r -> {
-                    BigDecimal normalized = rangeCalculator.calculate(r.getMinPrice(), r.getMaxPrice());
+        List<RecommendationRow> ranked = new ArrayList<>(rows.size());
+        for (SymbolMinMax r : rows) {
+            ranked.add(new RecommendationRow(r.symbol(), RANGE_CALCULATOR.requireValid(r.range())));
+        }
+        // stable sort, rows with equal normalized range keep their order
+        ranked.sort((a, b) -> RANGE_CALCULATOR.compare(b.range(), a.range()));
+
+        return List.copyOf(ranked);
+    }
+
+    /**
+     * Returns the {@code limit} cryptos with the highest normalized range in the given time range, ranked like
+     * {@link #recommendations(TimeRange)}.
+     *
+     * <p>Selected with a bounded heap in O(n log limit) instead of sorting all symbols; the ranked prefix is cached
+     * per range and limit.
+     */
+    @Cacheable(cacheNames = CacheConfig.CACHE_RECOMMENDATIONS,
+            key = "T(com.example.crypto.adapters.out.cache.RangeKey).top(#p0, #p1)", sync = true)
+    public List<RecommendationRow> topRecommendations(TimeRange range, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        log.info("Calculating top {} recommendations for range: {} -> {}", limit, range.fromInclusive(),
+                range.toExclusive());
+
+        List<SymbolMinMax> rows = minMaxBySymbol(range);
+        if (rows.isEmpty()) {
+            throw new NoDataForRangeException("ALL", range.fromInclusive(), range.toExclusive());
+        }
+        return selectTop(rows, limit);
+    }
+
+    /**
+     * Ranks cryptos by normalized range in consecutive windows of {@code step} covering the days of the given
+     * range, e.g. the best crypto of every day of a quarter.
+     *
+     * <p>Computed in one pass: a sweep over the in-memory series, otherwise a single statement grouped by symbol
+     * and UTC day (daily rollups when ready) whose rows are merged into the windows. Windows start at the first day
+     * of the range, the last one is cut at its end; windows without price points are left out.
+     *
+     * @param step  window length in days, weeks or months
+     * @param limit number of top-ranked cryptos per window
+     */
+    public List<RankedWindow> recommendationSeries(TimeRange range, Period step, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (step.isZero() || step.isNegative()) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        LocalDate first = LocalDate.ofInstant(range.fromInclusive(), TimeRange.DEFAULT_ZONE);
+        LocalDate end = LocalDate.ofInstant(range.toExclusive().minusMillis(1), TimeRange.DEFAULT_ZONE).plusDays(1);
+
+        // window i covers [starts[i], starts[i + 1]); the last bound is the end of the range
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate start = first; start.isBefore(end); start = first.plus(step.multipliedBy(starts.size()))) {
+            if (starts.size() == MAX_SERIES_WINDOWS) {
+                throw new IllegalArgumentException("at most " + MAX_SERIES_WINDOWS + " windows per series");
+            }
+            starts.add(start);
+        }
+        starts.add(end);
+        log.info("Calculating recommendation series for {} -> {} step={} windows={}", first, end, step,
+                starts.size() - 1);
+
+        List<List<SymbolMinMax>> windows = store.isLoaded() ? windowsFromStore(starts) : windowsFromDb(starts);
+
+        List<RankedWindow> series = new ArrayList<>();
+        for (int i = 0; i < windows.size(); i++) {
+            if (!windows.get(i).isEmpty()) {
+                series.add(new RankedWindow(starts.get(i), starts.get(i + 1).minusDays(1),
+                        selectTop(windows.get(i), limit)));
+            }
+        }
+        if (series.isEmpty()) {
+            throw new NoDataForRangeException("ALL", range.fromInclusive(), range.toExclusive());
+        }
+        return series;
+    }
+
+    /**
+     * Returns the {@code limit} windows of {@code days} days with the highest normalized range of a crypto within
+     * the given time range, e.g. its most volatile week of a year.
+     *
+     * <p>A window starts at every price point and has to end within the range. The series is swept once with
+     * {@link SlidingWindowMinMax} in O(n); windows sharing their lowest and highest price point are reported once.
+     */
+    public List<PriceWindow> topWindows(String symbol, TimeRange range, int days, int limit) {
+        String sym = normalize(symbol);
+        if (sym == null || sym.isBlank()) {
+            throw new UnsupportedCryptoException("");
+        }
+        long lengthMillis = windowLengthMillis(days);
+        log.info("Finding top {} {}-day windows for symbol={} range={} -> {}", limit, days, sym,
+                range.fromInclusive(), range.toExclusive());
+
+        PriceSeries series;
+        if (store.isLoaded()) {
+            series = store.series(sym).orElseThrow(() -> new UnsupportedCryptoException(sym));
+        } else {
+            series = seriesFromDb(sym, range).orElseThrow(() -> {
+                ensureSupported(sym);
+                return new NoDataForRangeException(sym, range.fromInclusive(), range.toExclusive());
+            });
+        }
 
-                    return new RecommendationRow(r.getSymbol(), r.getMinPrice(), r.getMaxPrice(), normalized);
-                })
-                .sorted(Comparator.comparing(RecommendationRow::normalizedRange).reversed())
+        List<PriceWindow> windows = topWindowsOf(series, range, lengthMillis, limit).stream()
+                .map(w -> w.toWindow(lengthMillis))
+                .toList();
+        if (windows.isEmpty()) {
+            throw new NoDataForRangeException(sym, range.fromInclusive(), range.toExclusive());
+        }
+        return windows;
+    }
+
+    /**
+     * Returns the {@code limit} windows of {@code days} days with the highest normalized range across all cryptos,
+     * like {@link #topWindows(String, TimeRange, int, int)}. The in-memory series are swept in parallel.
+     *
+     * <p>Without the in-memory engine the price points of the range are streamed from the database and every
+     * series is swept as soon as it is complete, so only one series is held at a time (plus the ones of the
+     * selected windows); the query still reads every price point of the range.
+     */
+    public List<PriceWindow> topWindows(TimeRange range, int days, int limit) {
+        long lengthMillis = windowLengthMillis(days);
+        log.info("Finding top {} {}-day windows for range={} -> {}", limit, days, range.fromInclusive(),
+                range.toExclusive());
+
+        TopK<WindowCandidate> top = new TopK<>(limit, WINDOW_RANKING);
+        if (store.isLoaded()) {
+            top.offerAll(store.allSeries().parallelStream()
+                    .flatMap(s -> topWindowsOf(s, range, lengthMillis, limit).stream())
+                    .toList());
+        } else {
+            forEachSeriesFromDb(range, s -> top.offerAll(topWindowsOf(s, range, lengthMillis, limit)));
+        }
+        List<PriceWindow> windows = top.toList().stream()
+                .map(w -> w.toWindow(lengthMillis))
                 .toList();
+        if (windows.isEmpty()) {
+            throw new NoDataForRangeException("ALL", range.fromInclusive(), range.toExclusive());
+        }
+        return windows;
     }
 
     /**
      * Returns oldest/newest/min/max and normalized range for a requested crypto in the given time range.
      */
     @Cacheable(cacheNames = CacheConfig.CACHE_STATS,
-            key = "#p0 + '|' + #p1.fromInclusive().toString() + '|' + #p1.toExclusive().toString()")
+            key = "T(com.example.crypto.adapters.out.cache.RangeKey).of(#p0, #p1)", sync = true)
     public CryptoStats stats(String symbol, TimeRange range) {
         log.info("Calculating stats for symbol={} range={} -> {}", symbol, range.fromInclusive(), range.toExclusive());
 
         String sym = normalize(symbol);
-        ensureSupported(sym);
+        if (sym == null || sym.isBlank()) {
+            throw new UnsupportedCryptoException("");
+        }
 
-        var min = repo.findMinPriceForSymbolInRange(sym, range.fromInclusive(), range.toExclusive())
-                .orElseThrow(() -> new NoDataForRangeException(sym, range.fromInclusive(), range.toExclusive()));
-        var max = repo.findMaxPriceForSymbolInRange(sym, range.fromInclusive(), range.toExclusive())
-                .orElseThrow(() -> new NoDataForRangeException(sym, range.fromInclusive(), range.toExclusive()));
+        if (store.isLoaded()) {
+            return statsFromStore(sym, range);
+        }
 
-        var oldest = repo.findFirstBySymbolAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAsc(
-                        sym, range.fromInclusive(), range.toExclusive())
-                .orElseThrow(() -> new NoDataForRangeException(sym, range.fromInclusive(), range.toExclusive()));
+        // single round trip; symbol support is only checked when the range turned out to be empty
+        var row = repo.findStatsForSymbolInRange(sym, range.fromInclusive(), range.toExclusive())
+                .filter(r -> r.getMinPrice() != null)
+                .orElse(null);
 
-        var newest = repo.findFirstBySymbolAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(
-                        sym, range.fromInclusive(), range.toExclusive())
-                .orElseThrow(() -> new NoDataForRangeException(sym, range.fromInclusive(), range.toExclusive()));
+        if (row == null) {
+            ensureSupported(sym);
+            throw new NoDataForRangeException(sym, range.fromInclusive(), range.toExclusive());
+        }
 
-        var normalized = rangeCalculator.calculate(min, max);
+        var normalized = RANGE_CALCULATOR.calculate(row.getMinPrice(), row.getMaxPrice());
 
-        return new CryptoStats(sym, new PricePoint(oldest.getTimestamp(), oldest.getPriceUsd()),
-                new PricePoint(newest.getTimestamp(), newest.getPriceUsd()), min, max, normalized
+        return new CryptoStats(sym, new PricePoint(row.getOldestTimestamp(), row.getOldestPrice()),
+                new PricePoint(row.getNewestTimestamp(), row.getNewestPrice()), row.getMinPrice(), row.getMaxPrice(),
+                normalized
         );
     }
 
 
+    /**
+     * Returns oldest/newest/min/max and normalized range for several cryptos in the given time range, computed in
+     * one grouped pass (one statement on the database path).
+     *
+     * <p>Symbols without price points in the range are left out.
+     *
+     * @param symbols requested symbols, {@code null} for all supported symbols
+     * @return stats ordered by symbol
+     * @throws UnsupportedCryptoException if a requested symbol is not supported
+     * @throws NoDataForRangeException    if none of the symbols has price points in the range
+     */
+    public List<CryptoStats> statsBySymbol(Collection<String> symbols, TimeRange range) {
+        Set<String> requested = new TreeSet<>();
+        if (symbols == null) {
+            requested.addAll(catalog.isLoaded() ? catalog.registry().symbols()
+                    : store.isLoaded() ? store.symbols() : repo.findDistinctSymbols());
+        } else {
+            for (String symbol : symbols) {
+                String sym = normalize(symbol);
+                if (sym == null || sym.isBlank()) {
+                    throw new UnsupportedCryptoException("");
+                }
+                requested.add(sym);
+            }
+        }
+        log.info("Calculating stats for symbols={} range={} -> {}", requested.size(), range.fromInclusive(),
+                range.toExclusive());
+
+        List<CryptoStats> result = new ArrayList<>(requested.size());
+        if (store.isLoaded()) {
+            for (String sym : requested) {
+                PriceSeries series = store.series(sym).orElseThrow(() -> new UnsupportedCryptoException(sym));
+                CryptoStats stats = statsOf(series, range);
+                if (stats != null) {
+                    result.add(stats);
+                }
+            }
+        } else if (!requested.isEmpty()) {
+            Set<String> missing = new TreeSet<>(requested);
+            for (var row : repo.findStatsBySymbolInRange(requested, range.fromInclusive(), range.toExclusive())) {
+                missing.remove(row.getSymbol());
+                result.add(new CryptoStats(row.getSymbol(),
+                        new PricePoint(row.getOldestTimestamp(), row.getOldestPrice()),
+                        new PricePoint(row.getNewestTimestamp(), row.getNewestPrice()), row.getMinPrice(),
+                        row.getMaxPrice(), RANGE_CALCULATOR.calculate(row.getMinPrice(), row.getMaxPrice())));
+            }
+            // symbols without rows are either unsupported or have no data in the range
+            missing.forEach(this::ensureSupported);
+        }
+
+        if (result.isEmpty()) {
+            throw new NoDataForRangeException(symbols == null ? "ALL" : String.join(",", requested),
+                    range.fromInclusive(), range.toExclusive());
+        }
+        return result;
+    }
+
     /**
      * Returns the crypto with the highest normalized range for a specific day.
      */
-    @Cacheable(cacheNames = CacheConfig.CACHE_BEST_DAY, key = "#p0.toString()")
+    @Cacheable(cacheNames = CacheConfig.CACHE_BEST_DAY,
+            key = "T(com.example.crypto.adapters.out.cache.RangeKey).of(#p0)", sync = true)
     public BestForDay bestForDay(LocalDate day) {
         log.info("Finding best crypto for day={}", day);
 
         var range = TimeRange.singleDay(day);
-        List<SymbolMinMaxProjection> rows = repo.findMinMaxBySymbolInRange(range.fromInclusive(), range.toExclusive());
+        List<SymbolMinMax> rows = minMaxBySymbol(range);
 
         if (rows.isEmpty()) {
             throw new NoDataForRangeException("ALL", range.fromInclusive(), range.toExclusive());
         }
 
         return rows.stream()
-                .map(r -> {
-                    BigDecimal normalized = rangeCalculator.calculate(r.getMinPrice(), r.getMaxPrice());
-
-                    return new BestForDay(day, r.getSymbol(), r.getMinPrice(), r.getMaxPrice(), normalized);
-                })
-                .max(Comparator.comparing(BestForDay::normalizedRange))
+                .map(r -> new BestForDay(day, r.symbol(), RANGE_CALCULATOR.requireValid(r.range())))
+                .max((a, b) -> RANGE_CALCULATOR.compare(a.range(), b.range()))
                 .orElseThrow(() -> new NoDataForDayException(day, "ALL", range.fromInclusive(), range.toExclusive()));
     }
 
+    /**
+     * Returns the newest price point of a requested crypto.
+     */
+    public PricePoint latestPrice(String symbol) {
+        String sym = normalize(symbol);
+        if (sym == null || sym.isBlank()) {
+            throw new UnsupportedCryptoException("");
+        }
+
+        if (catalog.isLoaded()) {
+            return catalog.symbol(sym)
+                    .map(DatasetCatalog.SymbolMetadata::latest)
+                    .orElseThrow(() -> new UnsupportedCryptoException(sym));
+        }
+        return repo.findFirstBySymbolOrderByTimestampDesc(sym)
+                .map(p -> new PricePoint(p.getTimestamp(), p.getPriceUsd()))
+                .orElseThrow(() -> new UnsupportedCryptoException(sym));
+    }
+
+    /**
+     * Returns the newest price point of every supported crypto, ordered by symbol.
+     */
+    public Map<String, PricePoint> latestPrices() {
+        Map<String, PricePoint> result = new LinkedHashMap<>();
+        if (catalog.isLoaded()) {
+            catalog.allSymbols().forEach(m -> result.put(m.symbol(), m.latest()));
+        } else {
+            supportedSymbols().forEach(symbol -> result.put(symbol, latestPrice(symbol)));
+        }
+        return result;
+    }
+
+    private CryptoStats statsFromStore(String sym, TimeRange range) {
+        PriceSeries series = store.series(sym)
+                .orElseThrow(() -> new UnsupportedCryptoException(sym));
+
+        CryptoStats stats = statsOf(series, range);
+        if (stats == null) {
+            throw new NoDataForRangeException(sym, range.fromInclusive(), range.toExclusive());
+        }
+        return stats;
+    }
+
+    /**
+     * @return stats of an in-memory series within a range, {@code null} if the range contains no price points
+     */
+    private CryptoStats statsOf(PriceSeries series, TimeRange range) {
+        int from = series.lowerBound(range.fromInclusive().toEpochMilli());
+        int to = series.lowerBound(range.toExclusive().toEpochMilli());
+        if (from >= to) {
+            return null;
+        }
+
+        var min = series.priceAt(series.minIndex(from, to));
+        var max = series.priceAt(series.maxIndex(from, to));
+        var normalized = RANGE_CALCULATOR.calculate(min, max);
+
+        return new CryptoStats(series.symbol(), series.pointAt(from), series.pointAt(to - 1), min, max, normalized);
+    }
+
+    /**
+     * Min/max price per symbol within a range, from the in-memory store when loaded, otherwise from the DB
+     * (daily rollups for day-aligned ranges, raw price points for the rest).
+     */
+    private List<SymbolMinMax> minMaxBySymbol(TimeRange range) {
+        if (!store.isLoaded()) {
+            List<SymbolMinMaxProjection> rows = range.isDayAligned() && rollups.isReady()
+                    ? dailyRepo.findMinMaxBySymbolInDayRange(
+                            LocalDate.ofInstant(range.fromInclusive(), TimeRange.DEFAULT_ZONE),
+                            LocalDate.ofInstant(range.toExclusive(), TimeRange.DEFAULT_ZONE))
+                    : repo.findMinMaxBySymbolInRange(range.fromInclusive(), range.toExclusive());
+
+            return rows.stream()
+                    .map(r -> new SymbolMinMax(r.getSymbol(), PriceRange.of(r.getMinPrice(), r.getMaxPrice())))
+                    .toList();
+        }
+
+        long fromMillis = range.fromInclusive().toEpochMilli();
+        long toMillis = range.toExclusive().toEpochMilli();
+        List<SymbolMinMax> rows = new ArrayList<>();
+
+        for (PriceSeries series : store.allSeries()) {
+            int from = series.lowerBound(fromMillis);
+            int to = series.lowerBound(toMillis);
+            if (from < to) {
+                rows.add(new SymbolMinMax(series.symbol(), series.priceRange(from, to)));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Min/max per symbol of every window, swept once over each in-memory series.
+     */
+    private List<List<SymbolMinMax>> windowsFromStore(List<LocalDate> bounds) {
+        List<List<SymbolMinMax>> windows = newWindows(bounds.size() - 1);
+        long[] boundMillis = bounds.stream()
+                .mapToLong(day -> day.atStartOfDay(TimeRange.DEFAULT_ZONE).toInstant().toEpochMilli())
+                .toArray();
+
+        for (PriceSeries series : store.allSeries()) {
+            int from = series.lowerBound(boundMillis[0]);
+            for (int w = 0; w < windows.size(); w++) {
+                int to = series.lowerBound(boundMillis[w + 1]);
+                if (from < to) {
+                    windows.get(w).add(new SymbolMinMax(series.symbol(), series.priceRange(from, to)));
+                }
+                from = to;
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Min/max per symbol of every window, merged from one row per symbol and UTC day. Rows are ordered by symbol
+     * and day, so the days of a (symbol, window) pair are consecutive.
+     */
+    private List<List<SymbolMinMax>> windowsFromDb(List<LocalDate> bounds) {
+        List<List<SymbolMinMax>> windows = newWindows(bounds.size() - 1);
+        LocalDate first = bounds.getFirst();
+        LocalDate end = bounds.getLast();
+        long[] boundDays = bounds.stream().mapToLong(LocalDate::toEpochDay).toArray();
+
+        List<SymbolDayMinMaxProjection> rows = rollups.isReady()
+                ? dailyRepo.findMinMaxBySymbolAndDayInDayRange(first, end)
+                : repo.findMinMaxBySymbolAndDayInRange(first.atStartOfDay(TimeRange.DEFAULT_ZONE).toInstant(),
+                        end.atStartOfDay(TimeRange.DEFAULT_ZONE).toInstant());
+
+        String symbol = null;
+        int window = -1;
+        BigDecimal min = null;
+        BigDecimal max = null;
+        for (SymbolDayMinMaxProjection row : rows) {
+            int w = windowOf(boundDays, row.getEpochDay().longValue());
+            if (row.getSymbol().equals(symbol) && w == window) {
+                min = min.min(row.getMinPrice());
+                max = max.max(row.getMaxPrice());
+                continue;
+            }
+            if (symbol != null) {
+                windows.get(window).add(new SymbolMinMax(symbol, PriceRange.of(min, max)));
+            }
+            symbol = row.getSymbol();
+            window = w;
+            min = row.getMinPrice();
+            max = row.getMaxPrice();
+        }
+        if (symbol != null) {
+            windows.get(window).add(new SymbolMinMax(symbol, PriceRange.of(min, max)));
+        }
+        return windows;
+    }
+
+    private static List<List<SymbolMinMax>> newWindows(int count) {
+        List<List<SymbolMinMax>> windows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            windows.add(new ArrayList<>());
+        }
+        return windows;
+    }
+
+    /**
+     * @return index of the window containing {@code day}, given ascending window bounds
+     */
+    private static int windowOf(long[] bounds, long day) {
+        int i = Arrays.binarySearch(bounds, day);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Bounded-heap selection of the {@code limit} best rows. Rows with equal normalized range keep their order,
+     * like the stable sort of {@link #recommendations(TimeRange)}.
+     */
+    private static List<RecommendationRow> selectTop(List<SymbolMinMax> rows, int limit) {
+        TopK<Ranked> top = new TopK<>(limit, (a, b) -> {
+            int byRange = RANGE_CALCULATOR.compare(b.row().range(), a.row().range());
+            return byRange != 0 ? byRange : Integer.compare(a.index(), b.index());
+        });
+        for (int i = 0; i < rows.size(); i++) {
+            SymbolMinMax r = rows.get(i);
+            top.offer(new Ranked(i, new RecommendationRow(r.symbol(), RANGE_CALCULATOR.requireValid(r.range()))));
+        }
+        return top.toList().stream().map(Ranked::row).toList();
+    }
+
+    /**
+     * Top windows of one series, swept once with monotonic deques.
+     */
+    private static List<WindowCandidate> topWindowsOf(PriceSeries series, TimeRange range, long lengthMillis,
+                                                      int limit) {
+        TopK<WindowCandidate> top = new TopK<>(limit, WINDOW_RANKING);
+        long endMillis = range.toExclusive().toEpochMilli();
+        SlidingWindowMinMax.sweep(series, series.lowerBound(range.fromInclusive().toEpochMilli()),
+                series.lowerBound(endMillis), lengthMillis, endMillis, (from, to, min, max) ->
+                        top.offer(new WindowCandidate(series, from, min, max,
+                                RANGE_CALCULATOR.requireValid(series.priceRangeOf(min, max)))));
+        return top.toList();
+    }
+
+    /**
+     * @return series of a symbol within the range, empty if it has no price points there
+     */
+    private Optional<PriceSeries> seriesFromDb(String symbol, TimeRange range) {
+        var rows = repo.findPricesBySymbolInRange(symbol, range.fromInclusive(), range.toExclusive());
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        PriceSeries.Builder builder = PriceSeries.builder(symbol);
+        rows.forEach(row -> builder.add(row.getTimestamp(), row.getPriceUsd()));
+        return Optional.of(builder.build());
+    }
+
+    /**
+     * Streams the price points of all symbols within the range (inside the read-only transaction of this service)
+     * and hands over every series as soon as its last price point has been read.
+     */
+    private void forEachSeriesFromDb(TimeRange range, Consumer<PriceSeries> action) {
+        try (var rows = repo.streamPricesInRange(range.fromInclusive(), range.toExclusive())) {
+            String current = null;
+            PriceSeries.Builder builder = null;
+            for (var it = rows.iterator(); it.hasNext(); ) {
+                var row = it.next();
+                if (!row.getSymbol().equals(current)) {
+                    if (builder != null) {
+                        action.accept(builder.build());
+                    }
+                    current = row.getSymbol();
+                    builder = PriceSeries.builder(current);
+                }
+                builder.add(row.getTimestamp(), row.getPriceUsd());
+            }
+            if (builder != null) {
+                action.accept(builder.build());
+            }
+        }
+    }
+
+    private static long windowLengthMillis(int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("days must be positive");
+        }
+        return Duration.ofDays(days).toMillis();
+    }
+
+    /**
+     * Single hash probe in the published symbol registry; before the import published it, one index lookup instead
+     * of listing all symbols (a call to {@link #supportedSymbols()} from here would bypass its cache).
+     */
     private void ensureSupported(String symbol) {
-        if (symbol == null || symbol.isBlank() || !supportedSymbols().contains(symbol)) {
+        boolean supported = symbol != null && !symbol.isBlank()
+                && (catalog.isLoaded() ? catalog.registry().contains(symbol) : repo.existsBySymbol(symbol));
+        if (!supported) {
             throw new UnsupportedCryptoException(symbol == null ? "" : symbol);
         }
     }
@@ -183,9 +669,87 @@ public class CryptoRecommendationService {
         return symbol == null ? null : symbol.trim().toUpperCase(Locale.ROOT);
     }
 
-    public record RecommendationRow(String symbol, BigDecimal min, BigDecimal max, BigDecimal normalizedRange) {
+    private record SymbolMinMax(String symbol, PriceRange range) {
+    }
+
+    private record Ranked(int index, RecommendationRow row) {
+    }
+
+    /**
+     * A window of a series by indexes; decimal prices are only created for selected windows.
+     */
+    private record WindowCandidate(PriceSeries series, int fromIndex, int minIndex, int maxIndex, PriceRange range) {
+
+        long fromMillis() {
+            return series.timestampAt(fromIndex);
+        }
+
+        PriceWindow toWindow(long lengthMillis) {
+            return new PriceWindow(series.symbol(), Instant.ofEpochMilli(fromMillis()),
+                    Instant.ofEpochMilli(fromMillis() + lengthMillis), series.pointAt(minIndex),
+                    series.pointAt(maxIndex), range);
+        }
     }
 
-    public record BestForDay(LocalDate day, String symbol, BigDecimal min, BigDecimal max, BigDecimal normalizedRange) {
+    /**
+     * Recommendation entry. Prices stay in fixed-point form; decimal values are created on access.
+     */
+    public record RecommendationRow(String symbol, PriceRange range) {
+
+        public BigDecimal min() {
+            return range.min();
+        }
+
+        public BigDecimal max() {
+            return range.max();
+        }
+
+        public BigDecimal normalizedRange() {
+            return RANGE_CALCULATOR.calculate(range);
+        }
+    }
+
+    /**
+     * Top-ranked cryptos of one window of a recommendation series.
+     *
+     * @param from first day of the window
+     * @param to   last day of the window (inclusive)
+     * @param top  cryptos with the highest normalized range, descending
+     */
+    public record RankedWindow(LocalDate from, LocalDate to, List<RecommendationRow> top) {
+    }
+
+    /**
+     * A window of a crypto's price series, ranked by normalized range.
+     *
+     * @param from start of the window, the timestamp of its first price point
+     * @param to   exclusive end of the window
+     * @param low  lowest price point in the window
+     * @param high highest price point in the window
+     */
+    public record PriceWindow(String symbol, Instant from, Instant to, PricePoint low, PricePoint high,
+                              PriceRange range) {
+
+        public BigDecimal normalizedRange() {
+            return RANGE_CALCULATOR.calculate(range);
+        }
+    }
+
+    /**
+     * Best crypto of a day. Prices stay in fixed-point form; decimal values are created on access.
+     */
+    public record BestForDay(LocalDate day, String symbol, PriceRange range) {
+
+        public BigDecimal min() {
+            return range.min();
+        }
+
+        public BigDecimal max() {
+            return range.max();
+        }
+
+        public BigDecimal normalizedRange() {
+            return RANGE_CALCULATOR.calculate(range);
+        }
     }
 }
@@ -0,0 +1,56 @@
+package com.example.crypto.application.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded-heap selection of the {@code limit} best elements of a stream, in O(n log limit).
+ *
+ * <p>The heap keeps the worst selected element at its head and is only updated by elements ranking above it.
+ * Not thread-safe.
+ *
+ * @param <T> element type
+ */
+final class TopK<T> {
+
+    private final int limit;
+    private final Comparator<? super T> ranking;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param limit   number of elements to keep, {@code > 0}
+     * @param ranking best elements first
+     */
+    TopK(int limit, Comparator<? super T> ranking) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        this.limit = limit;
+        this.ranking = ranking;
+        this.heap = new PriorityQueue<>(Math.min(limit, 1_024) + 1, ranking.reversed());
+    }
+
+    void offer(T candidate) {
+        if (heap.size() < limit) {
+            heap.add(candidate);
+        } else if (ranking.compare(candidate, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    void offerAll(Iterable<? extends T> candidates) {
+        candidates.forEach(this::offer);
+    }
+
+    /**
+     * @return selected elements, best first
+     */
+    List<T> toList() {
+        List<T> top = new ArrayList<>(heap);
+        top.sort(ranking);
+        return top;
+    }
+}
@@ -1,19 +1,41 @@
 package com.example.crypto.config;
 
+import com.example.crypto.adapters.out.cache.CacheEntryWeigher;
+import com.example.crypto.adapters.out.cache.CoalescingCaffeineCache;
+import com.example.crypto.adapters.out.cache.DatasetWatermark;
+import com.example.crypto.adapters.out.cache.RangeAwareExpiry;
+import com.example.crypto.config.properties.AppCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Cache configuration.
  *
- * <p>Uses Caffeine as an in-memory cache to reduce DB load for repeated queries.
+ * <p>Uses Caffeine as an in-memory cache to reduce DB load for repeated queries. Every cache has its own size
+ * and expiration ({@code app.cache.<name>.*}); size is bounded by the approximate retained bytes of the entries
+ * ({@link CacheEntryWeigher}). Results of ranges that end before the latest imported price point cannot change and
+ * never expire, all other entries expire after {@code expire-after-write} ({@link RangeAwareExpiry}).
+ * Statistics are recorded, Spring Boot binds them to Micrometer as {@code cache.*}
+ * meters tagged with the cache name.
+ *
+ * <p>Caches are asynchronous Caffeine caches adapted by {@link CoalescingCaffeineCache}: with
+ * {@code @Cacheable(sync = true)}, concurrent misses of the same key wait for a single computation. Entries read
+ * after {@code refresh-after-write} are refreshed in the background, and expired entries are served for up to
+ * {@code stale-if-error} when recomputing them fails.
  */
 @Configuration
+@EnableConfigurationProperties(AppCacheProperties.class)
 public class CacheConfig {
 
     public static final String CACHE_RECOMMENDATIONS = "recommendations";
@@ -25,15 +47,42 @@ public class CacheConfig {
      * Creates the {@link CacheManager} used by the application.
      */
     @Bean
-    public CacheManager cacheManager() {
-        var manager = new CaffeineCacheManager(CACHE_RECOMMENDATIONS, CACHE_STATS, CACHE_SUPPORTED, CACHE_BEST_DAY);
+    public CacheManager cacheManager(AppCacheProperties props, DatasetWatermark watermark, MeterRegistry registry) {
+        var specs = Map.of(
+                CACHE_RECOMMENDATIONS, props.recommendations(),
+                CACHE_STATS, props.stats(),
+                CACHE_SUPPORTED, props.supportedCryptos(),
+                CACHE_BEST_DAY, props.bestForDay());
+        Ticker ticker = Ticker.systemTicker();
+
+        var manager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                AppCacheProperties.Spec spec = specs.get(name);
+                return new CoalescingCaffeineCache(name, cache, isAllowNullValues(), registry,
+                        expiry(spec, watermark), spec.refreshAfterWrite(), ticker);
+            }
+        };
+        // fixed set of caches: unknown cache names fail instead of creating caches with an unbounded default
+        manager.setCacheNames(List.of());
 
-        manager.setCaffeine(
-                Caffeine.newBuilder()
-                        .maximumSize(2_000)
-                        .expireAfterWrite(Duration.ofMinutes(5))
-        );
+        specs.forEach((name, spec) ->
+                manager.registerCustomCache(name, newCache(spec, watermark, ticker).buildAsync()));
 
         return manager;
     }
+
+    private static Caffeine<Object, Object> newCache(AppCacheProperties.Spec spec, DatasetWatermark watermark,
+                                                     Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumWeight(spec.maximumWeight().toBytes())
+                .weigher(new CacheEntryWeigher())
+                .expireAfter(expiry(spec, watermark))
+                .ticker(ticker)
+                .recordStats();
+    }
+
+    private static RangeAwareExpiry expiry(AppCacheProperties.Spec spec, DatasetWatermark watermark) {
+        return new RangeAwareExpiry(watermark, spec.expireAfterWrite(), spec.staleIfError());
+    }
 }
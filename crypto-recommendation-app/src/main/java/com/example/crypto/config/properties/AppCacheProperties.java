@@ -0,0 +1,69 @@
+package com.example.crypto.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the result caches, one {@link Spec} per cache ({@code app.cache.<name>.*}).
+ *
+ * @param recommendations  spec of the {@code recommendations} cache
+ * @param stats            spec of the {@code stats} cache
+ * @param supportedCryptos spec of the {@code supportedCryptos} cache
+ * @param bestForDay       spec of the {@code bestForDay} cache
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record AppCacheProperties(
+        Spec recommendations,
+        Spec stats,
+        Spec supportedCryptos,
+        Spec bestForDay
+) {
+
+    public AppCacheProperties {
+        recommendations = recommendations == null ? Spec.DEFAULT : recommendations;
+        stats = stats == null ? Spec.DEFAULT : stats;
+        supportedCryptos = supportedCryptos == null ? Spec.DEFAULT : supportedCryptos;
+        bestForDay = bestForDay == null ? Spec.DEFAULT : bestForDay;
+    }
+
+    /**
+     * Size, expiration and refresh of one cache.
+     *
+     * @param maximumWeight     maximum approximate retained size of all entries (keys and values)
+     * @param expireAfterWrite  time after which an entry expires, unless its range ended before the latest imported
+     *                          price point (such entries never expire)
+     * @param refreshAfterWrite age after which reading an entry recomputes it in the background while the current
+     *                          value is still served; {@code null} disables refreshing
+     * @param staleIfError      how long after expiring an entry is still served when recomputing it fails;
+     *                          defaults to zero
+     */
+    public record Spec(
+            DataSize maximumWeight,
+            Duration expireAfterWrite,
+            Duration refreshAfterWrite,
+            Duration staleIfError
+    ) {
+
+        public static final Spec DEFAULT = new Spec(DataSize.ofMegabytes(16), Duration.ofMinutes(5),
+                Duration.ofMinutes(4), Duration.ofMinutes(15));
+
+        public Spec {
+            staleIfError = staleIfError == null ? Duration.ZERO : staleIfError;
+            if (maximumWeight == null || maximumWeight.toBytes() <= 0) {
+                throw new IllegalArgumentException("Cache maximumWeight must be > 0");
+            }
+            if (expireAfterWrite == null || expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+                throw new IllegalArgumentException("Cache expireAfterWrite must be > 0");
+            }
+            if (refreshAfterWrite != null && (refreshAfterWrite.isNegative() || refreshAfterWrite.isZero()
+                    || refreshAfterWrite.compareTo(expireAfterWrite) >= 0)) {
+                throw new IllegalArgumentException("Cache refreshAfterWrite must be > 0 and < expireAfterWrite");
+            }
+            if (staleIfError.isNegative()) {
+                throw new IllegalArgumentException("Cache staleIfError must be >= 0");
+            }
+        }
+    }
+}
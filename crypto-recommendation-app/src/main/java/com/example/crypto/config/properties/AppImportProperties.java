@@ -9,12 +9,51 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * @param cleanBeforeImport whether to clear DB before import
  * @param resourcePattern   classpath pattern for CSV resources
  * @param batchSize         database insert batch size
+ * @param parallelism       maximum number of files parsed concurrently ({@code <= 0} = available processors)
+ * @param queueCapacity     maximum number of parsed batches waiting for the database writer
+ *                          ({@code <= 0} = twice the parallelism)
+ * @param writer            how parsed batches are written to the database
  */
 @ConfigurationProperties(prefix = "app.import")
 public record AppImportProperties(
         boolean enabled,
         boolean cleanBeforeImport,
         String resourcePattern,
-        int batchSize
+        int batchSize,
+        int parallelism,
+        int queueCapacity,
+        Writer writer
 ) {
+
+    /**
+     * Database writer used by the import.
+     */
+    public enum Writer {
+        /**
+         * {@code saveAll} through the JPA repository.
+         */
+        JPA,
+        /**
+         * Plain JDBC batch inserts, bypassing Hibernate.
+         */
+        JDBC,
+        /**
+         * JDBC batch {@code MERGE}s: duplicates are de-duplicated or update the stored price instead of failing.
+         */
+        UPSERT
+    }
+
+    /**
+     * @return configured parallelism, or the number of available processors if not set
+     */
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return configured queue capacity, or twice the effective parallelism if not set
+     */
+    public int effectiveQueueCapacity() {
+        return queueCapacity > 0 ? queueCapacity : 2 * effectiveParallelism();
+    }
 }
@@ -0,0 +1,14 @@
+package com.example.crypto.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-memory read engine.
+ *
+ * @param enabled whether imported price points are also kept in memory and used to answer queries
+ */
+@ConfigurationProperties(prefix = "app.in-memory")
+public record AppInMemoryProperties(
+        boolean enabled
+) {
+}
@@ -0,0 +1,31 @@
+package com.example.crypto.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the warm-up run after the startup import, before the application reports readiness.
+ *
+ * @param enabled    whether the warm-up runs
+ * @param budget     maximum duration of the warm-up; when it is used up, the remaining steps are skipped
+ * @param recentDays number of most recent days whose best crypto is precomputed and requested
+ * @param iterations number of rounds of requests through the controllers and JSON serialization
+ */
+@ConfigurationProperties(prefix = "app.warm-up")
+public record AppWarmUpProperties(
+        boolean enabled,
+        Duration budget,
+        int recentDays,
+        int iterations
+) {
+
+    public AppWarmUpProperties {
+        if (budget == null || budget.isNegative()) {
+            throw new IllegalArgumentException("Warm-up budget must be >= 0");
+        }
+        if (recentDays < 0 || iterations < 0) {
+            throw new IllegalArgumentException("Warm-up recentDays/iterations must be >= 0");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.crypto.domain.event;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Published after stored price points were added, replaced or removed.
+ *
+ * <p>Results computed from the affected symbols within the span may be stale; everything else is unaffected.
+ *
+ * @param symbols       symbols whose price points changed
+ * @param fromInclusive earliest changed timestamp
+ * @param toInclusive   latest changed timestamp
+ */
+public record PriceDataChangedEvent(Set<String> symbols, Instant fromInclusive, Instant toInclusive) {
+
+    public PriceDataChangedEvent {
+        symbols = Set.copyOf(symbols);
+        Objects.requireNonNull(fromInclusive, "fromInclusive");
+        Objects.requireNonNull(toInclusive, "toInclusive");
+    }
+
+    /**
+     * @return event for symbols whose price points changed at any time
+     */
+    public static PriceDataChangedEvent allTime(Set<String> symbols) {
+        return new PriceDataChangedEvent(symbols, Instant.MIN, Instant.MAX);
+    }
+}
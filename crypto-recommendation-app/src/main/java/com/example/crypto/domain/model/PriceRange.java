@@ -0,0 +1,130 @@
+package com.example.crypto.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Minimum and maximum price of a crypto in some time range, kept in fixed-point form.
+ *
+ * <p>Prices are stored as {@code long} values scaled by {@value #SCALE} fraction digits, which matches the
+ * {@code price_usd} column ({@code precision = 24, scale = 10}). A price that does not fit into a {@code long}
+ * at that scale (or has more fraction digits) is kept as an exact {@link BigDecimal} instead, so no value is
+ * ever rounded. {@link BigDecimal} views are only created on demand.
+ */
+public final class PriceRange {
+
+    /**
+     * Number of fraction digits of the fixed-point representation.
+     */
+    public static final int SCALE = 10;
+
+    private final long scaledMin;
+    private final long scaledMax;
+    private final BigDecimal exactMin;
+    private final BigDecimal exactMax;
+
+    private PriceRange(long scaledMin, long scaledMax, BigDecimal exactMin, BigDecimal exactMax) {
+        this.scaledMin = scaledMin;
+        this.scaledMax = scaledMax;
+        this.exactMin = exactMin;
+        this.exactMax = exactMax;
+    }
+
+    /**
+     * Creates a range from prices already scaled by {@value #SCALE} fraction digits.
+     */
+    public static PriceRange ofScaled(long scaledMin, long scaledMax) {
+        return new PriceRange(scaledMin, scaledMax, null, null);
+    }
+
+    /**
+     * Creates a range from decimal prices, falling back to the exact representation when needed.
+     */
+    public static PriceRange of(BigDecimal min, BigDecimal max) {
+        Objects.requireNonNull(min, "min");
+        Objects.requireNonNull(max, "max");
+
+        if (isRepresentable(min) && isRepresentable(max)) {
+            return ofScaled(toScaled(min), toScaled(max));
+        }
+        return new PriceRange(0, 0, min, max);
+    }
+
+    /**
+     * @return whether the range is kept in fixed-point form
+     */
+    public boolean isScaled() {
+        return exactMin == null;
+    }
+
+    /**
+     * @return scaled minimum price; only meaningful when {@link #isScaled()}
+     */
+    public long scaledMin() {
+        return scaledMin;
+    }
+
+    /**
+     * @return scaled maximum price; only meaningful when {@link #isScaled()}
+     */
+    public long scaledMax() {
+        return scaledMax;
+    }
+
+    /**
+     * @return minimum price
+     */
+    public BigDecimal min() {
+        return isScaled() ? BigDecimal.valueOf(scaledMin, SCALE) : exactMin;
+    }
+
+    /**
+     * @return maximum price
+     */
+    public BigDecimal max() {
+        return isScaled() ? BigDecimal.valueOf(scaledMax, SCALE) : exactMax;
+    }
+
+    /**
+     * @return whether the minimum price is greater than zero
+     */
+    public boolean hasPositiveMin() {
+        return isScaled() ? scaledMin > 0 : exactMin.signum() > 0;
+    }
+
+    private static boolean isRepresentable(BigDecimal price) {
+        int scale = price.scale();
+        if (scale > SCALE) {
+            scale = price.stripTrailingZeros().scale();
+        }
+        if (scale > SCALE) {
+            return false;
+        }
+        return price.setScale(SCALE).unscaledValue().bitLength() <= 63;
+    }
+
+    private static long toScaled(BigDecimal price) {
+        return price.setScale(SCALE).unscaledValue().longValueExact();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PriceRange other)) {
+            return false;
+        }
+        return min().compareTo(other.min()) == 0 && max().compareTo(other.max()) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(min().stripTrailingZeros(), max().stripTrailingZeros());
+    }
+
+    @Override
+    public String toString() {
+        return "PriceRange[min=" + min().toPlainString() + ", max=" + max().toPlainString() + "]";
+    }
+}
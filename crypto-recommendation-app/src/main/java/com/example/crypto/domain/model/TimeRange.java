@@ -4,6 +4,7 @@ import com.example.crypto.domain.exception.InvalidDateRangeException;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Objects;
@@ -29,6 +30,17 @@ public record TimeRange(Instant fromInclusive, Instant toExclusive) {
         return new TimeRange(start, endExclusive);
     }
 
+    /**
+     * @return whether both boundaries fall on midnight (UTC), i.e. the range covers whole days only
+     */
+    public boolean isDayAligned() {
+        return isMidnight(fromInclusive) && isMidnight(toExclusive);
+    }
+
+    private static boolean isMidnight(Instant instant) {
+        return instant.atZone(DEFAULT_ZONE).toLocalTime().equals(LocalTime.MIDNIGHT);
+    }
+
     public static TimeRange singleDay(LocalDate day) {
         Objects.requireNonNull(day, "day");
 
@@ -1,5 +1,7 @@
 package com.example.crypto.domain.service;
 
+import com.example.crypto.domain.model.PriceRange;
+
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.Objects;
@@ -10,11 +12,21 @@ import java.util.Objects;
  * <p>Formula: (max - min) / min
  *
  * <p>Uses {@link java.math.MathContext#DECIMAL64} for stable precision.
+ *
+ * <p>Ranking by normalized range ({@link #compare(PriceRange, PriceRange)}) works on the fixed-point
+ * representation of {@link PriceRange} and does not allocate, while still ordering exactly like the
+ * {@code DECIMAL64} results of {@link #calculate(PriceRange)}.
  */
 public class NormalizedRangeCalculator {
 
     private static final MathContext MC = MathContext.DECIMAL64;
 
+    /**
+     * Two estimates closer than this (relative) may round to the same {@code DECIMAL64} value and are
+     * compared exactly. It is far above the combined error of the double estimate and of DECIMAL64 rounding.
+     */
+    private static final double NEAR_TIE = 1e-12;
+
     /**
      * normalizedRange = (max - min) / min
      */
@@ -28,4 +40,52 @@ public class NormalizedRangeCalculator {
 
         return max.subtract(min, MC).divide(min, MC);
     }
+
+    /**
+     * normalizedRange = (max - min) / min
+     */
+    public BigDecimal calculate(PriceRange range) {
+        return calculate(range.min(), range.max());
+    }
+
+    /**
+     * Validates that the normalized range of {@code range} is defined.
+     *
+     * @return the given range
+     */
+    public PriceRange requireValid(PriceRange range) {
+        Objects.requireNonNull(range, "range");
+
+        if (!range.hasPositiveMin()) {
+            throw new IllegalArgumentException("min must be > 0");
+        }
+        return range;
+    }
+
+    /**
+     * Compares the normalized ranges of two price ranges, consistently with comparing their
+     * {@link #calculate(PriceRange)} results.
+     */
+    public int compare(PriceRange a, PriceRange b) {
+        if (a.isScaled() && b.isScaled()) {
+            if (a.scaledMin() == b.scaledMin() && a.scaledMax() == b.scaledMax()) {
+                return 0;
+            }
+
+            double ea = estimate(a.scaledMin(), a.scaledMax());
+            double eb = estimate(b.scaledMin(), b.scaledMax());
+            if (Math.abs(ea - eb) > NEAR_TIE * Math.max(Math.abs(ea), Math.abs(eb))) {
+                return Double.compare(ea, eb);
+            }
+        }
+        // near ties (and exact fallback values) are rare; compare the DECIMAL64 results themselves
+        return calculate(a).compareTo(calculate(b));
+    }
+
+    private static double estimate(long scaledMin, long scaledMax) {
+        if (scaledMin <= 0) {
+            throw new IllegalArgumentException("min must be > 0");
+        }
+        return (double) (scaledMax - scaledMin) / scaledMin;
+    }
 }
@@ -0,0 +1,250 @@
+package com.example.crypto.adapters.in.importer;
+
+import com.example.crypto.adapters.out.cache.DatasetWatermark;
+import com.example.crypto.adapters.out.memory.DatasetCatalog;
+import com.example.crypto.adapters.out.memory.PriceSeriesStore;
+import com.example.crypto.adapters.out.persistence.jpa.ImportManifestEntity;
+import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.DailyPriceAggregateRepository;
+import com.example.crypto.adapters.out.persistence.repository.ImportManifestRepository;
+import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import com.example.crypto.adapters.out.persistence.rollup.DailyRollupMaintainer;
+import com.example.crypto.adapters.out.persistence.writer.JdbcPricePointUpsertWriter;
+import com.example.crypto.adapters.out.persistence.writer.JdbcPricePointWriter;
+import com.example.crypto.adapters.out.persistence.writer.PricePointWriter;
+import com.example.crypto.config.properties.AppImportProperties;
+import com.example.crypto.config.properties.AppInMemoryProperties;
+import com.example.crypto.domain.event.PriceDataChangedEvent;
+import com.example.crypto.domain.exception.DataImportException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link CsvPriceImporter} against a real database: restarts with the import manifest and overlapping files.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CsvPriceImporterIncrementalTest {
+
+    @Autowired
+    PricePointRepository repo;
+
+    @Autowired
+    ImportManifestRepository manifest;
+
+    @Autowired
+    DailyPriceAggregateRepository dailyRepo;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path dir;
+
+    DatasetWatermark watermark = new DatasetWatermark();
+
+    DatasetCatalog catalog = new DatasetCatalog();
+
+    List<Object> events = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            repo.deleteAllInBatch();
+            manifest.deleteAllInBatch();
+            dailyRepo.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void shouldImportOnlyNewFilesAndAppendedTails() throws Exception {
+        Path btc = write("BTC_values.csv", "timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641013200000,BTC,46979.61\n");
+        Path eth = write("ETH_values.csv", "1641009600000,3715.32\n");
+
+        runImport();
+        assertThat(repo.count()).isEqualTo(3);
+        long btcSize = Files.size(btc);
+        assertThat(manifest.findById("BTC_values.csv")).hasValueSatisfying(m -> {
+            assertThat(m.getImportedBytes()).isEqualTo(btcSize);
+            assertThat(m.getHeaderLine()).isEqualTo("timestamp,symbol,price");
+            assertThat(m.getMaxTimestamp()).isEqualTo(Instant.ofEpochMilli(1641013200000L));
+        });
+
+        assertThat(watermark.current()).contains(Instant.ofEpochMilli(1641013200000L));
+
+        // restart without changes: nothing is read again, the store is loaded from the database
+        watermark = new DatasetWatermark();
+        events.clear();
+        PriceSeriesStore unchanged = runImport();
+        assertThat(events).isEmpty();
+        assertThat(repo.count()).isEqualTo(3);
+        assertThat(unchanged.symbols()).containsExactly("BTC", "ETH");
+        assertThat(watermark.current()).contains(Instant.ofEpochMilli(1641013200000L));
+
+        Files.writeString(btc, "1641096000000,BTC,47000.00\n", StandardOpenOption.APPEND);
+        Files.writeString(eth, "1641013200000,3720.00\n", StandardOpenOption.APPEND);
+        write("XRP_values.csv", "timestamp,symbol,price\n1641009600000,XRP,0.8298\n");
+
+        PriceSeriesStore appended = runImport();
+        assertThat(repo.count()).isEqualTo(6);
+        assertThat(appended.symbols()).containsExactly("BTC", "ETH", "XRP");
+        assertThat(appended.maxTimestamp()).contains(Instant.ofEpochMilli(1641096000000L));
+        assertThat(watermark.current()).contains(Instant.ofEpochMilli(1641096000000L));
+        assertThat(catalog.rowCount()).isEqualTo(6);
+        assertThat(catalog.symbol("BTC")).hasValueSatisfying(m -> {
+            assertThat(m.rowCount()).isEqualTo(3);
+            assertThat(m.firstTimestamp()).isEqualTo(Instant.ofEpochMilli(1641009600000L));
+            assertThat(m.latest().priceUsd()).isEqualByComparingTo("47000.00");
+        });
+        assertThat(events).last().isEqualTo(new PriceDataChangedEvent(Set.of("BTC", "ETH", "XRP"),
+                Instant.ofEpochMilli(1641009600000L), Instant.ofEpochMilli(1641096000000L)));
+        assertThat(manifest.findAll()).hasSize(3);
+        long appendedSize = Files.size(btc);
+        assertThat(manifest.findById("BTC_values.csv")).hasValueSatisfying(m -> {
+            assertThat(m.getImportedBytes()).isEqualTo(appendedSize);
+            assertThat(m.getMaxTimestamp()).isEqualTo(Instant.ofEpochMilli(1641096000000L));
+        });
+        // rollups are rebuilt: BTC now has a second day
+        assertThat(dailyRepo.findAll()).filteredOn(d -> d.getSymbol().equals("BTC")).hasSize(2);
+    }
+
+    @Test
+    void shouldSkipFilesModifiedInPlace() throws Exception {
+        Path btc = write("BTC_values.csv", "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
+        runImport();
+        ImportManifestEntity before = manifest.findById("BTC_values.csv").orElseThrow();
+
+        Files.writeString(btc, "timestamp,symbol,price\n1641009600000,BTC,46813.22\n1641013200000,BTC,1\n");
+        runImport();
+
+        assertThat(repo.count()).isEqualTo(1);
+        assertThat(manifest.findById("BTC_values.csv").orElseThrow().getChecksum()).isEqualTo(before.getChecksum());
+    }
+
+    @Test
+    void shouldRemoveRowsOfFailedIncrementalImport() throws Exception {
+        Path btc = write("BTC_values.csv", "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
+        Path eth = write("ETH_values.csv", "1641009600000,3715.32\n");
+        runImport();
+
+        Files.writeString(eth, "1641013200000,3720.00\n", StandardOpenOption.APPEND);
+        Files.writeString(btc, "1641013200000,BTC,abc\n", StandardOpenOption.APPEND);
+
+        assertThatThrownBy(this::runImport).isInstanceOf(DataImportException.class);
+        assertThat(repo.count()).isEqualTo(2);
+        assertThat(manifest.findById("ETH_values.csv").orElseThrow().getImportedBytes())
+                .isEqualTo("1641009600000,3715.32\n".length());
+    }
+
+    @Test
+    void failedCleanImportShouldKeepPreviousDataset() throws Exception {
+        write("BTC_values.csv", "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
+        write("ETH_values.csv", "1641009600000,3715.32\n");
+        runImport();
+
+        Path xrp = write("XRP_values.csv", "timestamp,symbol,price\n1641009600000,XRP,0.8298\n1641013200000,XRP,abc\n");
+
+        // the wipe and the inserted batches are rolled back together
+        assertThatThrownBy(() -> runImport(AppImportProperties.Writer.JDBC, true))
+                .isInstanceOf(DataImportException.class);
+        assertThat(repo.count()).isEqualTo(2);
+        assertThat(manifest.findAll()).extracting(ImportManifestEntity::getFileName)
+                .containsExactlyInAnyOrder("BTC_values.csv", "ETH_values.csv");
+        assertThat(dailyRepo.count()).isEqualTo(2);
+
+        Files.writeString(xrp, "timestamp,symbol,price\n1641009600000,XRP,0.8298\n");
+        PriceSeriesStore store = runImport(AppImportProperties.Writer.JDBC, true);
+
+        assertThat(repo.count()).isEqualTo(3);
+        assertThat(manifest.findAll()).hasSize(3);
+        assertThat(store.symbols()).containsExactly("BTC", "ETH", "XRP");
+    }
+
+    @Test
+    void shouldMergeOverlappingFilesOfOneSymbolInTimestampOrder() throws Exception {
+        write("BTC_values.csv", "timestamp,symbol,price\n1641009600000,BTC,1\n1641016800000,BTC,3\n");
+        write("BTC2_extended_values.csv", "timestamp,symbol,price\n1641013200000,BTC,2\n1641016800000,BTC,3\n");
+
+        PriceSeriesStore store = runImport();
+
+        // rows are written once, ascending by timestamp across both files
+        assertThat(repo.findAll(Sort.by("id"))).extracting(PricePointEntity::getTimestamp).containsExactly(
+                Instant.ofEpochMilli(1641009600000L), Instant.ofEpochMilli(1641013200000L),
+                Instant.ofEpochMilli(1641016800000L));
+        assertThat(store.symbols()).containsExactly("BTC");
+        assertThat(manifest.findById("BTC2_extended_values.csv").orElseThrow().getMaxTimestamp())
+                .isEqualTo(Instant.ofEpochMilli(1641016800000L));
+    }
+
+    @Test
+    void upsertWriterShouldImportFileOverlappingStoredRows() throws Exception {
+        write("BTC_values.csv", "timestamp,symbol,price\n1641009600000,BTC,1\n1641013200000,BTC,2\n");
+        runImport();
+        write("BTC2_extended_values.csv", "timestamp,symbol,price\n1641013200000,BTC,2.5\n1641016800000,BTC,3\n");
+
+        // plain inserts fail on uk_symbol_ts and leave the stored rows as they were
+        assertThatThrownBy(this::runImport).isInstanceOf(DataImportException.class);
+        assertThat(repo.count()).isEqualTo(2);
+
+        PriceSeriesStore store = runImport(AppImportProperties.Writer.UPSERT);
+
+        assertThat(repo.count()).isEqualTo(3);
+        assertThat(store.symbols()).containsExactly("BTC");
+        assertThat(dailyRepo.findAll()).singleElement().satisfies(d -> {
+            assertThat(d.getPointCount()).isEqualTo(3);
+            assertThat(d.getMaxPrice()).isEqualByComparingTo("3");
+        });
+    }
+
+    private PriceSeriesStore runImport() {
+        return runImport(AppImportProperties.Writer.JDBC);
+    }
+
+    private PriceSeriesStore runImport(AppImportProperties.Writer writer) {
+        return runImport(writer, false);
+    }
+
+    private PriceSeriesStore runImport(AppImportProperties.Writer writer, boolean cleanBeforeImport) {
+        var props = new AppImportProperties(true, cleanBeforeImport, dir.toUri() + "*_values.csv", 1, 2, 0, writer);
+        var store = new PriceSeriesStore(new AppInMemoryProperties(true));
+        PricePointWriter pricePointWriter = writer == AppImportProperties.Writer.UPSERT
+                ? new JdbcPricePointUpsertWriter(jdbcTemplate)
+                : new JdbcPricePointWriter(jdbcTemplate);
+
+        new CsvPriceImporter(props, new PathMatchingResourcePatternResolver(), repo, store,
+                new DailyRollupMaintainer(dailyRepo), pricePointWriter,
+                new TransactionTemplate(transactionManager), manifest, watermark, catalog, events::add)
+                .run(new DefaultApplicationArguments(new String[0]));
+        return store;
+    }
+
+    private Path write(String fileName, String csv) throws IOException {
+        return Files.writeString(dir.resolve(fileName), csv);
+    }
+}
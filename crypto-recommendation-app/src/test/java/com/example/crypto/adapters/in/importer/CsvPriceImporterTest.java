@@ -1,19 +1,43 @@
 package com.example.crypto.adapters.in.importer;
 
+import com.example.crypto.adapters.out.cache.DatasetWatermark;
+import com.example.crypto.adapters.out.memory.DatasetCatalog;
+import com.example.crypto.adapters.out.memory.PriceSeriesStore;
 import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.DailyPriceAggregateRepository;
+import com.example.crypto.adapters.out.persistence.repository.ImportManifestRepository;
 import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import com.example.crypto.adapters.out.persistence.rollup.DailyRollupMaintainer;
+import com.example.crypto.adapters.out.persistence.writer.JpaPricePointWriter;
+import com.example.crypto.adapters.out.persistence.writer.PricePointWriter;
 import com.example.crypto.config.properties.AppImportProperties;
+import com.example.crypto.config.properties.AppImportProperties.Writer;
+import com.example.crypto.config.properties.AppInMemoryProperties;
 import com.example.crypto.domain.exception.DataImportException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -24,6 +48,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.transaction.support.TransactionOperations.withoutTransaction;
 
 /**
  * Unit tests for {@link CsvPriceImporter}.
@@ -32,11 +57,11 @@ class CsvPriceImporterTest {
 
     @Test
     void shouldSkipWhenDisabled() {
-        AppImportProperties props = new AppImportProperties(false, false, "classpath*:data/*_values.csv", 1000);
+        AppImportProperties props = new AppImportProperties(false, false, "classpath*:data/*_values.csv", 1000, 0, 0, Writer.JPA);
         ResourcePatternResolver resolver = mock(ResourcePatternResolver.class);
         PricePointRepository repo = mock(PricePointRepository.class);
 
-        CsvPriceImporter importer = new CsvPriceImporter(props, resolver, repo);
+        CsvPriceImporter importer = importer(props, resolver, repo, store());
         importer.run(new DefaultApplicationArguments(new String[0]));
 
         verifyNoInteractions(resolver);
@@ -45,23 +70,23 @@ class CsvPriceImporterTest {
 
     @Test
     void shouldSkipWhenDbAlreadyHasDataAndCleanBeforeImportFalse() throws Exception {
-        AppImportProperties props = new AppImportProperties(true, false, "classpath*:data/*_values.csv", 1000);
+        AppImportProperties props = new AppImportProperties(true, false, "classpath*:data/*_values.csv", 1000, 0, 0, Writer.JPA);
         ResourcePatternResolver resolver = mock(ResourcePatternResolver.class);
         PricePointRepository repo = mock(PricePointRepository.class);
 
         when(repo.count()).thenReturn(123L);
 
-        CsvPriceImporter importer = new CsvPriceImporter(props, resolver, repo);
+        CsvPriceImporter importer = importer(props, resolver, repo, store());
         importer.run(new DefaultApplicationArguments(new String[0]));
 
-        verify(repo, times(2)).count();
+        verify(repo, times(1)).count();
         verifyNoInteractions(resolver);
         verify(repo, never()).saveAll(anyList());
     }
 
     @Test
     void shouldImportAndUseFallbackSymbolFromFilenameWhenSymbolMissing() throws Exception {
-        AppImportProperties props = new AppImportProperties(true, true, "classpath*:data/*_values.csv", 2);
+        AppImportProperties props = new AppImportProperties(true, true, "classpath*:data/*_values.csv", 2, 0, 0, Writer.JPA);
         ResourcePatternResolver resolver = mock(ResourcePatternResolver.class);
         PricePointRepository repo = mock(PricePointRepository.class);
 
@@ -80,7 +105,7 @@ class CsvPriceImporterTest {
         when(resolver.getResources(anyString())).thenReturn(new Resource[]{res});
         when(repo.count()).thenReturn(0L);
 
-        CsvPriceImporter importer = new CsvPriceImporter(props, resolver, repo);
+        CsvPriceImporter importer = importer(props, resolver, repo, store());
         importer.run(new DefaultApplicationArguments(new String[0]));
 
         // clean-before-import=true
@@ -92,18 +117,189 @@ class CsvPriceImporterTest {
         verify(repo, atLeastOnce()).flush();
     }
 
+    @Test
+    void shouldPublishImportedRowsToInMemoryStore() throws Exception {
+        AppImportProperties props = new AppImportProperties(true, true, "classpath*:data/*_values.csv", 1000, 0, 0, Writer.JPA);
+        ResourcePatternResolver resolver = mock(ResourcePatternResolver.class);
+        PricePointRepository repo = mock(PricePointRepository.class);
+        PriceSeriesStore store = store();
+
+        String csv = "timestamp,symbol,price\n"
+                + "1641020400000,BTC,46979.61\n"
+                + "1641009600000,BTC,46813.21\n";
+
+        Resource res = new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "BTC_values.csv";
+            }
+        };
+        when(resolver.getResources(anyString())).thenReturn(new Resource[]{res});
+
+        importer(props, resolver, repo, store).run(new DefaultApplicationArguments(new String[0]));
+
+        assertThat(store.isLoaded()).isTrue();
+        assertThat(store.symbols()).containsExactly("BTC");
+        assertThat(store.minTimestamp()).contains(Instant.ofEpochMilli(1641009600000L));
+        assertThat(store.maxTimestamp()).contains(Instant.ofEpochMilli(1641020400000L));
+    }
+
+    @Test
+    void shouldImportFilesystemPatternThroughMemoryMappedReader(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("BTC_values.csv"), "timestamp,symbol,price\n"
+                + "1641009600000,BTC,46813.21\n"
+                + "2022-01-01T05:00:00Z,BTC,46979.61\n");
+        Files.writeString(dir.resolve("ETH_values.csv"), "1641009600000,3715.32\n");
+
+        String pattern = dir.toUri() + "*_values.csv";
+        assertThat(pattern).startsWith("file:");
+        AppImportProperties props = new AppImportProperties(true, true, pattern, 1000, 2, 0, Writer.JPA);
+        PricePointRepository repo = mock(PricePointRepository.class);
+        PriceSeriesStore store = store();
+
+        importer(props, new PathMatchingResourcePatternResolver(), repo, store)
+                .run(new DefaultApplicationArguments(new String[0]));
+
+        assertThat(store.symbols()).containsExactlyInAnyOrder("BTC", "ETH");
+        assertThat(store.maxTimestamp()).contains(Instant.parse("2022-01-01T05:00:00Z"));
+        verify(repo, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldImportManyFilesConcurrentlyThroughSingleWriter() throws Exception {
+        AppImportProperties props = new AppImportProperties(true, true, "classpath*:data/*_values.csv", 3, 4, 1, Writer.JPA);
+        ResourcePatternResolver resolver = mock(ResourcePatternResolver.class);
+        PricePointRepository repo = mock(PricePointRepository.class);
+        PriceSeriesStore store = store();
+
+        Resource[] resources = new Resource[20];
+        for (int i = 0; i < resources.length; i++) {
+            StringBuilder csv = new StringBuilder("timestamp,symbol,price\n");
+            for (int row = 0; row < 10; row++) {
+                csv.append(1641009600000L + row * 3_600_000L).append(",S").append(i).append(",").append(100 + row).append('\n');
+            }
+            resources[i] = csvResource("S" + i + "_values.csv", csv.toString());
+        }
+        when(resolver.getResources(anyString())).thenReturn(resources);
+
+        Set<Thread> writers = ConcurrentHashMap.newKeySet();
+        when(repo.saveAll(anyList())).thenAnswer(inv -> {
+            writers.add(Thread.currentThread());
+            return inv.getArgument(0);
+        });
+
+        importer(props, resolver, repo, store).run(new DefaultApplicationArguments(new String[0]));
+
+        ArgumentCaptor<List<PricePointEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repo, atLeastOnce()).saveAll(captor.capture());
+
+        assertThat(captor.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(3));
+        assertThat(captor.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(200);
+        assertThat(writers).containsExactly(Thread.currentThread());
+        assertThat(store.symbols()).hasSize(20);
+    }
+
+    @Test
+    void shouldReportFirstFailingFileDeterministically() throws Exception {
+        AppImportProperties props = new AppImportProperties(true, true, "classpath*:data/*_values.csv", 1000, 4, 2, Writer.JPA);
+        ResourcePatternResolver resolver = mock(ResourcePatternResolver.class);
+        PricePointRepository repo = mock(PricePointRepository.class);
+
+        Resource ok = csvResource("BTC_values.csv", "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
+        Resource firstBroken = csvResource("ETH_values.csv", "timestamp,symbol,price\nnot-a-time,ETH,1\n");
+        Resource secondBroken = csvResource("XRP_values.csv", "timestamp,symbol,price\n1641009600000,XRP,abc\n");
+        when(resolver.getResources(anyString())).thenReturn(new Resource[]{ok, firstBroken, secondBroken});
+
+        CsvPriceImporter importer = importer(props, resolver, repo, store());
+
+        for (int attempt = 0; attempt < 5; attempt++) {
+            assertThatThrownBy(() -> importer.run(new DefaultApplicationArguments(new String[0])))
+                    .isInstanceOf(DataImportException.class)
+                    .hasMessageContaining("CSV import failed")
+                    .cause()
+                    .hasMessageContaining("ETH_values.csv")
+                    .satisfies(e -> assertThat(e.getSuppressed()).singleElement()
+                            .satisfies(s -> assertThat(s).hasMessageContaining("XRP_values.csv")));
+        }
+    }
+
+    @Test
+    void shouldCommitEveryBatchSeparatelyAndRemoveThemWhenImportFails() throws Exception {
+        AppImportProperties props = new AppImportProperties(true, false, "classpath*:data/*_values.csv", 2, 1, 0, Writer.JDBC);
+        ResourcePatternResolver resolver = mock(ResourcePatternResolver.class);
+        PricePointRepository repo = mock(PricePointRepository.class);
+        when(repo.count()).thenReturn(0L);
+
+        Resource res = csvResource("BTC_values.csv", "timestamp,symbol,price\n"
+                + "1641009600000,BTC,1\n1641013200000,BTC,2\n1641016800000,BTC,3\n1641020400000,BTC,4\n");
+        when(resolver.getResources(anyString())).thenReturn(new Resource[]{res});
+
+        AtomicInteger transactions = new AtomicInteger();
+        TransactionOperations tx = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                transactions.incrementAndGet();
+                return action.doInTransaction(new SimpleTransactionStatus());
+            }
+        };
+        List<Integer> writesInTransaction = new ArrayList<>();
+        PricePointWriter writer = points -> {
+            writesInTransaction.add(transactions.get());
+            if (writesInTransaction.size() == 2) {
+                throw new IllegalStateException("disk full");
+            }
+            return PricePointWriter.WriteResult.inserted(points.size());
+        };
+
+        var importer = new CsvPriceImporter(props, resolver, repo, store(), rollups(), writer, tx,
+                mock(ImportManifestRepository.class), new DatasetWatermark(),
+                new DatasetCatalog(), mock(ApplicationEventPublisher.class));
+
+        assertThatThrownBy(() -> importer.run(new DefaultApplicationArguments(new String[0])))
+                .isInstanceOf(DataImportException.class)
+                .hasMessageContaining("CSV import failed")
+                .hasRootCauseMessage("disk full");
+
+        assertThat(writesInTransaction).containsExactly(1, 2);
+        verify(repo).deleteByIdGreaterThan(0L);
+    }
+
     @Test
     void shouldWrapUnexpectedErrorsAsDataImportException() throws Exception {
-        AppImportProperties props = new AppImportProperties(true, true, "classpath*:data/*_values.csv", 1000);
+        AppImportProperties props = new AppImportProperties(true, true, "classpath*:data/*_values.csv", 1000, 0, 0, Writer.JPA);
         ResourcePatternResolver resolver = mock(ResourcePatternResolver.class);
         PricePointRepository repo = mock(PricePointRepository.class);
 
         when(resolver.getResources(anyString())).thenThrow(new RuntimeException("boom"));
 
-        CsvPriceImporter importer = new CsvPriceImporter(props, resolver, repo);
+        CsvPriceImporter importer = importer(props, resolver, repo, store());
 
         assertThatThrownBy(() -> importer.run(new DefaultApplicationArguments(new String[0])))
                 .isInstanceOf(DataImportException.class)
                 .hasMessageContaining("CSV import failed");
     }
+
+    private static Resource csvResource(String filename, String csv) {
+        return new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+
+    private static CsvPriceImporter importer(AppImportProperties props, ResourcePatternResolver resolver,
+                                             PricePointRepository repo, PriceSeriesStore store) {
+        return new CsvPriceImporter(props, resolver, repo, store, rollups(), new JpaPricePointWriter(repo),
+                withoutTransaction(), mock(ImportManifestRepository.class), new DatasetWatermark(),
+                new DatasetCatalog(), mock(ApplicationEventPublisher.class));
+    }
+
+    private static DailyRollupMaintainer rollups() {
+        return new DailyRollupMaintainer(mock(DailyPriceAggregateRepository.class));
+    }
+
+    private static PriceSeriesStore store() {
+        return new PriceSeriesStore(new AppInMemoryProperties(true));
+    }
 }
@@ -12,6 +12,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -141,4 +142,45 @@ class CsvPriceParserTest {
             fail(e);
         }
     }
+
+    @Test
+    void streamShouldProduceRowsLazilyWithoutReadingWholeInput() {
+        byte[] header = "timestamp,symbol,price\n".getBytes(StandardCharsets.UTF_8);
+        byte[] row = "1641009600000,BTC,46813.21\n".getBytes(StandardCharsets.UTF_8);
+
+        // endless input: only a lazy parser can return
+        InputStream endless = new InputStream() {
+            private long pos;
+
+            @Override
+            public int read() {
+                int i = (int) (pos++ - header.length);
+                return i < 0 ? header[(int) pos - 1] : row[i % row.length];
+            }
+        };
+
+        try (var rows = parser.stream(endless, "BTC")) {
+            List<CsvPriceParser.ParsedRow> firstRows = rows.limit(1_000).toList();
+
+            assertEquals(1_000, firstRows.size());
+            assertEquals(0, firstRows.get(999).priceUsd().compareTo(new BigDecimal("46813.21")));
+        }
+    }
+
+    @Test
+    void streamShouldFailAtMalformedRowWithRecordNumber() {
+        String csv = """
+                timestamp,symbol,price
+                1641009600000,BTC,46813.21
+                1641020400000,BTC,oops
+                """;
+
+        try (var rows = parser.stream(new java.io.ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "BTC")) {
+            var it = rows.iterator();
+            assertEquals("BTC", it.next().symbol());
+
+            DataImportException e = assertThrows(DataImportException.class, it::next);
+            assertTrue(e.getMessage().startsWith("CSV parsing failed for symbol BTC at record 3"), e.getMessage());
+        }
+    }
 }
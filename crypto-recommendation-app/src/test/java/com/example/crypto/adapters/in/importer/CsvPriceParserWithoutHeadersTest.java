@@ -11,7 +11,7 @@ import java.time.Instant;
 import org.junit.jupiter.api.Test;
 
 /**
- * Covers legacy "no headers" parsing path inside {@link CsvPriceParser} (tryParseWithoutHeaders).
+ * Covers legacy "no headers" parsing path inside {@link CsvPriceParser} (first record is already data).
  */
 class CsvPriceParserWithoutHeadersTest {
 
@@ -46,7 +46,7 @@ class CsvPriceParserWithoutHeadersTest {
 
   @Test
   void invalidWithoutHeadersFormat_shouldThrowDataImportException() {
-    // only 1 column -> tryParseWithoutHeaders returns null -> overall parse fails
+    // only 1 column -> not a header and not a valid data row -> parse fails
     String csv = """
 1641009600000
 """;
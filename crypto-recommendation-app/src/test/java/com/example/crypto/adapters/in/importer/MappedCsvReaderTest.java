@@ -0,0 +1,131 @@
+package com.example.crypto.adapters.in.importer;
+
+import com.example.crypto.domain.exception.DataImportException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link MappedCsvReader}.
+ */
+class MappedCsvReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldDecodePrimitiveTimestampAndPrice() throws Exception {
+        Path file = write("timestamp,symbol,price\n1641009600000,btc,46813.21\n");
+
+        try (var reader = MappedCsvReader.open(file, "XXX")) {
+            assertTrue(reader.next());
+            assertEquals("BTC", reader.symbol());
+            assertEquals(1641009600000L, reader.epochMillis());
+            assertEquals(4681321L, reader.unscaledPrice());
+            assertEquals(2, reader.priceScale());
+            assertFalse(reader.hasExactPrice());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void shouldProduceSameRowsAsCommonsCsvParser() throws Exception {
+        assertSameAsParser("timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641013200000,,46979.61\n");
+        assertSameAsParser("PRICE , Timestamp ,SYMBOL\r\n46813.21,1641009600,eth\r\n\r\n0.5 ,1641013200, eth\r\n");
+        assertSameAsParser("1641009600000,46813.21\n1641013200000,46979.610\n");
+        assertSameAsParser("1641009600000,XRP,0.8298\n1641013200000,XRP,.83");
+        assertSameAsParser("timestamp,symbol,price\n2022-01-01T00:00:00.123456Z,BTC,+46813.21\n");
+        assertSameAsParser("timestamp,symbol,price\n1641009600000,BTC,1234567890123456789012.5\n");
+        assertSameAsParser("timestamp,symbol,price\n1641009600000,BTC,1E+3\n");
+        assertSameAsParser("timestamp,symbol,price\n\"1641009600000\",\"B,TC\",\"46813.21\"\n");
+        assertSameAsParser("");
+    }
+
+    @Test
+    void shouldKeepExactPriceWhenItDoesNotFitIntoLong() throws Exception {
+        Path file = write("1641009600000,1234567890123456789012.5\n");
+
+        try (var reader = MappedCsvReader.open(file, "BTC")) {
+            assertTrue(reader.next());
+            assertTrue(reader.hasExactPrice());
+            assertEquals(new BigDecimal("1234567890123456789012.5"), reader.price());
+        }
+    }
+
+    @Test
+    void shouldReadLinesCrossingMappingWindows() throws Exception {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder("timestamp,symbol,price\n");
+        for (int i = 0; i < 2_000; i++) {
+            csv.append(1641009600000L + i * 3_600_000L).append(',')
+                    .append(i % 3 == 0 ? "BTC" : "ETH").append(',')
+                    .append(random.nextInt(100_000)).append('.').append(random.nextInt(10_000))
+                    .append(i % 5 == 0 ? "\r\n" : "\n");
+        }
+        Path file = write(csv.toString());
+
+        assertEquals(parse(csv.toString(), "BTC"), readAll(file, "BTC", 64));
+        assertEquals(parse(csv.toString(), "BTC"), readAll(file, "BTC", 4096));
+    }
+
+    @Test
+    void shouldFailAtMalformedRowWithRecordNumber() throws Exception {
+        Path file = write("timestamp,symbol,price\n1641009600000,BTC,1\n1641013200000,BTC,abc\n");
+
+        DataImportException ex = assertThrows(DataImportException.class, () -> readAll(file, "BTC", 1 << 20));
+        assertTrue(ex.getMessage().startsWith("CSV parsing failed for symbol BTC at record 3"), ex.getMessage());
+    }
+
+    @Test
+    void shouldFailForHeaderlessRowWithSingleColumn() throws Exception {
+        Path file = write("1641009600000\n");
+
+        DataImportException ex = assertThrows(DataImportException.class, () -> readAll(file, "BTC", 1 << 20));
+        assertTrue(ex.getMessage().contains("Expected at least 2 columns"), ex.getMessage());
+    }
+
+    @Test
+    void shouldFailWhenLineIsLongerThanWindow() throws Exception {
+        Path file = write("1641009600000,BTC,46813.21\n1641013200000,BTC,46979.61\n");
+
+        DataImportException ex = assertThrows(DataImportException.class, () -> readAll(file, "BTC", 8));
+        assertTrue(ex.getMessage().contains("line longer than 8 bytes"), ex.getMessage());
+    }
+
+    private void assertSameAsParser(String csv) throws IOException {
+        assertEquals(parse(csv, "BTC"), readAll(write(csv), "BTC", 1 << 20), csv);
+    }
+
+    private Path write(String csv) throws IOException {
+        return Files.writeString(Files.createTempFile(dir, "prices", ".csv"), csv);
+    }
+
+    private static List<CsvPriceParser.ParsedRow> parse(String csv, String fallbackSymbol) {
+        return new CsvPriceParser().parse(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), fallbackSymbol);
+    }
+
+    private static List<CsvPriceParser.ParsedRow> readAll(Path file, String fallbackSymbol, long windowSize) {
+        List<CsvPriceParser.ParsedRow> rows = new ArrayList<>();
+        try (var reader = MappedCsvReader.open(file, fallbackSymbol, windowSize)) {
+            while (reader.next()) {
+                rows.add(reader.toParsedRow());
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.crypto.adapters.in.importer;
+
+import com.example.crypto.adapters.in.importer.CsvPriceParser.ParsedRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link SortedRowMerger}.
+ */
+class SortedRowMergerTest {
+
+    @Test
+    void shouldMergeSourcesIntoTimestampOrder() throws Exception {
+        var merger = merger(
+                List.of(row("BTC", 1, "1"), row("BTC", 4, "4"), row("BTC", 5, "5")),
+                List.of(row("BTC", 2, "2"), row("BTC", 3, "3"), row("BTC", 6, "6")));
+
+        List<ParsedRow> merged = merge(merger);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), timestamps(merged));
+        assertEquals(0, merger.duplicates());
+        assertEquals(0, merger.outOfOrder());
+        assertEquals(Instant.ofEpochMilli(5), merger.maxTimestamp(0));
+        assertEquals(Instant.ofEpochMilli(6), merger.maxTimestamp(1));
+    }
+
+    @Test
+    void shouldKeepRowOfLaterSourceAndLaterRowForDuplicates() throws Exception {
+        var merger = merger(
+                List.of(row("BTC", 1, "1"), row("BTC", 2, "2.0"), row("BTC", 2, "2.1")),
+                List.of(row("BTC", 2, "2.2"), row("BTC", 3, "3")),
+                List.of(row("BTC", 1, "1.5")));
+
+        List<ParsedRow> merged = merge(merger);
+
+        assertEquals(List.of(1L, 2L, 3L), timestamps(merged));
+        assertEquals(new BigDecimal("1.5"), merged.get(0).priceUsd());
+        assertEquals(new BigDecimal("2.2"), merged.get(1).priceUsd());
+        assertEquals(3, merger.duplicates());
+    }
+
+    @Test
+    void shouldOrderBySymbolAndCountRowsGoingBackInTime() throws Exception {
+        var merger = merger(
+                List.of(row("ETH", 1, "1"), row("ETH", 3, "3"), row("ETH", 2, "2")),
+                List.of(row("BTC", 5, "5")),
+                List.of());
+
+        List<ParsedRow> merged = merge(merger);
+
+        assertEquals(List.of("BTC", "ETH", "ETH", "ETH"), merged.stream().map(ParsedRow::symbol).toList());
+        assertEquals(List.of(5L, 1L, 3L, 2L), timestamps(merged));
+        assertEquals(1, merger.outOfOrder());
+        assertNull(merger.maxTimestamp(2));
+    }
+
+    @Test
+    void shouldProduceSortedDistinctKeysForRandomSortedSources() throws Exception {
+        var random = new Random(13);
+        List<List<ParsedRow>> sources = new ArrayList<>();
+        for (int s = 0; s < 7; s++) {
+            List<ParsedRow> rows = new ArrayList<>();
+            long ts = random.nextInt(10);
+            for (int i = 0; i < 500; i++) {
+                rows.add(row("BTC", ts, Long.toString(s)));
+                ts += random.nextInt(4); // 0 repeats the timestamp within the source
+            }
+            sources.add(rows);
+        }
+
+        @SuppressWarnings("unchecked")
+        var merger = merger(sources.toArray(List[]::new));
+        List<Long> merged = timestamps(merge(merger));
+
+        assertEquals(merged.stream().distinct().sorted().toList(), merged);
+        assertEquals(7 * 500, merged.size() + merger.duplicates());
+    }
+
+    @SafeVarargs
+    private static SortedRowMerger merger(List<ParsedRow>... sources) {
+        SortedRowMerger.RowCursor[] cursors = new SortedRowMerger.RowCursor[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            Iterator<ParsedRow> it = sources[i].iterator();
+            cursors[i] = () -> it.hasNext() ? it.next() : null;
+        }
+        return new SortedRowMerger(cursors);
+    }
+
+    private static List<ParsedRow> merge(SortedRowMerger merger) throws Exception {
+        List<ParsedRow> merged = new ArrayList<>();
+        merger.mergeInto(merged::add);
+        return merged;
+    }
+
+    private static List<Long> timestamps(List<ParsedRow> rows) {
+        return rows.stream().map(r -> r.timestamp().toEpochMilli()).toList();
+    }
+
+    private static ParsedRow row(String symbol, long epochMillis, String price) {
+        return new ParsedRow(symbol, Instant.ofEpochMilli(epochMillis), new BigDecimal(price));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.crypto.adapters.in.warmup;
+
+import com.example.crypto.adapters.in.web.controller.CryptoController;
+import com.example.crypto.application.service.CryptoRecommendationService;
+import com.example.crypto.config.properties.AppWarmUpProperties;
+import com.example.crypto.domain.exception.NoDataForRangeException;
+import com.example.crypto.domain.model.TimeRange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link StartupWarmUp}.
+ */
+class StartupWarmUpTest {
+
+    private static final TimeRange DATASET =
+            new TimeRange(Instant.parse("2022-01-01T00:00:00Z"), Instant.parse("2022-01-31T21:00:00.001Z"));
+
+    private final CryptoRecommendationService service = mock(CryptoRecommendationService.class);
+    private final CryptoController controller = mock(CryptoController.class);
+
+    @Test
+    void shouldPrecomputeCachedResultsAndCallEndpoints() {
+        when(service.resolveRange(null, null)).thenReturn(DATASET);
+        when(service.supportedSymbols()).thenReturn(List.of("BTC", "ETH"));
+        when(service.bestForDay(LocalDate.parse("2022-01-30")))
+                .thenThrow(new NoDataForRangeException("ALL", Instant.EPOCH, Instant.EPOCH));
+        when(controller.recommendations(null, null, null, 0)).thenReturn(List.of());
+
+        warmUp(new AppWarmUpProperties(true, Duration.ofMinutes(1), 3, 10));
+
+        verify(service).recommendations(DATASET);
+        verify(service).stats("BTC", DATASET);
+        verify(service).stats("ETH", DATASET);
+        verify(service).bestForDay(LocalDate.parse("2022-01-31"));
+        verify(service).bestForDay(LocalDate.parse("2022-01-30"));
+        verify(service).bestForDay(LocalDate.parse("2022-01-29"));
+        verify(controller, times(10)).recommendations(null, null, null, 0);
+        verify(controller, times(5)).stats("BTC", null, null);
+        verify(controller, times(5)).stats("ETH", null, null);
+        verify(controller, times(4)).bestForDay(LocalDate.parse("2022-01-31"));
+    }
+
+    @Test
+    void shouldStopWhenBudgetIsUsedUp() {
+        when(service.resolveRange(null, null)).thenReturn(DATASET);
+        when(service.supportedSymbols()).thenReturn(List.of("BTC"));
+
+        warmUp(new AppWarmUpProperties(true, Duration.ZERO, 3, 10));
+
+        verify(service, never()).recommendations(any());
+        verifyNoInteractions(controller);
+    }
+
+    @Test
+    void shouldSkipWithoutData() {
+        when(service.resolveRange(null, null))
+                .thenThrow(new NoDataForRangeException("ALL", Instant.EPOCH, Instant.EPOCH));
+
+        warmUp(new AppWarmUpProperties(true, Duration.ofMinutes(1), 3, 10));
+
+        verify(service, never()).supportedSymbols();
+        verifyNoInteractions(controller);
+    }
+
+    @Test
+    void shouldNotFailStartupWhenWarmUpFails() {
+        when(service.resolveRange(null, null)).thenReturn(DATASET);
+        when(service.supportedSymbols()).thenThrow(new IllegalStateException("db down"));
+
+        warmUp(new AppWarmUpProperties(true, Duration.ofMinutes(1), 3, 10));
+
+        verifyNoInteractions(controller);
+    }
+
+    @Test
+    void shouldSkipWhenDisabled() {
+        warmUp(new AppWarmUpProperties(false, Duration.ofMinutes(1), 3, 10));
+
+        verifyNoInteractions(service, controller);
+    }
+
+    private void warmUp(AppWarmUpProperties props) {
+        new StartupWarmUp(props, service, controller, new ObjectMapper()).run(new DefaultApplicationArguments());
+    }
+}
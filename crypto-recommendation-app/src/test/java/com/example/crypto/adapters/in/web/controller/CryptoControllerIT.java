@@ -65,6 +65,63 @@ class CryptoControllerIT {
                 .andExpect(jsonPath("$[0].normalizedRange", notNullValue()));
     }
 
+    @Test
+    void recommendationsShouldReturnRequestedPage() throws Exception {
+        mockMvc.perform(get("/api/v1/cryptos/recommendations")
+                        .param("from", "2026-01-01")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].symbol", is("BTC")));
+
+        mockMvc.perform(get("/api/v1/cryptos/recommendations")
+                        .param("from", "2026-01-01")
+                        .param("limit", "5")
+                        .param("offset", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].symbol", is("ETH")));
+
+        mockMvc.perform(get("/api/v1/cryptos/recommendations")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations", not(empty())));
+    }
+
+    @Test
+    void recommendationSeriesShouldRankEveryWindow() throws Exception {
+        repo.save(new PricePointEntity("ETH", Instant.parse("2026-01-03T00:00:00Z"), new BigDecimal("10")));
+        repo.save(new PricePointEntity("ETH", Instant.parse("2026-01-03T12:00:00Z"), new BigDecimal("30")));
+
+        mockMvc.perform(get("/api/v1/cryptos/recommendations/series")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-01-03")
+                        .param("step", "P1D"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].from", is("2026-01-01")))
+                .andExpect(jsonPath("$[0].to", is("2026-01-01")))
+                .andExpect(jsonPath("$[0].recommendations", hasSize(1)))
+                .andExpect(jsonPath("$[0].recommendations[0].symbol", is("BTC")))
+                .andExpect(jsonPath("$[1].from", is("2026-01-03")))
+                .andExpect(jsonPath("$[1].recommendations[0].symbol", is("ETH")));
+
+        mockMvc.perform(get("/api/v1/cryptos/recommendations/series")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-01-31")
+                        .param("step", "P1W")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].to", is("2026-01-07")))
+                .andExpect(jsonPath("$[0].recommendations[0].symbol", is("ETH")))
+                .andExpect(jsonPath("$[0].recommendations[0].max", closeTo(30.0, 0.000001)));
+
+        mockMvc.perform(get("/api/v1/cryptos/recommendations/series").param("step", "PT1H"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations", not(empty())));
+    }
+
     @Test
     void statsShouldReturnOldestNewestMinMax() throws Exception {
         mockMvc.perform(get("/api/v1/cryptos/BTC/stats")
@@ -89,6 +146,78 @@ class CryptoControllerIT {
                 .andExpect(jsonPath("$.symbol", is("DOGE")));
     }
 
+    @Test
+    void statsForSeveralSymbolsShouldReturnOneEntryPerSymbol() throws Exception {
+        mockMvc.perform(get("/api/v1/cryptos/stats")
+                        .param("symbols", "eth,BTC")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].symbol", is("BTC")))
+                .andExpect(jsonPath("$[0].min", closeTo(10.0, 0.000001)))
+                .andExpect(jsonPath("$[0].newest.timestamp", is("2026-01-01T23:00:00Z")))
+                .andExpect(jsonPath("$[1].symbol", is("ETH")))
+                .andExpect(jsonPath("$[1].max", closeTo(22.0, 0.000001)));
+
+        mockMvc.perform(get("/api/v1/cryptos/stats").param("symbols", "all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        mockMvc.perform(get("/api/v1/cryptos/stats").param("symbols", "BTC,DOGE"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.symbol", is("DOGE")));
+
+        mockMvc.perform(get("/api/v1/cryptos/stats").param("symbols", "BT!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations", not(empty())));
+    }
+
+    @Test
+    void windowsShouldReturnMostVolatileWindows() throws Exception {
+        mockMvc.perform(get("/api/v1/cryptos/BTC/windows")
+                        .param("days", "1")
+                        .param("from", "2026-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].symbol", is("BTC")))
+                .andExpect(jsonPath("$[0].from", is("2026-01-01T00:00:00Z")))
+                .andExpect(jsonPath("$[0].to", is("2026-01-02T00:00:00Z")))
+                .andExpect(jsonPath("$[0].low.price", closeTo(10.0, 0.000001)))
+                .andExpect(jsonPath("$[0].high.price", closeTo(15.0, 0.000001)));
+
+        mockMvc.perform(get("/api/v1/cryptos/windows")
+                        .param("days", "1")
+                        .param("from", "2026-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].symbol", is("BTC")))
+                .andExpect(jsonPath("$[1].symbol", is("ETH")));
+
+        mockMvc.perform(get("/api/v1/cryptos/BTC/windows").param("days", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations", not(empty())));
+    }
+
+    @Test
+    void latestShouldReturnNewestPricePerSymbol() throws Exception {
+        mockMvc.perform(get("/api/v1/cryptos/latest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].symbol", is("BTC")))
+                .andExpect(jsonPath("$[0].timestamp", is("2026-01-01T23:00:00Z")))
+                .andExpect(jsonPath("$[0].price", closeTo(15.0, 0.000001)));
+
+        mockMvc.perform(get("/api/v1/cryptos/eth/latest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.symbol", is("ETH")))
+                .andExpect(jsonPath("$.price", closeTo(22.0, 0.000001)));
+
+        mockMvc.perform(get("/api/v1/cryptos/DOGE/latest"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType("application/problem+json"));
+    }
+
     @Test
     void bestForDayShouldReturnCrypto() throws Exception {
         mockMvc.perform(get("/api/v1/cryptos/best")
@@ -0,0 +1,66 @@
+package com.example.crypto.adapters.out.cache;
+
+import com.example.crypto.application.service.CryptoRecommendationService.RecommendationRow;
+import com.example.crypto.domain.model.CryptoStats;
+import com.example.crypto.domain.model.PricePoint;
+import com.example.crypto.domain.model.PriceRange;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CacheEntryWeigher}.
+ */
+class CacheEntryWeigherTest {
+
+    private final CacheEntryWeigher weigher = new CacheEntryWeigher();
+
+    @Test
+    void shouldWeighListsProportionallyToTheirSize() {
+        int small = weigher.weigh("2022-01-01|2022-02-01", rows(10));
+        int large = weigher.weigh("2022-01-01|2022-02-01", rows(10_000));
+
+        assertThat(large).isGreaterThan(500 * small);
+        assertThat(large / 10_000).isBetween(50, 200);
+    }
+
+    @Test
+    void shouldWalkRecordComponents() {
+        var point = new PricePoint(Instant.EPOCH, new BigDecimal("46813.21"));
+        var stats = new CryptoStats("BTC", point, point, BigDecimal.ONE, BigDecimal.TEN, BigDecimal.TEN);
+
+        assertThat(CacheEntryWeigher.estimate(stats))
+                .isGreaterThan(2 * CacheEntryWeigher.estimate(point) + CacheEntryWeigher.estimate("BTC"));
+    }
+
+    @Test
+    void shouldWeighTimestampedValuesByTheirValue() {
+        var rows = rows(100);
+        var stamped = new CoalescingCaffeineCache.TimestampedValue(rows, 42L);
+
+        assertThat(CacheEntryWeigher.estimate(stamped)).isGreaterThan(CacheEntryWeigher.estimate(rows));
+    }
+
+    @Test
+    void shouldCountExactPricesAndUnknownTypes() {
+        var scaled = PriceRange.of(BigDecimal.ONE, BigDecimal.TEN);
+        var exact = PriceRange.of(new BigDecimal("1e30"), new BigDecimal("1.00000000000000000001"));
+
+        assertThat(CacheEntryWeigher.estimate(exact)).isGreaterThan(CacheEntryWeigher.estimate(scaled));
+        assertThat(CacheEntryWeigher.estimate(new Object())).isEqualTo(CacheEntryWeigher.UNKNOWN_BYTES);
+        assertThat(CacheEntryWeigher.estimate(null)).isZero();
+    }
+
+    private static List<RecommendationRow> rows(int count) {
+        List<RecommendationRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new RecommendationRow("SYM" + i, PriceRange.ofScaled(i, i + 1L)));
+        }
+        return List.copyOf(rows);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.crypto.adapters.out.cache;
+
+import com.example.crypto.config.CacheConfig;
+import com.example.crypto.config.properties.AppCacheProperties;
+import com.example.crypto.domain.event.PriceDataChangedEvent;
+import com.example.crypto.domain.model.TimeRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CacheInvalidationListener}.
+ */
+class CacheInvalidationListenerTest {
+
+    private final CacheManager cacheManager = new CacheConfig()
+            .cacheManager(new AppCacheProperties(null, null, null, null), new DatasetWatermark(), new SimpleMeterRegistry());
+    private final CacheInvalidationListener listener = new CacheInvalidationListener(cacheManager);
+
+    @Test
+    void shouldEvictOnlyEntriesOverlappingChangedSymbolsAndSpan() {
+        var january = TimeRange.of(LocalDate.parse("2022-01-01"), LocalDate.parse("2022-01-31"));
+        var february = TimeRange.of(LocalDate.parse("2022-02-01"), LocalDate.parse("2022-02-28"));
+
+        var recommendations = cacheManager.getCache(CacheConfig.CACHE_RECOMMENDATIONS);
+        recommendations.put(RangeKey.of(january), "january");
+        recommendations.put(RangeKey.of(february), "february");
+        var stats = cacheManager.getCache(CacheConfig.CACHE_STATS);
+        stats.put(RangeKey.of("BTC", february), "btc");
+        stats.put(RangeKey.of("ETH", february), "eth");
+        var bestForDay = cacheManager.getCache(CacheConfig.CACHE_BEST_DAY);
+        bestForDay.put(RangeKey.of(LocalDate.parse("2022-02-01")), "feb-1");
+        bestForDay.put(RangeKey.of(LocalDate.parse("2022-02-10")), "feb-10");
+        var supported = cacheManager.getCache(CacheConfig.CACHE_SUPPORTED);
+        supported.put("all", List.of("BTC"));
+
+        // BTC rows appended from Feb 1st 12:00 to Feb 5th
+        listener.onPriceDataChanged(new PriceDataChangedEvent(Set.of("BTC"),
+                Instant.parse("2022-02-01T12:00:00Z"), Instant.parse("2022-02-05T00:00:00Z")));
+
+        assertThat(recommendations.get(RangeKey.of(january))).isNotNull();
+        assertThat(recommendations.get(RangeKey.of(february))).isNull();
+        assertThat(stats.get(RangeKey.of("BTC", february))).isNull();
+        assertThat(stats.get(RangeKey.of("ETH", february))).isNotNull();
+        assertThat(bestForDay.get(RangeKey.of(LocalDate.parse("2022-02-01")))).isNull();
+        assertThat(bestForDay.get(RangeKey.of(LocalDate.parse("2022-02-10")))).isNotNull();
+        assertThat(supported.get("all")).isNull();
+    }
+
+    @Test
+    void rangeEndingAtChangedTimestampShouldNotBeAffected() {
+        var key = new RangeKey("BTC", Instant.parse("2022-01-01T00:00:00Z"), Instant.parse("2022-02-01T00:00:00Z"));
+
+        assertThat(key.isAffectedBy(new PriceDataChangedEvent(Set.of("BTC"),
+                Instant.parse("2022-02-01T00:00:00Z"), Instant.parse("2022-02-02T00:00:00Z")))).isFalse();
+        assertThat(key.isAffectedBy(PriceDataChangedEvent.allTime(Set.of("BTC")))).isTrue();
+        assertThat(key.isAffectedBy(PriceDataChangedEvent.allTime(Set.of("ETH")))).isFalse();
+    }
+}
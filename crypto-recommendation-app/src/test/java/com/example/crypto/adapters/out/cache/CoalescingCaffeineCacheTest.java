@@ -0,0 +1,185 @@
+package com.example.crypto.adapters.out.cache;
+
+import com.example.crypto.domain.model.TimeRange;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link CoalescingCaffeineCache}.
+ */
+class CoalescingCaffeineCacheTest {
+
+    private static final int CALLERS = 16;
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration REFRESH = Duration.ofMinutes(4);
+    private static final Duration STALE_IF_ERROR = Duration.ofMinutes(10);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DatasetWatermark watermark = new DatasetWatermark();
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private final RangeAwareExpiry expiry = new RangeAwareExpiry(watermark, TTL, STALE_IF_ERROR);
+    private final CoalescingCaffeineCache cache = new CoalescingCaffeineCache("recommendations",
+            Caffeine.newBuilder().expireAfter(expiry).ticker(nanos::get).executor(Runnable::run).recordStats()
+                    .buildAsync(),
+            true, registry, expiry, REFRESH, nanos::get, refreshes::add);
+
+    @Test
+    void concurrentMissesShouldShareOneComputation() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> cache.get("key", () -> {
+                    computations.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "value";
+                })));
+            }
+            // wait until all callers but the computing one are queued behind it
+            while (coalescedWaiters() < CALLERS - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        }
+
+        assertThat(computations).hasValue(1);
+        assertThat(coalescedWaiters()).isEqualTo(CALLERS - 1);
+        assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+        assertThat(cache.getNativeCache().stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failureShouldBePropagatedAndNotCached() {
+        var failure = new IllegalStateException("db down");
+
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw failure;
+        })).isInstanceOf(Cache.ValueRetrievalException.class).hasCause(failure);
+
+        assertThat(cache.get("key", () -> "recovered")).isEqualTo("recovered");
+        assertThat(cache.get("key", () -> "other")).isEqualTo("recovered");
+    }
+
+    @Test
+    void readAfterRefreshAfterWriteShouldServeCurrentValueAndRefreshInBackgroundOnce() {
+        cache.put("key", "v1");
+        advance(REFRESH.plusSeconds(1));
+
+        assertThat(cache.get("key", () -> "v2")).isEqualTo("v1");
+        assertThat(cache.get("key", () -> "v3")).isEqualTo("v1");
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.removeFirst().run();
+
+        assertThat(cache.get("key", () -> "other")).isEqualTo("v2");
+        assertThat(counter("cache.refreshes", "success")).isEqualTo(1);
+        assertThat(entryAgeSeconds()).isZero();
+    }
+
+    @Test
+    void refreshShouldNotRestoreEntryEvictedMeanwhile() {
+        cache.put("key", "v1");
+        advance(REFRESH.plusSeconds(1));
+        cache.get("key", () -> "v2");
+
+        cache.evict("key");
+        refreshes.removeFirst().run();
+
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void failedRefreshShouldKeepCachedValue() {
+        cache.put("key", "v1");
+        advance(REFRESH.plusSeconds(1));
+        cache.get("key", CoalescingCaffeineCacheTest::dbDown);
+
+        refreshes.removeFirst().run();
+
+        assertThat(cache.get("key", () -> "other")).isEqualTo("v1");
+        assertThat(counter("cache.refreshes", "failure")).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntryShouldBeRecomputedByTheReader() {
+        cache.put("key", "v1");
+        advance(TTL.plusSeconds(1));
+
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.get("key", () -> "v2")).isEqualTo("v2");
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    void expiredEntryShouldBeServedWhileRecomputingFailsWithinStaleIfError() {
+        cache.put("key", "v1");
+        advance(TTL.plusSeconds(1));
+        assertThat(entryAgeSeconds()).isEqualTo(TTL.plusSeconds(1).toSeconds());
+
+        assertThat(cache.get("key", CoalescingCaffeineCacheTest::dbDown)).isEqualTo("v1");
+        assertThat(registry.get("cache.stale.served").counter().count()).isEqualTo(1);
+
+        // the stale value keeps its age and is dropped at the end of the window
+        advance(STALE_IF_ERROR);
+        assertThatThrownBy(() -> cache.get("key", CoalescingCaffeineCacheTest::dbDown))
+                .isInstanceOf(Cache.ValueRetrievalException.class);
+        assertThat(cache.get("key", () -> "v2")).isEqualTo("v2");
+    }
+
+    @Test
+    void closedRangeShouldNeitherRefreshNorExpire() {
+        watermark.update(Instant.parse("2022-01-31T23:00:00Z"));
+        var january = RangeKey.of(TimeRange.of(LocalDate.parse("2022-01-01"), LocalDate.parse("2022-01-30")));
+        cache.put(january, "closed");
+
+        advance(TTL.plus(STALE_IF_ERROR).plusSeconds(1));
+
+        assertThat(cache.get(january, () -> "other")).isEqualTo("closed");
+        assertThat(refreshes).isEmpty();
+        assertThat(entryAgeSeconds()).isZero();
+    }
+
+    private static String dbDown() {
+        throw new IllegalStateException("db down");
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private double counter(String name, String result) {
+        return registry.get(name).tag("result", result).counter().count();
+    }
+
+    private double entryAgeSeconds() {
+        return registry.get("cache.entry.age.max").timeGauge().value(TimeUnit.SECONDS);
+    }
+
+    private double coalescedWaiters() {
+        return registry.get("cache.coalesced.waiters").tag("cache", "recommendations").counter().count();
+    }
+}
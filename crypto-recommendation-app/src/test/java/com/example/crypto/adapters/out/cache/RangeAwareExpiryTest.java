@@ -0,0 +1,61 @@
+package com.example.crypto.adapters.out.cache;
+
+import com.example.crypto.domain.model.TimeRange;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link RangeAwareExpiry}.
+ */
+class RangeAwareExpiryTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final DatasetWatermark watermark = new DatasetWatermark();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Cache<Object, Object> cache = Caffeine.newBuilder()
+            .expireAfter(new RangeAwareExpiry(watermark, TTL))
+            .ticker(nanos::get)
+            .executor(Runnable::run)
+            .build();
+
+    @Test
+    void shouldKeepClosedRangesAndExpireLiveOnes() {
+        watermark.update(Instant.parse("2022-01-31T23:00:00Z"));
+
+        var january = RangeKey.of(TimeRange.of(LocalDate.parse("2022-01-01"), LocalDate.parse("2022-01-30")));
+        var lastDay = RangeKey.of(LocalDate.parse("2022-01-31"));
+        var btcUpToMark = RangeKey.of("btc", new TimeRange(Instant.EPOCH, Instant.parse("2022-01-31T23:00:00Z")));
+        cache.put(january, "closed");
+        cache.put(lastDay, "live");
+        cache.put(btcUpToMark, "closed");
+        cache.put("supported", "no range");
+
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+
+        assertThat(cache.getIfPresent(january)).isEqualTo("closed");
+        assertThat(cache.getIfPresent(new RangeKey("BTC", Instant.EPOCH, Instant.parse("2022-01-31T23:00:00Z"))))
+                .isEqualTo("closed");
+        assertThat(cache.getIfPresent(lastDay)).isNull();
+        assertThat(cache.getIfPresent("supported")).isNull();
+    }
+
+    @Test
+    void shouldTreatAllRangesAsLiveUntilWatermarkIsPublished() {
+        var key = RangeKey.of(LocalDate.parse("2022-01-01"));
+        cache.put(key, "value");
+
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+
+        assertThat(cache.getIfPresent(key)).isNull();
+        assertThat(watermark.isClosed(key)).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.crypto.adapters.out.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link PriceSeries}.
+ */
+class PriceSeriesTest {
+
+    @Test
+    void shouldSortByTimestampAndCollapseDuplicates() {
+        PriceSeries series = PriceSeries.builder("BTC")
+                .add(30, new BigDecimal("3"))
+                .add(10, new BigDecimal("1"))
+                .add(20, new BigDecimal("2"))
+                .add(10, new BigDecimal("1.5"))
+                .build();
+
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.timestampAt(0)).isEqualTo(10);
+        assertThat(series.timestampAt(2)).isEqualTo(30);
+        assertThat(series.priceAt(0)).isEqualByComparingTo("1.5");
+    }
+
+    @Test
+    void lowerBoundShouldReturnFirstIndexAtOrAfterTimestamp() {
+        PriceSeries series = PriceSeries.builder("BTC")
+                .add(10, BigDecimal.ONE)
+                .add(20, BigDecimal.ONE)
+                .add(30, BigDecimal.ONE)
+                .build();
+
+        assertThat(series.lowerBound(0)).isEqualTo(0);
+        assertThat(series.lowerBound(10)).isEqualTo(0);
+        assertThat(series.lowerBound(11)).isEqualTo(1);
+        assertThat(series.lowerBound(30)).isEqualTo(2);
+        assertThat(series.lowerBound(31)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFindMinAndMaxWithinIndexRange() {
+        PriceSeries series = PriceSeries.builder("ETH")
+                .add(1, new BigDecimal("20"))
+                .add(2, new BigDecimal("19"))
+                .add(3, new BigDecimal("25"))
+                .add(4, new BigDecimal("1"))
+                .build();
+
+        assertThat(series.priceAt(series.minIndex(0, 3))).isEqualByComparingTo("19");
+        assertThat(series.priceAt(series.maxIndex(0, 3))).isEqualByComparingTo("25");
+        assertThat(series.priceAt(series.minIndex(0, 4))).isEqualByComparingTo("1");
+        assertThatThrownBy(() -> series.minIndex(2, 2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void shouldKeepPriceScaleOfDatabaseColumn() {
+        PriceSeries series = PriceSeries.builder("BTC").add(Instant.EPOCH, new BigDecimal("46813.21")).build();
+
+        assertThat(series.priceAt(0)).isEqualTo(new BigDecimal("46813.2100000000"));
+        assertThat(series.pointAt(0).timestamp()).isEqualTo(Instant.EPOCH);
+    }
+
+    @Test
+    void shouldFallBackToExactPricesWhenFixedPointOverflows() {
+        PriceSeries series = PriceSeries.builder("HUGE")
+                .add(1, new BigDecimal("99999999999999.5"))
+                .add(2, new BigDecimal("1"))
+                .build();
+
+        assertThat(series.priceAt(0)).isEqualByComparingTo("99999999999999.5");
+        assertThat(series.maxIndex(0, 2)).isEqualTo(0);
+        assertThat(series.minIndex(0, 2)).isEqualTo(1);
+    }
+}
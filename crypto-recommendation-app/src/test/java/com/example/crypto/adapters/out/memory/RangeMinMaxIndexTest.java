@@ -0,0 +1,56 @@
+package com.example.crypto.adapters.out.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link RangeMinMaxIndex}.
+ */
+class RangeMinMaxIndexTest {
+
+    @Test
+    void shouldMatchLinearScanForAllRanges() {
+        Random random = new Random(42);
+
+        for (int size : new int[]{1, 2, 31, 32, 33, 64, 65, 200, 1_000}) {
+            long[] prices = random.longs(size, 0, 50).toArray();
+            RangeMinMaxIndex index = new RangeMinMaxIndex(size, (i, j) -> Long.compare(prices[i], prices[j]));
+
+            for (int from = 0; from < size; from += Math.max(1, size / 40)) {
+                for (int to = from + 1; to <= size; to++) {
+                    assertThat(prices[index.minIndex(from, to)]).isEqualTo(scanMin(prices, from, to));
+                    assertThat(prices[index.maxIndex(from, to)]).isEqualTo(scanMax(prices, from, to));
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldReportFootprintSublinearToPlainSparseTable() {
+        int size = 100_000;
+        RangeMinMaxIndex index = new RangeMinMaxIndex(size, Integer::compare);
+
+        assertThat(index.size()).isEqualTo(size);
+        assertThat(index.footprintBytes()).isPositive().isLessThan(4L * size);
+        assertThat(index.buildNanos()).isPositive();
+    }
+
+    private static long scanMin(long[] prices, int from, int to) {
+        long min = Long.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, prices[i]);
+        }
+        return min;
+    }
+
+    private static long scanMax(long[] prices, int from, int to) {
+        long max = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, prices[i]);
+        }
+        return max;
+    }
+}
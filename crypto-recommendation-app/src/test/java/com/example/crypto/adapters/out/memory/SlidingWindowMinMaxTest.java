@@ -0,0 +1,74 @@
+package com.example.crypto.adapters.out.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link SlidingWindowMinMax}.
+ */
+class SlidingWindowMinMaxTest {
+
+    @Test
+    void shouldMatchRangeQueriesForEveryReportedWindow() {
+        Random random = new Random(42);
+        PriceSeries.Builder builder = PriceSeries.builder("BTC");
+        long timestamp = 0;
+        for (int i = 0; i < 2_000; i++) {
+            timestamp += 1 + random.nextInt(10);
+            builder.add(timestamp, BigDecimal.valueOf(1 + random.nextInt(50)));
+        }
+        PriceSeries series = builder.build();
+        long end = series.timestampAt(series.size() - 1) + 1;
+
+        for (long length : new long[]{1, 7, 100, 5_000}) {
+            List<int[]> windows = new ArrayList<>();
+            SlidingWindowMinMax.sweep(series, 0, series.size(), length, end,
+                    (from, to, min, max) -> windows.add(new int[]{from, to, min, max}));
+
+            int previousFrom = -1;
+            for (int[] w : windows) {
+                assertThat(w[0]).isGreaterThan(previousFrom);
+                assertThat(w[1]).isEqualTo(series.lowerBound(series.timestampAt(w[0]) + length));
+                assertThat(series.comparePrices(w[2], series.minIndex(w[0], w[1]))).isZero();
+                assertThat(series.comparePrices(w[3], series.maxIndex(w[0], w[1]))).isZero();
+                assertThat(series.timestampAt(w[0]) + length).isLessThanOrEqualTo(end);
+                previousFrom = w[0];
+            }
+            assertThat(windows).isNotEmpty();
+        }
+    }
+
+    @Test
+    void shouldReportWindowsWithSameExtremesOnce() {
+        PriceSeries series = PriceSeries.builder("ETH")
+                .add(0, new BigDecimal("3"))
+                .add(1, new BigDecimal("1"))
+                .add(2, new BigDecimal("50"))
+                .add(3, new BigDecimal("2"))
+                .add(4, new BigDecimal("60"))
+                .add(5, new BigDecimal("0.5"))
+                .build();
+
+        List<String> windows = new ArrayList<>();
+        SlidingWindowMinMax.sweep(series, 0, series.size(), 3, 6,
+                (from, to, min, max) -> windows.add(from + ":" + min + "-" + max));
+
+        // [1,4) has the same extremes as [0,3); [4,7) and [5,8) end after the period
+        assertThat(windows).containsExactly("0:1-2", "2:3-4", "3:5-4");
+
+        windows.clear();
+        SlidingWindowMinMax.sweep(series, 0, series.size(), 10, 6,
+                (from, to, min, max) -> windows.add(from + ":" + min + "-" + max));
+        assertThat(windows).isEmpty();
+
+        assertThatThrownBy(() -> SlidingWindowMinMax.sweep(series, 0, 6, 0, 6, (from, to, min, max) -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
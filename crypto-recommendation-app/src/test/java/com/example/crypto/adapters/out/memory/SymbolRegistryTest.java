@@ -0,0 +1,35 @@
+package com.example.crypto.adapters.out.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SymbolRegistry}.
+ */
+class SymbolRegistryTest {
+
+    @Test
+    void shouldAssignDenseIdsInAlphabeticalOrder() {
+        SymbolRegistry registry = SymbolRegistry.of(List.of("XRP", "BTC", "ETH", "BTC"));
+
+        assertThat(registry.size()).isEqualTo(3);
+        assertThat(registry.symbols()).containsExactly("BTC", "ETH", "XRP");
+        assertThat(registry.idOf("BTC")).isZero();
+        assertThat(registry.idOf("XRP")).isEqualTo(2);
+        assertThat(registry.symbolOf(1)).isEqualTo("ETH");
+    }
+
+    @Test
+    void shouldRejectUnknownSymbols() {
+        SymbolRegistry registry = SymbolRegistry.of(List.of("BTC"));
+
+        assertThat(registry.contains("BTC")).isTrue();
+        assertThat(registry.contains("DOGE")).isFalse();
+        assertThat(registry.contains(null)).isFalse();
+        assertThat(registry.idOf("DOGE")).isEqualTo(-1);
+        assertThat(SymbolRegistry.EMPTY.size()).isZero();
+    }
+}
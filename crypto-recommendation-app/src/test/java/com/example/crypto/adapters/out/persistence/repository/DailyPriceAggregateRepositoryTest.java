@@ -0,0 +1,89 @@
+package com.example.crypto.adapters.out.persistence.repository;
+
+import com.example.crypto.adapters.out.persistence.rollup.DailyRollupMaintainer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for daily rollups written by {@link DailyRollupMaintainer}.
+ */
+@DataJpaTest
+class DailyPriceAggregateRepositoryTest {
+
+    @Autowired
+    DailyPriceAggregateRepository repo;
+
+    @Test
+    void shouldRollUpPricePointsPerSymbolAndUtcDay() {
+        DailyRollupMaintainer maintainer = new DailyRollupMaintainer(repo);
+        var acc = maintainer.newAccumulator();
+        acc.add("BTC", Instant.parse("2026-01-01T12:00:00Z"), new BigDecimal("11"));
+        acc.add("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10"));
+        acc.add("BTC", Instant.parse("2026-01-01T23:59:59Z"), new BigDecimal("9"));
+        acc.add("BTC", Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("30"));
+
+        assertThat(maintainer.isReady()).isFalse();
+        maintainer.replaceAll(acc);
+        assertThat(maintainer.isReady()).isTrue();
+
+        var day1 = repo.findAll().stream()
+                .filter(a -> a.getDay().equals(LocalDate.parse("2026-01-01")))
+                .findFirst().orElseThrow();
+        assertThat(day1.getMinPrice()).isEqualByComparingTo("9");
+        assertThat(day1.getMaxPrice()).isEqualByComparingTo("11");
+        assertThat(day1.getFirstTimestamp()).isEqualTo(Instant.parse("2026-01-01T00:00:00Z"));
+        assertThat(day1.getFirstPrice()).isEqualByComparingTo("10");
+        assertThat(day1.getLastTimestamp()).isEqualTo(Instant.parse("2026-01-01T23:59:59Z"));
+        assertThat(day1.getLastPrice()).isEqualByComparingTo("9");
+        assertThat(day1.getPointCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldMergeDailyRowsIntoMinMaxPerSymbol() {
+        DailyRollupMaintainer maintainer = new DailyRollupMaintainer(repo);
+        var acc = maintainer.newAccumulator();
+        acc.add("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10"));
+        acc.add("BTC", Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("15"));
+        acc.add("BTC", Instant.parse("2026-01-03T00:00:00Z"), new BigDecimal("1")); // out of range
+        acc.add("ETH", Instant.parse("2026-01-02T06:00:00Z"), new BigDecimal("100"));
+        maintainer.replaceAll(acc);
+
+        var rows = repo.findMinMaxBySymbolInDayRange(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-03"));
+        assertThat(rows).hasSize(2);
+
+        var btc = rows.stream().filter(r -> r.getSymbol().equals("BTC")).findFirst().orElseThrow();
+        assertThat(btc.getMinPrice()).isEqualByComparingTo("10");
+        assertThat(btc.getMaxPrice()).isEqualByComparingTo("15");
+
+        maintainer.clear();
+        assertThat(maintainer.hasRollups()).isFalse();
+        assertThat(maintainer.isReady()).isFalse();
+    }
+
+    @Test
+    void shouldReturnMinMaxPerSymbolAndDay() {
+        DailyRollupMaintainer maintainer = new DailyRollupMaintainer(repo);
+        var acc = maintainer.newAccumulator();
+        acc.add("ETH", Instant.parse("2026-01-02T06:00:00Z"), new BigDecimal("100"));
+        acc.add("BTC", Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("15"));
+        acc.add("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10"));
+        acc.add("BTC", Instant.parse("2026-01-01T23:00:00Z"), new BigDecimal("12"));
+        acc.add("BTC", Instant.parse("2026-01-03T00:00:00Z"), new BigDecimal("1")); // out of range
+        maintainer.replaceAll(acc);
+
+        var rows = repo.findMinMaxBySymbolAndDayInDayRange(
+                LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-03"));
+
+        assertThat(rows).extracting(r -> r.getSymbol() + "@" + LocalDate.ofEpochDay(r.getEpochDay().longValue()))
+                .containsExactly("BTC@2026-01-01", "BTC@2026-01-02", "ETH@2026-01-02");
+        assertThat(rows.get(0).getMinPrice()).isEqualByComparingTo("10");
+        assertThat(rows.get(0).getMaxPrice()).isEqualByComparingTo("12");
+    }
+}
@@ -5,6 +5,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -34,6 +36,25 @@ class PricePointRepositoryAggregatesTest {
     assertThat(newest.getTimestamp()).isEqualTo(Instant.parse("2026-01-01T12:00:00Z"));
   }
 
+  @Test
+  void shouldAggregateCatalogBySymbol() {
+    repo.save(new PricePointEntity("ETH", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("20")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("12")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T12:00:00Z"), new BigDecimal("11")));
+
+    var rows = repo.findCatalogBySymbol();
+
+    assertThat(rows).extracting(r -> r.getSymbol()).containsExactly("BTC", "ETH");
+    var btc = rows.get(0);
+    assertThat(btc.getFirstTimestamp()).isEqualTo(Instant.parse("2026-01-01T00:00:00Z"));
+    assertThat(btc.getLastTimestamp()).isEqualTo(Instant.parse("2026-01-02T00:00:00Z"));
+    assertThat(btc.getRowCount()).isEqualTo(3);
+    assertThat(btc.getLatestPrice()).isEqualByComparingTo("12");
+    assertThat(repo.findFirstBySymbolOrderByTimestampDesc("BTC").orElseThrow().getPriceUsd())
+        .isEqualByComparingTo("12");
+  }
+
   @Test
   void shouldReturnMinAndMaxForSymbolWithinRange() {
     repo.save(new PricePointEntity("ETH", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("20")));
@@ -72,4 +93,84 @@ class PricePointRepositoryAggregatesTest {
     assertThat(eth.getMinPrice()).isEqualByComparingTo("90");
     assertThat(eth.getMaxPrice()).isEqualByComparingTo("100");
   }
+
+  @Test
+  void shouldReturnStatsForSymbolInSingleQuery() {
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("12")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T06:00:00Z"), new BigDecimal("9")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T12:00:00Z"), new BigDecimal("20")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T18:00:00Z"), new BigDecimal("14")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("1"))); // out of range
+    repo.save(new PricePointEntity("ETH", Instant.parse("2026-01-01T03:00:00Z"), new BigDecimal("100")));
+
+    Instant from = Instant.parse("2026-01-01T00:00:00Z");
+    Instant to = Instant.parse("2026-01-02T00:00:00Z");
+
+    var stats = repo.findStatsForSymbolInRange("BTC", from, to).orElseThrow();
+
+    assertThat(stats.getMinPrice()).isEqualByComparingTo("9");
+    assertThat(stats.getMaxPrice()).isEqualByComparingTo("20");
+    assertThat(stats.getOldestTimestamp()).isEqualTo(Instant.parse("2026-01-01T00:00:00Z"));
+    assertThat(stats.getOldestPrice()).isEqualByComparingTo("12");
+    assertThat(stats.getNewestTimestamp()).isEqualTo(Instant.parse("2026-01-01T18:00:00Z"));
+    assertThat(stats.getNewestPrice()).isEqualByComparingTo("14");
+  }
+
+  @Test
+  void shouldReturnStatsPerRequestedSymbolInSingleQuery() {
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("12")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T12:00:00Z"), new BigDecimal("9")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("1"))); // out of range
+    repo.save(new PricePointEntity("ETH", Instant.parse("2026-01-01T03:00:00Z"), new BigDecimal("100")));
+    repo.save(new PricePointEntity("ETH", Instant.parse("2026-01-01T09:00:00Z"), new BigDecimal("110")));
+    repo.save(new PricePointEntity("XRP", Instant.parse("2026-01-01T03:00:00Z"), new BigDecimal("2"))); // not requested
+
+    Instant from = Instant.parse("2026-01-01T00:00:00Z");
+    Instant to = Instant.parse("2026-01-02T00:00:00Z");
+
+    var rows = repo.findStatsBySymbolInRange(List.of("ETH", "BTC", "DOGE"), from, to);
+
+    assertThat(rows).extracting(r -> r.getSymbol()).containsExactly("BTC", "ETH");
+    var btc = rows.get(0);
+    assertThat(btc.getMinPrice()).isEqualByComparingTo("9");
+    assertThat(btc.getMaxPrice()).isEqualByComparingTo("12");
+    assertThat(btc.getOldestPrice()).isEqualByComparingTo("12");
+    assertThat(btc.getNewestTimestamp()).isEqualTo(Instant.parse("2026-01-01T12:00:00Z"));
+    assertThat(btc.getNewestPrice()).isEqualByComparingTo("9");
+    var eth = rows.get(1);
+    assertThat(eth.getOldestPrice()).isEqualByComparingTo("100");
+    assertThat(eth.getNewestPrice()).isEqualByComparingTo("110");
+  }
+
+  @Test
+  void shouldAggregateMinMaxBySymbolAndUtcDay() {
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T23:00:00Z"), new BigDecimal("15")));
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-02T01:00:00Z"), new BigDecimal("12")));
+    repo.save(new PricePointEntity("ETH", Instant.parse("2026-01-01T12:00:00Z"), new BigDecimal("20")));
+    repo.save(new PricePointEntity("ETH", Instant.parse("2026-01-03T00:00:00Z"), new BigDecimal("30"))); // out of range
+
+    var rows = repo.findMinMaxBySymbolAndDayInRange(
+        Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-03T00:00:00Z"));
+
+    assertThat(rows).extracting(r -> r.getSymbol() + "@" + LocalDate.ofEpochDay(r.getEpochDay().longValue()))
+        .containsExactly("BTC@2026-01-01", "BTC@2026-01-02", "ETH@2026-01-01");
+    assertThat(rows.get(0).getMinPrice()).isEqualByComparingTo("10");
+    assertThat(rows.get(0).getMaxPrice()).isEqualByComparingTo("15");
+    assertThat(rows.get(1).getMaxPrice()).isEqualByComparingTo("12");
+  }
+
+  @Test
+  void statsForEmptyRange_shouldContainOnlyNulls() {
+    repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("12")));
+
+    var stats = repo.findStatsForSymbolInRange("BTC",
+        Instant.parse("2026-02-01T00:00:00Z"), Instant.parse("2026-02-02T00:00:00Z"));
+
+    assertThat(stats).hasValueSatisfying(s -> {
+      assertThat(s.getMinPrice()).isNull();
+      assertThat(s.getOldestPrice()).isNull();
+      assertThat(s.getNewestTimestamp()).isNull();
+    });
+  }
 }
@@ -36,4 +36,12 @@ class PricePointRepositoryTest {
         assertThat(eth.getMinPrice()).isEqualByComparingTo("20");
         assertThat(eth.getMaxPrice()).isEqualByComparingTo("20");
     }
+
+    @Test
+    void shouldCheckWhetherSymbolIsStored() {
+        repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10")));
+
+        assertThat(repo.existsBySymbol("BTC")).isTrue();
+        assertThat(repo.existsBySymbol("DOGE")).isFalse();
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.crypto.adapters.out.persistence.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTest {
+
+  @Test
+  void shouldBehaveLikeHashSetAcrossResizes() {
+    var random = new Random(7);
+    var set = new LongHashSet(4);
+    Set<Long> expected = new HashSet<>();
+
+    for (int i = 0; i < 50_000; i++) {
+      // small range, so that many values repeat
+      long value = random.nextInt(20_000) * 1_000_000L;
+      assertThat(set.add(value)).isEqualTo(expected.add(value));
+    }
+
+    assertThat(set.size()).isEqualTo(expected.size());
+    for (long value = 0; value < 20_000L * 1_000_000L; value += 1_000_000L) {
+      assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+    }
+  }
+
+  @Test
+  void shouldSupportSentinelValue() {
+    var set = new LongHashSet(0);
+
+    assertThat(set.contains(Long.MIN_VALUE)).isFalse();
+    assertThat(set.add(Long.MIN_VALUE)).isTrue();
+    assertThat(set.add(Long.MIN_VALUE)).isFalse();
+    assertThat(set.contains(Long.MIN_VALUE)).isTrue();
+    assertThat(set.size()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.crypto.adapters.out.persistence.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Integration tests for the {@link PricePointWriter} implementations.
+ */
+@DataJpaTest
+class PricePointWriterTest {
+
+  @Autowired
+  PricePointRepository repo;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Test
+  void jdbcWriter_shouldInsertSameRowsAsJpaWriter() {
+    new JpaPricePointWriter(repo).write(points("BTC"));
+    new JdbcPricePointWriter(jdbcTemplate).write(points("ETH"));
+
+    var rows = repo.findAll(Sort.by("symbol", "timestamp"));
+
+    assertThat(rows).hasSize(6);
+    assertThat(rows).extracting(PricePointEntity::getId).doesNotContainNull().doesNotHaveDuplicates();
+    for (int i = 0; i < 3; i++) {
+      var jpa = rows.get(i);
+      var jdbc = rows.get(i + 3);
+      assertThat(jdbc.getSymbol()).isEqualTo("ETH");
+      assertThat(jdbc.getTimestamp()).isEqualTo(jpa.getTimestamp());
+      assertThat(jdbc.getPriceUsd()).isEqualByComparingTo(jpa.getPriceUsd());
+    }
+    assertThat(rows.get(3).getTimestamp()).isEqualTo(Instant.parse("2022-01-01T04:00:00.123Z"));
+    assertThat(rows.get(5).getPriceUsd()).isEqualByComparingTo("0.0000000001");
+  }
+
+  @Test
+  void jdbcWriter_shouldAcceptEmptyBatch() {
+    new JdbcPricePointWriter(jdbcTemplate).write(List.of());
+
+    assertThat(repo.count()).isZero();
+  }
+
+  @Test
+  void jdbcWriter_shouldHonourUniqueSymbolTimestamp() {
+    var writer = new JdbcPricePointWriter(jdbcTemplate);
+    writer.write(points("BTC"));
+
+    assertThatThrownBy(() -> writer.write(points("BTC")))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  void upsertWriter_shouldDeduplicateAndReportInsertedUpdatedSkipped() {
+    var writer = new JdbcPricePointUpsertWriter(jdbcTemplate);
+
+    var first = writer.write(points("BTC"));
+    assertThat(first).isEqualTo(new PricePointWriter.WriteResult(3, 0, 0));
+
+    var second = writer.write(List.of(
+        // changed price of a stored point
+        new PricePointEntity("BTC", Instant.parse("2022-01-01T04:00:00.123Z"), new BigDecimal("1.5")),
+        // same price as stored
+        new PricePointEntity("BTC", Instant.parse("2022-01-01T05:00:00Z"), new BigDecimal("12345678901234.0123456789")),
+        // duplicate within the batch, the last one wins
+        new PricePointEntity("BTC", Instant.parse("2022-01-02T00:00:00Z"), new BigDecimal("7")),
+        new PricePointEntity("BTC", Instant.parse("2022-01-02T00:00:00Z"), new BigDecimal("8")),
+        new PricePointEntity("ETH", Instant.parse("2022-01-01T04:00:00.123Z"), new BigDecimal("3715.32"))));
+
+    assertThat(second).isEqualTo(new PricePointWriter.WriteResult(2, 1, 2));
+
+    var rows = repo.findAll(Sort.by("symbol", "timestamp"));
+    assertThat(rows).hasSize(5);
+    assertThat(rows.get(0).getPriceUsd()).isEqualByComparingTo("1.5");
+    assertThat(rows.get(3).getTimestamp()).isEqualTo(Instant.parse("2022-01-02T00:00:00Z"));
+    assertThat(rows.get(3).getPriceUsd()).isEqualByComparingTo("8");
+  }
+
+  private static List<PricePointEntity> points(String symbol) {
+    return List.of(
+        new PricePointEntity(symbol, Instant.parse("2022-01-01T04:00:00.123Z"), new BigDecimal("46813.21")),
+        new PricePointEntity(symbol, Instant.parse("2022-01-01T05:00:00Z"), new BigDecimal("12345678901234.0123456789")),
+        new PricePointEntity(symbol, Instant.parse("2022-01-01T06:00:00Z"), new BigDecimal("0.0000000001")));
+  }
+}
@@ -3,19 +3,33 @@ package com.example.crypto.application.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.example.crypto.adapters.out.memory.DatasetCatalog;
+import com.example.crypto.adapters.out.memory.PriceSeriesStore;
 import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.DailyPriceAggregateRepository;
 import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import com.example.crypto.adapters.out.persistence.repository.projection.PriceRowProjection;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolDayMinMaxProjection;
 import com.example.crypto.adapters.out.persistence.repository.projection.SymbolMinMaxProjection;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolRangeStatsProjection;
+import com.example.crypto.adapters.out.persistence.repository.projection.SymbolStatsProjection;
+import com.example.crypto.adapters.out.persistence.rollup.DailyRollupMaintainer;
+import com.example.crypto.config.properties.AppInMemoryProperties;
 import com.example.crypto.domain.exception.NoDataForDayException;
 import com.example.crypto.domain.exception.NoDataForPeriodException;
 import com.example.crypto.domain.exception.NoDataForRangeException;
 import com.example.crypto.domain.exception.UnsupportedCryptoException;
+import com.example.crypto.domain.model.CryptoStats;
+import com.example.crypto.domain.model.PricePoint;
 import com.example.crypto.domain.model.TimeRange;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.Period;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -27,7 +41,7 @@ class CryptoRecommendationServiceTest {
   @Test
   void resolveRange_fromOnly_shouldCreateSingleDayRange() {
     PricePointRepository repo = Mockito.mock(PricePointRepository.class);
-    CryptoRecommendationService service = new CryptoRecommendationService(repo);
+    CryptoRecommendationService service = newService(repo, emptyStore());
 
     LocalDate from = LocalDate.parse("2026-01-01");
     TimeRange range = service.resolveRange(from, null);
@@ -39,7 +53,7 @@ class CryptoRecommendationServiceTest {
   @Test
   void resolveRange_toOnly_shouldCreateSingleDayRange() {
     PricePointRepository repo = Mockito.mock(PricePointRepository.class);
-    CryptoRecommendationService service = new CryptoRecommendationService(repo);
+    CryptoRecommendationService service = newService(repo, emptyStore());
 
     LocalDate to = LocalDate.parse("2026-01-05");
     TimeRange range = service.resolveRange(null, to);
@@ -54,7 +68,7 @@ class CryptoRecommendationServiceTest {
     Mockito.when(repo.findMinTimestamp()).thenReturn(Optional.of(Instant.parse("2026-01-01T00:00:00Z")));
     Mockito.when(repo.findMaxTimestamp()).thenReturn(Optional.of(Instant.parse("2026-01-31T23:59:59Z")));
 
-    CryptoRecommendationService service = new CryptoRecommendationService(repo);
+    CryptoRecommendationService service = newService(repo, emptyStore());
     TimeRange range = service.resolveRange(null, null);
 
     assertThat(range.fromInclusive()).isEqualTo(Instant.parse("2026-01-01T00:00:00Z"));
@@ -64,7 +78,7 @@ class CryptoRecommendationServiceTest {
   @Test
   void recommendations_shouldReturnSortedByNormalizedRangeDesc() {
     PricePointRepository repo = Mockito.mock(PricePointRepository.class);
-    CryptoRecommendationService service = new CryptoRecommendationService(repo);
+    CryptoRecommendationService service = newService(repo, emptyStore());
 
     TimeRange range = TimeRange.of(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-02"));
 
@@ -81,10 +95,37 @@ class CryptoRecommendationServiceTest {
     assertThat(rows.get(0).normalizedRange()).isEqualByComparingTo("1.0");
   }
 
+  @Test
+  void topRecommendations_shouldMatchPrefixOfFullRanking() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    CryptoRecommendationService service = newService(repo, emptyStore());
+
+    TimeRange range = TimeRange.of(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-02"));
+
+    List<SymbolMinMaxProjection> rows = List.of(
+        projection("ADA", new BigDecimal("10"), new BigDecimal("11")), // 0.1
+        projection("BTC", new BigDecimal("10"), new BigDecimal("15")), // 0.5
+        projection("DOT", new BigDecimal("10"), new BigDecimal("30")), // 2.0
+        projection("ETH", new BigDecimal("10"), new BigDecimal("15")), // 0.5, ties with BTC
+        projection("XRP", new BigDecimal("10"), new BigDecimal("20"))); // 1.0
+    Mockito.when(repo.findMinMaxBySymbolInRange(range.fromInclusive(), range.toExclusive())).thenReturn(rows);
+
+    List<CryptoRecommendationService.RecommendationRow> all = service.recommendations(range);
+    for (int limit = 1; limit <= all.size() + 1; limit++) {
+      assertThat(service.topRecommendations(range, limit))
+          .containsExactlyElementsOf(all.subList(0, Math.min(limit, all.size())));
+    }
+    assertThat(service.topRecommendations(range, 3))
+        .extracting(CryptoRecommendationService.RecommendationRow::symbol)
+        .containsExactly("DOT", "XRP", "BTC");
+    assertThatThrownBy(() -> service.topRecommendations(range, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   void recommendations_empty_shouldThrowNoDataForRange() {
     PricePointRepository repo = Mockito.mock(PricePointRepository.class);
-    CryptoRecommendationService service = new CryptoRecommendationService(repo);
+    CryptoRecommendationService service = newService(repo, emptyStore());
 
     TimeRange range = TimeRange.singleDay(LocalDate.parse("2026-01-01"));
     Mockito.when(repo.findMinMaxBySymbolInRange(range.fromInclusive(), range.toExclusive()))
@@ -98,19 +139,58 @@ class CryptoRecommendationServiceTest {
   @Test
   void stats_unsupportedSymbol_shouldThrow() {
     PricePointRepository repo = Mockito.mock(PricePointRepository.class);
-    Mockito.when(repo.findDistinctSymbols()).thenReturn(List.of("BTC", "ETH"));
+    Mockito.when(repo.existsBySymbol("DOGE")).thenReturn(false);
 
-    CryptoRecommendationService service = new CryptoRecommendationService(repo);
+    CryptoRecommendationService service = newService(repo, emptyStore());
     TimeRange range = TimeRange.singleDay(LocalDate.parse("2026-01-01"));
 
     assertThatThrownBy(() -> service.stats("DOGE", range))
         .isInstanceOf(UnsupportedCryptoException.class);
   }
 
+  @Test
+  void stats_supportedSymbolWithoutData_shouldThrowNoData() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    Mockito.when(repo.existsBySymbol("BTC")).thenReturn(true);
+
+    CryptoRecommendationService service = newService(repo, emptyStore());
+    TimeRange range = TimeRange.singleDay(LocalDate.parse("2026-01-01"));
+
+    assertThatThrownBy(() -> service.stats("BTC", range))
+        .isInstanceOf(NoDataForRangeException.class);
+    Mockito.verify(repo, Mockito.never()).findDistinctSymbols();
+  }
+
+  @Test
+  void stats_shouldUseSingleAggregateQuery() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    TimeRange range = TimeRange.singleDay(LocalDate.parse("2026-01-01"));
+
+    SymbolStatsProjection row = Mockito.mock(SymbolStatsProjection.class);
+    Mockito.when(row.getMinPrice()).thenReturn(new BigDecimal("10"));
+    Mockito.when(row.getMaxPrice()).thenReturn(new BigDecimal("20"));
+    Mockito.when(row.getOldestTimestamp()).thenReturn(Instant.parse("2026-01-01T00:00:00Z"));
+    Mockito.when(row.getOldestPrice()).thenReturn(new BigDecimal("15"));
+    Mockito.when(row.getNewestTimestamp()).thenReturn(Instant.parse("2026-01-01T12:00:00Z"));
+    Mockito.when(row.getNewestPrice()).thenReturn(new BigDecimal("12"));
+    Mockito.when(repo.findStatsForSymbolInRange("BTC", range.fromInclusive(), range.toExclusive()))
+        .thenReturn(Optional.of(row));
+
+    CryptoRecommendationService service = newService(repo, emptyStore());
+    var stats = service.stats("btc", range);
+
+    assertThat(stats.oldest().priceUsd()).isEqualByComparingTo("15");
+    assertThat(stats.newest().priceUsd()).isEqualByComparingTo("12");
+    assertThat(stats.normalizedRange()).isEqualByComparingTo("1");
+
+    Mockito.verify(repo).findStatsForSymbolInRange("BTC", range.fromInclusive(), range.toExclusive());
+    Mockito.verifyNoMoreInteractions(repo);
+  }
+
   @Test
   void bestForDay_shouldReturnMaxNormalizedRange() {
     PricePointRepository repo = Mockito.mock(PricePointRepository.class);
-    CryptoRecommendationService service = new CryptoRecommendationService(repo);
+    CryptoRecommendationService service = newService(repo, emptyStore());
 
     LocalDate day = LocalDate.parse("2026-01-01");
     TimeRange range = TimeRange.singleDay(day);
@@ -129,7 +209,7 @@ class CryptoRecommendationServiceTest {
   @Test
   void bestForDay_noRows_shouldThrow() {
     PricePointRepository repo = Mockito.mock(PricePointRepository.class);
-    CryptoRecommendationService service = new CryptoRecommendationService(repo);
+    CryptoRecommendationService service = newService(repo, emptyStore());
 
     Mockito.when(repo.findMinMaxBySymbolInRange(Mockito.any(), Mockito.any())).thenReturn(List.of());
 
@@ -137,6 +217,328 @@ class CryptoRecommendationServiceTest {
         .isInstanceOf(NoDataForRangeException.class);
   }
 
+  @Test
+  void recommendations_dayAlignedWithReadyRollups_shouldUseDailyAggregates() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    DailyPriceAggregateRepository dailyRepo = Mockito.mock(DailyPriceAggregateRepository.class);
+    DailyRollupMaintainer rollups = new DailyRollupMaintainer(dailyRepo);
+    rollups.markReady();
+
+    CryptoRecommendationService service = new CryptoRecommendationService(repo, emptyStore(), new DatasetCatalog(), dailyRepo, rollups);
+    SymbolMinMaxProjection btc = projection("BTC", new BigDecimal("10"), new BigDecimal("20"));
+    Mockito.when(dailyRepo.findMinMaxBySymbolInDayRange(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-03")))
+        .thenReturn(List.of(btc));
+
+    var rows = service.recommendations(TimeRange.of(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-02")));
+
+    assertThat(rows).extracting(CryptoRecommendationService.RecommendationRow::symbol).containsExactly("BTC");
+    Mockito.verify(repo, Mockito.never()).findMinMaxBySymbolInRange(Mockito.any(), Mockito.any());
+
+    // not aligned to whole days -> raw price points
+    Mockito.when(repo.findMinMaxBySymbolInRange(Mockito.any(), Mockito.any())).thenReturn(List.of(btc));
+    service.recommendations(new TimeRange(Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-01T12:00:00Z")));
+    Mockito.verify(repo).findMinMaxBySymbolInRange(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void recommendationSeries_withReadyRollups_shouldMergeDaysIntoWindows() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    DailyPriceAggregateRepository dailyRepo = Mockito.mock(DailyPriceAggregateRepository.class);
+    DailyRollupMaintainer rollups = new DailyRollupMaintainer(dailyRepo);
+    rollups.markReady();
+
+    List<SymbolDayMinMaxProjection> days = List.of(
+        dayProjection("BTC", "2026-01-01", "10", "11"),
+        dayProjection("BTC", "2026-01-02", "9", "12"),
+        dayProjection("BTC", "2026-01-08", "10", "30"),
+        dayProjection("ETH", "2026-01-03", "10", "20"),
+        dayProjection("ETH", "2026-01-09", "10", "12"));
+    Mockito.when(dailyRepo.findMinMaxBySymbolAndDayInDayRange(
+        LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-21"))).thenReturn(days);
+
+    CryptoRecommendationService service =
+        new CryptoRecommendationService(repo, emptyStore(), new DatasetCatalog(), dailyRepo, rollups);
+    TimeRange range = TimeRange.of(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-20"));
+
+    var series = service.recommendationSeries(range, Period.ofWeeks(1), 2);
+
+    assertThat(series).hasSize(2);
+    assertThat(series.get(0).from()).isEqualTo(LocalDate.parse("2026-01-01"));
+    assertThat(series.get(0).to()).isEqualTo(LocalDate.parse("2026-01-07"));
+    assertThat(series.get(0).top()).extracting(CryptoRecommendationService.RecommendationRow::symbol)
+        .containsExactly("ETH", "BTC");
+    assertThat(series.get(0).top().get(1).min()).isEqualByComparingTo("9");
+    assertThat(series.get(0).top().get(1).max()).isEqualByComparingTo("12");
+    assertThat(series.get(1).top()).extracting(CryptoRecommendationService.RecommendationRow::symbol)
+        .containsExactly("BTC", "ETH");
+    Mockito.verifyNoInteractions(repo);
+
+    assertThatThrownBy(() -> service.recommendationSeries(range, Period.ZERO, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> service.recommendationSeries(
+        TimeRange.of(LocalDate.parse("2020-01-01"), LocalDate.parse("2026-01-01")), Period.ofDays(1), 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void recommendationSeries_inMemory_shouldMatchPerWindowRecommendations() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    PriceSeriesStore store = emptyStore();
+    PriceSeriesStore.Loader loader = store.newLoader();
+    loader.add("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10"));
+    loader.add("BTC", Instant.parse("2026-01-01T12:00:00Z"), new BigDecimal("20"));
+    loader.add("BTC", Instant.parse("2026-01-03T00:00:00Z"), new BigDecimal("5"));
+    loader.add("BTC", Instant.parse("2026-01-03T12:00:00Z"), new BigDecimal("6"));
+    loader.add("ETH", Instant.parse("2026-01-01T06:00:00Z"), new BigDecimal("10"));
+    loader.add("ETH", Instant.parse("2026-01-03T18:00:00Z"), new BigDecimal("15"));
+    loader.publish();
+
+    CryptoRecommendationService service = newService(repo, store);
+    TimeRange range = TimeRange.of(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-03"));
+
+    var series = service.recommendationSeries(range, Period.ofDays(1), 1);
+
+    assertThat(series).extracting(CryptoRecommendationService.RankedWindow::from)
+        .containsExactly(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-03"));
+    for (var window : series) {
+      assertThat(window.top())
+          .containsExactly(service.recommendations(TimeRange.singleDay(window.from())).get(0));
+    }
+    assertThat(series.get(0).top().get(0).symbol()).isEqualTo("BTC");
+    assertThatThrownBy(() -> service.recommendationSeries(
+        TimeRange.singleDay(LocalDate.parse("2026-02-01")), Period.ofDays(1), 1))
+        .isInstanceOf(NoDataForRangeException.class);
+    Mockito.verifyNoInteractions(repo);
+  }
+
+  @Test
+  void topWindows_inMemory_shouldRankSlidingWindows() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    PriceSeriesStore store = emptyStore();
+    PriceSeriesStore.Loader loader = store.newLoader();
+    loader.add("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10"));
+    loader.add("BTC", Instant.parse("2026-01-01T12:00:00Z"), new BigDecimal("12"));
+    loader.add("BTC", Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("11"));
+    loader.add("BTC", Instant.parse("2026-01-03T00:00:00Z"), new BigDecimal("30"));
+    loader.add("BTC", Instant.parse("2026-01-03T12:00:00Z"), new BigDecimal("28"));
+    loader.add("ETH", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("100"));
+    loader.add("ETH", Instant.parse("2026-01-02T12:00:00Z"), new BigDecimal("150"));
+    loader.add("ETH", Instant.parse("2026-01-04T00:00:00Z"), new BigDecimal("140"));
+    loader.publish();
+
+    CryptoRecommendationService service = newService(repo, store);
+    TimeRange range = TimeRange.of(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-04"));
+
+    var best = service.topWindows("btc", range, 1, 1);
+    assertThat(best).hasSize(1);
+    assertThat(best.get(0).from()).isEqualTo(Instant.parse("2026-01-01T00:00:00Z"));
+    assertThat(best.get(0).to()).isEqualTo(Instant.parse("2026-01-02T00:00:00Z"));
+    assertThat(best.get(0).low().priceUsd()).isEqualByComparingTo("10");
+    assertThat(best.get(0).high().timestamp()).isEqualTo(Instant.parse("2026-01-01T12:00:00Z"));
+    assertThat(best.get(0).normalizedRange()).isEqualByComparingTo("0.2");
+
+    // the window starting 2026-01-02 has the same extremes as the one starting 2026-01-01T12:00
+    assertThat(service.topWindows("BTC", range, 2, 3)).extracting(CryptoRecommendationService.PriceWindow::from)
+        .containsExactly(Instant.parse("2026-01-01T12:00:00Z"), Instant.parse("2026-01-01T00:00:00Z"),
+            Instant.parse("2026-01-03T00:00:00Z"));
+
+    var universe = service.topWindows(range, 2, 2);
+    assertThat(universe).extracting(CryptoRecommendationService.PriceWindow::symbol).containsExactly("BTC", "ETH");
+    assertThat(universe.get(1).normalizedRange()).isEqualByComparingTo("0.5");
+
+    assertThatThrownBy(() -> service.topWindows("DOGE", range, 1, 1))
+        .isInstanceOf(UnsupportedCryptoException.class);
+    assertThatThrownBy(() -> service.topWindows("BTC", TimeRange.singleDay(LocalDate.parse("2026-01-01")), 2, 1))
+        .isInstanceOf(NoDataForRangeException.class);
+    assertThatThrownBy(() -> service.topWindows(range, 0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    Mockito.verifyNoInteractions(repo);
+  }
+
+  @Test
+  void topWindows_withoutStore_shouldStreamSeriesFromDatabase() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    TimeRange range = TimeRange.of(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-02"));
+    List<PriceRowProjection> rows = List.of(
+        priceRow("BTC", "2026-01-01T00:00:00Z", "10"),
+        priceRow("BTC", "2026-01-01T12:00:00Z", "15"),
+        priceRow("ETH", "2026-01-01T00:00:00Z", "20"),
+        priceRow("ETH", "2026-01-01T06:00:00Z", "40"));
+    Mockito.when(repo.streamPricesInRange(range.fromInclusive(), range.toExclusive())).thenReturn(rows.stream());
+    Mockito.when(repo.findPricesBySymbolInRange("BTC", range.fromInclusive(), range.toExclusive()))
+        .thenReturn(rows.subList(0, 2));
+
+    CryptoRecommendationService service = newService(repo, emptyStore());
+
+    assertThat(service.topWindows(range, 1, 5))
+        .extracting(CryptoRecommendationService.PriceWindow::symbol).containsExactly("ETH", "BTC", "BTC", "ETH");
+    assertThat(service.topWindows("BTC", range, 1, 1).get(0).normalizedRange()).isEqualByComparingTo("0.5");
+    assertThatThrownBy(() -> service.topWindows("DOGE", range, 1, 1))
+        .isInstanceOf(UnsupportedCryptoException.class);
+  }
+
+  @Test
+  void inMemoryStore_shouldAnswerWithoutRepository() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    PriceSeriesStore store = emptyStore();
+    PriceSeriesStore.Loader loader = store.newLoader();
+    loader.add("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10"));
+    loader.add("BTC", Instant.parse("2026-01-01T12:00:00Z"), new BigDecimal("20"));
+    loader.add("BTC", Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("5"));
+    loader.add("ETH", Instant.parse("2026-01-01T06:00:00Z"), new BigDecimal("10"));
+    loader.add("ETH", Instant.parse("2026-01-01T18:00:00Z"), new BigDecimal("15"));
+    loader.publish();
+
+    CryptoRecommendationService service = newService(repo, store);
+    TimeRange day = TimeRange.singleDay(LocalDate.parse("2026-01-01"));
+
+    assertThat(service.supportedSymbols()).containsExactly("BTC", "ETH");
+    assertThat(service.resolveRange(null, null))
+        .isEqualTo(new TimeRange(Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-02T00:00:00.001Z")));
+
+    List<CryptoRecommendationService.RecommendationRow> rows = service.recommendations(day);
+    assertThat(rows).extracting(CryptoRecommendationService.RecommendationRow::symbol).containsExactly("BTC", "ETH");
+    assertThat(rows.get(0).normalizedRange()).isEqualByComparingTo("1.0");
+
+    var stats = service.stats("btc", day);
+    assertThat(stats.oldest().timestamp()).isEqualTo(Instant.parse("2026-01-01T00:00:00Z"));
+    assertThat(stats.newest().timestamp()).isEqualTo(Instant.parse("2026-01-01T12:00:00Z"));
+    assertThat(stats.min()).isEqualByComparingTo("10");
+    assertThat(stats.max()).isEqualByComparingTo("20");
+
+    assertThat(service.bestForDay(LocalDate.parse("2026-01-02")).symbol()).isEqualTo("BTC");
+    assertThatThrownBy(() -> service.bestForDay(LocalDate.parse("2026-01-03")))
+        .isInstanceOf(NoDataForRangeException.class);
+
+    Mockito.verifyNoInteractions(repo);
+  }
+
+  @Test
+  void statsBySymbol_inMemory_shouldSkipSymbolsWithoutData() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    PriceSeriesStore store = emptyStore();
+    PriceSeriesStore.Loader loader = store.newLoader();
+    loader.add("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10"));
+    loader.add("BTC", Instant.parse("2026-01-01T12:00:00Z"), new BigDecimal("20"));
+    loader.add("ETH", Instant.parse("2026-01-02T06:00:00Z"), new BigDecimal("10"));
+    loader.add("XRP", Instant.parse("2026-01-01T06:00:00Z"), new BigDecimal("2"));
+    loader.publish();
+
+    CryptoRecommendationService service = newService(repo, store);
+    TimeRange day = TimeRange.singleDay(LocalDate.parse("2026-01-01"));
+
+    assertThat(service.statsBySymbol(null, day))
+        .extracting(CryptoStats::symbol).containsExactly("BTC", "XRP");
+    var stats = service.statsBySymbol(List.of("xrp", "btc", "ETH"), day);
+    assertThat(stats).extracting(CryptoStats::symbol).containsExactly("BTC", "XRP");
+    assertThat(stats.get(0).normalizedRange()).isEqualByComparingTo("1.0");
+    assertThatThrownBy(() -> service.statsBySymbol(List.of("BTC", "DOGE"), day))
+        .isInstanceOf(UnsupportedCryptoException.class);
+    assertThatThrownBy(() -> service.statsBySymbol(List.of("ETH"), day))
+        .isInstanceOf(NoDataForRangeException.class);
+
+    Mockito.verifyNoInteractions(repo);
+  }
+
+  @Test
+  void statsBySymbol_shouldUseSingleGroupedQuery() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    TimeRange range = TimeRange.singleDay(LocalDate.parse("2026-01-01"));
+
+    SymbolRangeStatsProjection btc = Mockito.mock(SymbolRangeStatsProjection.class);
+    Mockito.when(btc.getSymbol()).thenReturn("BTC");
+    Mockito.when(btc.getMinPrice()).thenReturn(new BigDecimal("10"));
+    Mockito.when(btc.getMaxPrice()).thenReturn(new BigDecimal("15"));
+    Mockito.when(btc.getOldestTimestamp()).thenReturn(Instant.parse("2026-01-01T00:00:00Z"));
+    Mockito.when(btc.getOldestPrice()).thenReturn(new BigDecimal("10"));
+    Mockito.when(btc.getNewestTimestamp()).thenReturn(Instant.parse("2026-01-01T23:00:00Z"));
+    Mockito.when(btc.getNewestPrice()).thenReturn(new BigDecimal("15"));
+    Mockito.when(repo.findStatsBySymbolInRange(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of(btc));
+    Mockito.when(repo.existsBySymbol("ETH")).thenReturn(true);
+
+    CryptoRecommendationService service = newService(repo, emptyStore());
+
+    var stats = service.statsBySymbol(List.of("ETH", "BTC"), range);
+    assertThat(stats).hasSize(1);
+    assertThat(stats.get(0).symbol()).isEqualTo("BTC");
+    assertThat(stats.get(0).newest().priceUsd()).isEqualByComparingTo("15");
+    assertThat(stats.get(0).normalizedRange()).isEqualByComparingTo("0.5");
+    Mockito.verify(repo).findStatsBySymbolInRange(Set.of("BTC", "ETH"), range.fromInclusive(), range.toExclusive());
+
+    assertThatThrownBy(() -> service.statsBySymbol(List.of("BTC", "DOGE"), range))
+        .isInstanceOf(UnsupportedCryptoException.class);
+  }
+
+  @Test
+  void catalog_shouldAnswerMetadataWithoutRepository() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    DatasetCatalog catalog = new DatasetCatalog();
+    catalog.publish(List.of(
+        metadata("ETH", "2026-01-01T06:00:00Z", "2026-01-03T00:00:00Z", "15"),
+        metadata("BTC", "2026-01-01T00:00:00Z", "2026-01-02T00:00:00Z", "5")));
+
+    CryptoRecommendationService service = newService(repo, emptyStore(), catalog);
+
+    assertThat(service.supportedSymbols()).containsExactly("BTC", "ETH");
+    assertThat(service.resolveRange(null, null))
+        .isEqualTo(new TimeRange(Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-03T00:00:00.001Z")));
+    assertThat(service.latestPrice("btc").priceUsd()).isEqualByComparingTo("5");
+    assertThat(service.latestPrices()).containsOnlyKeys("BTC", "ETH");
+    assertThatThrownBy(() -> service.latestPrice("DOGE")).isInstanceOf(UnsupportedCryptoException.class);
+
+    Mockito.verifyNoInteractions(repo);
+  }
+
+  @Test
+  void latestPrice_withoutCatalog_shouldQueryNewestPricePoint() {
+    PricePointRepository repo = Mockito.mock(PricePointRepository.class);
+    Mockito.when(repo.findDistinctSymbols()).thenReturn(List.of("BTC"));
+    Mockito.when(repo.findFirstBySymbolOrderByTimestampDesc("BTC")).thenReturn(Optional.of(
+        new PricePointEntity("BTC", Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("5"))));
+
+    CryptoRecommendationService service = newService(repo, emptyStore());
+
+    assertThat(service.latestPrices()).containsExactly(
+        Map.entry("BTC", new PricePoint(Instant.parse("2026-01-02T00:00:00Z"), new BigDecimal("5"))));
+    assertThatThrownBy(() -> service.latestPrice("ETH")).isInstanceOf(UnsupportedCryptoException.class);
+  }
+
+  private static CryptoRecommendationService newService(PricePointRepository repo, PriceSeriesStore store) {
+    return newService(repo, store, new DatasetCatalog());
+  }
+
+  private static CryptoRecommendationService newService(PricePointRepository repo, PriceSeriesStore store,
+      DatasetCatalog catalog) {
+    DailyPriceAggregateRepository dailyRepo = Mockito.mock(DailyPriceAggregateRepository.class);
+    return new CryptoRecommendationService(repo, store, catalog, dailyRepo, new DailyRollupMaintainer(dailyRepo));
+  }
+
+  private static DatasetCatalog.SymbolMetadata metadata(String symbol, String first, String last, String price) {
+    return new DatasetCatalog.SymbolMetadata(symbol, Instant.parse(first), Instant.parse(last), 2,
+        new PricePoint(Instant.parse(last), new BigDecimal(price)));
+  }
+
+  private static PriceSeriesStore emptyStore() {
+    return new PriceSeriesStore(new AppInMemoryProperties(true));
+  }
+
+  private static PriceRowProjection priceRow(String symbol, String timestamp, String price) {
+    PriceRowProjection p = Mockito.mock(PriceRowProjection.class);
+    Mockito.when(p.getSymbol()).thenReturn(symbol);
+    Mockito.when(p.getTimestamp()).thenReturn(Instant.parse(timestamp));
+    Mockito.when(p.getPriceUsd()).thenReturn(new BigDecimal(price));
+    return p;
+  }
+
+  private static SymbolDayMinMaxProjection dayProjection(String symbol, String day, String min, String max) {
+    SymbolDayMinMaxProjection p = Mockito.mock(SymbolDayMinMaxProjection.class);
+    Mockito.when(p.getSymbol()).thenReturn(symbol);
+    Mockito.when(p.getEpochDay()).thenReturn(LocalDate.parse(day).toEpochDay());
+    Mockito.when(p.getMinPrice()).thenReturn(new BigDecimal(min));
+    Mockito.when(p.getMaxPrice()).thenReturn(new BigDecimal(max));
+    return p;
+  }
+
   private static SymbolMinMaxProjection projection(String symbol, BigDecimal min, BigDecimal max) {
     SymbolMinMaxProjection p = Mockito.mock(SymbolMinMaxProjection.class);
     Mockito.when(p.getSymbol()).thenReturn(symbol);
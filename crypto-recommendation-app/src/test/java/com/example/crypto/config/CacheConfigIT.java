@@ -0,0 +1,62 @@
+package com.example.crypto.config;
+
+import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.cache.stats.maximum-weight=2MB")
+@AutoConfigureMockMvc
+class CacheConfigIT {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    PricePointRepository repo;
+    @Autowired
+    CacheManager cacheManager;
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void cachesShouldBeBoundedByWeightAndExportStatistics() throws Exception {
+        repo.deleteAll();
+        repo.save(new PricePointEntity("BTC", Instant.parse("2026-01-01T00:00:00Z"), new BigDecimal("10")));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/v1/cryptos/BTC/stats")
+                            .param("from", "2026-01-01")
+                            .param("to", "2026-01-01"))
+                    .andExpect(status().isOk());
+        }
+
+        @SuppressWarnings("unchecked")
+        var stats = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.CACHE_STATS).getNativeCache();
+        assertThat(stats.policy().eviction()).hasValueSatisfying(eviction -> {
+            assertThat(eviction.isWeighted()).isTrue();
+            assertThat(eviction.getMaximum()).isEqualTo(2L * 1024 * 1024);
+            assertThat(eviction.weightedSize().orElseThrow()).isPositive();
+        });
+
+        assertThat(registry.get("cache.gets").tags("cache", CacheConfig.CACHE_STATS, "result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(2);
+        assertThat(registry.get("cache.evictions").tags("cache", CacheConfig.CACHE_RECOMMENDATIONS)
+                .functionCounter()).isNotNull();
+        assertThat(cacheManager.getCache("unknown")).isNull();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.crypto.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PriceRange}.
+ */
+class PriceRangeTest {
+
+  @Test
+  void shouldKeepColumnScalePricesInFixedPoint() {
+    PriceRange range = PriceRange.of(new BigDecimal("46813.21"), new BigDecimal("47143.9800000000"));
+
+    assertThat(range.isScaled()).isTrue();
+    assertThat(range.scaledMin()).isEqualTo(468_132_100_000_000L);
+    assertThat(range.min()).isEqualTo(new BigDecimal("46813.2100000000"));
+    assertThat(range.max()).isEqualTo(new BigDecimal("47143.9800000000"));
+  }
+
+  @Test
+  void shouldFallBackToExactValues() {
+    BigDecimal huge = new BigDecimal("12345678901234.5678901234");
+    BigDecimal precise = new BigDecimal("1.00000000001");
+
+    PriceRange tooLarge = PriceRange.of(BigDecimal.ONE, huge);
+    PriceRange tooPrecise = PriceRange.of(precise, BigDecimal.TEN);
+
+    assertThat(tooLarge.isScaled()).isFalse();
+    assertThat(tooLarge.max()).isSameAs(huge);
+    assertThat(tooPrecise.isScaled()).isFalse();
+    assertThat(tooPrecise.min()).isSameAs(precise);
+    assertThat(tooPrecise.hasPositiveMin()).isTrue();
+  }
+
+  @Test
+  void equalRanges_shouldBeEqualRegardlessOfRepresentation() {
+    assertThat(PriceRange.of(new BigDecimal("10"), new BigDecimal("20.5")))
+        .isEqualTo(PriceRange.ofScaled(100_000_000_000L, 205_000_000_000L))
+        .hasSameHashCodeAs(PriceRange.ofScaled(100_000_000_000L, 205_000_000_000L));
+  }
+}
@@ -32,4 +32,11 @@ class TimeRangeTest {
     assertThat(range.fromInclusive()).isEqualTo(Instant.parse("2026-01-05T00:00:00Z"));
     assertThat(range.toExclusive()).isEqualTo(Instant.parse("2026-01-06T00:00:00Z"));
   }
+
+  @Test
+  void isDayAligned_shouldDetectWholeDayRanges() {
+    assertThat(TimeRange.of(LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-02")).isDayAligned()).isTrue();
+    assertThat(new TimeRange(Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-01T00:00:00.001Z"))
+        .isDayAligned()).isFalse();
+  }
 }
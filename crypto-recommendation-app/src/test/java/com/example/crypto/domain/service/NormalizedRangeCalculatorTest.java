@@ -1,8 +1,15 @@
 package com.example.crypto.domain.service;
 
+import com.example.crypto.domain.model.PriceRange;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -26,4 +33,57 @@ class NormalizedRangeCalculatorTest {
         assertThrows(IllegalArgumentException.class, () -> calc.calculate(BigDecimal.ZERO, new BigDecimal("1")));
         assertThrows(IllegalArgumentException.class, () -> calc.calculate(new BigDecimal("-1"), new BigDecimal("1")));
     }
+
+    @Test
+    void fixedPointCalculation_shouldMatchDecimal64() {
+        PriceRange range = PriceRange.of(new BigDecimal("46813.2100000000"), new BigDecimal("47143.9800000000"));
+
+        assertEquals(calc.calculate(range.min(), range.max()), calc.calculate(range));
+        assertThrows(IllegalArgumentException.class, () -> calc.requireValid(PriceRange.ofScaled(0, 10)));
+    }
+
+    @Test
+    void fixedPointRanking_shouldBeIdenticalToDecimal64Ranking() {
+        Random random = new Random(42);
+        List<PriceRange> ranges = new ArrayList<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            long min = 1 + (long) (random.nextDouble() * 1_000_000_000_000_000L);
+            long max = min + (long) (random.nextDouble() * min * 3);
+            ranges.add(PriceRange.ofScaled(min, max));
+
+            switch (i % 4) {
+                // same normalized range, different prices
+                case 0 -> ranges.add(PriceRange.ofScaled(min * 2, max * 2));
+                case 1 -> {
+                    if (min < Long.MAX_VALUE / 8 && max < Long.MAX_VALUE / 8) {
+                        ranges.add(PriceRange.ofScaled(min * 7, max * 7));
+                    }
+                }
+                // differs only beyond the 16 significant digits kept by DECIMAL64
+                case 2 -> ranges.add(PriceRange.ofScaled(min, max + 1));
+                // exact fallback for prices beyond the fixed-point range
+                default -> ranges.add(PriceRange.of(
+                        new BigDecimal("1e12").add(BigDecimal.valueOf(min, PriceRange.SCALE)),
+                        new BigDecimal("1e12").add(BigDecimal.valueOf(max, PriceRange.SCALE))));
+            }
+        }
+
+        List<BigDecimal> decimal64 = ranges.stream()
+                .map(r -> r.max().subtract(r.min(), MathContext.DECIMAL64).divide(r.min(), MathContext.DECIMAL64))
+                .toList();
+
+        // both sorts are stable, so equal normalized ranges must keep their input order in both rankings
+        List<Integer> expected = IntStream.range(0, ranges.size()).boxed()
+                .sorted(Comparator.comparing(decimal64::get).reversed())
+                .toList();
+        List<Integer> actual = IntStream.range(0, ranges.size()).boxed()
+                .sorted((a, b) -> calc.compare(ranges.get(b), ranges.get(a)))
+                .toList();
+
+        assertEquals(expected, actual);
+        for (int i = 0; i < ranges.size(); i++) {
+            assertEquals(decimal64.get(i), calc.calculate(ranges.get(i)));
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package com.example.crypto.adapters.in.importer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CsvPriceParser} on a file of the size shipped with the application (100 rows)
+ * and on a multi-MB file, collecting all rows into a list and streaming them.
+ *
+ * <p>Lives in the parser's package, because the parser is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvPriceParserBenchmark {
+
+    /**
+     * Number of data rows; 100_000 rows is roughly 3 MB of CSV.
+     */
+    @Param({"100", "100000"})
+    public int rows;
+
+    private final CsvPriceParser parser = new CsvPriceParser();
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var sb = new StringBuilder(rows * 32).append("timestamp,symbol,price\n");
+
+        long ts = 1_641_009_600_000L;
+        double price = 46_813.21;
+        for (int i = 0; i < rows; i++) {
+            ts += 3_600_000L;
+            price = Math.max(1, price * (1 + (random.nextDouble() - 0.5) / 50));
+            sb.append(ts).append(",BTC,").append(String.format(Locale.ROOT, "%.2f", price)).append('\n');
+        }
+        csv = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<CsvPriceParser.ParsedRow> parse() {
+        return parser.parse(new ByteArrayInputStream(csv), "BTC");
+    }
+
+    @Benchmark
+    public long stream() {
+        try (var rows = parser.stream(new ByteArrayInputStream(csv), "BTC")) {
+            return rows.count();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.crypto.adapters.in.importer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rows/s of the memory-mapped reader against the commons-csv based {@link CsvPriceParser} on the same
+ * file on disk (100_000 rows, roughly 3 MB). Scores are per row, so the throughput reads directly as rows/s.
+ *
+ * <p>{@code mappedPrimitive} only decodes the primitive columns; {@code mappedRows} additionally creates the
+ * {@link CsvPriceParser.ParsedRow}s handed over to the importer, like {@code commonsCsv} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(MappedCsvReaderBenchmark.ROWS)
+public class MappedCsvReaderBenchmark {
+
+    static final int ROWS = 100_000;
+
+    private final CsvPriceParser parser = new CsvPriceParser();
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        var random = new Random(42);
+        var sb = new StringBuilder(ROWS * 32).append("timestamp,symbol,price\n");
+
+        long ts = 1_641_009_600_000L;
+        double price = 46_813.21;
+        for (int i = 0; i < ROWS; i++) {
+            ts += 3_600_000L;
+            price = Math.max(1, price * (1 + (random.nextDouble() - 0.5) / 50));
+            sb.append(ts).append(",BTC,").append(String.format(Locale.ROOT, "%.2f", price)).append('\n');
+        }
+        file = Files.createTempFile("BTC_values", ".csv");
+        Files.writeString(file, sb);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void commonsCsv(Blackhole bh) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             var rows = parser.stream(in, "BTC")) {
+            rows.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public long mappedPrimitive() {
+        long checksum = 0;
+        try (var reader = MappedCsvReader.open(file, "BTC")) {
+            while (reader.next()) {
+                checksum += reader.epochMillis() ^ reader.unscaledPrice();
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public void mappedRows(Blackhole bh) {
+        try (var reader = MappedCsvReader.open(file, "BTC")) {
+            while (reader.next()) {
+                bh.consume(reader.toParsedRow());
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.crypto.benchmarks;
+
+import com.example.crypto.CryptoRecommendationApplication;
+import com.example.crypto.adapters.out.memory.PriceSeriesStore;
+import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import com.example.crypto.adapters.out.persistence.rollup.DailyRollupMaintainer;
+import com.example.crypto.application.service.CryptoRecommendationService;
+import com.example.crypto.domain.model.CryptoStats;
+import com.example.crypto.domain.model.TimeRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CryptoRecommendationService} queries against a Spring context backed by an in-memory H2
+ * database filled with synthetic hourly prices.
+ *
+ * <p>The service is called on its target instance, so the Caffeine caches in front of it are bypassed and the
+ * actual computation is measured. {@code engine} selects whether queries are answered by the in-memory
+ * {@link PriceSeriesStore} or by the database (raw price points and daily rollups).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoRecommendationServiceBenchmark {
+
+    private static final List<String> SYMBOLS = List.of("BTC", "DOGE", "ETH", "LTC", "XRP");
+    private static final LocalDate FIRST_DAY = LocalDate.parse("2025-01-01");
+
+    @Param({"memory", "database"})
+    public String engine;
+
+    @Param({"365"})
+    public int days;
+
+    private ConfigurableApplicationContext context;
+    private CryptoRecommendationService service;
+    private TimeRange fullRange;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CryptoRecommendationApplication.class)
+                .web(WebApplicationType.NONE)
+                // command line arguments, so that they take precedence over application.yml
+                .run("--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "--app.import.enabled=false",
+                        "--app.warm-up.enabled=false",
+                        "--app.rate-limit.enabled=false",
+                        "--app.in-memory.enabled=" + "memory".equals(engine),
+                        "--logging.level.root=WARN");
+
+        loadSyntheticPrices();
+
+        var proxy = context.getBean(CryptoRecommendationService.class);
+        service = (CryptoRecommendationService) AopProxyUtils.getSingletonTarget(proxy);
+        fullRange = service.resolveRange(null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CryptoRecommendationService.RecommendationRow> recommendationsFullRange() {
+        return service.recommendations(fullRange);
+    }
+
+    @Benchmark
+    public List<CryptoRecommendationService.RecommendationRow> recommendationsMonth() {
+        LocalDate from = randomDay(days - 31);
+        return service.recommendations(TimeRange.of(from, from.plusDays(30)));
+    }
+
+    @Benchmark
+    public List<CryptoRecommendationService.RecommendationRow> topRecommendationsMonth() {
+        LocalDate from = randomDay(days - 31);
+        return service.topRecommendations(TimeRange.of(from, from.plusDays(30)), 3);
+    }
+
+    @Benchmark
+    public CryptoStats statsFullRange() {
+        return service.stats("BTC", fullRange);
+    }
+
+    @Benchmark
+    public CryptoRecommendationService.BestForDay bestForDay() {
+        return service.bestForDay(randomDay(days));
+    }
+
+    private LocalDate randomDay(int bound) {
+        return FIRST_DAY.plusDays(ThreadLocalRandom.current().nextInt(bound));
+    }
+
+    private void loadSyntheticPrices() {
+        var repo = context.getBean(PricePointRepository.class);
+        var store = context.getBean(PriceSeriesStore.class);
+        var rollups = context.getBean(DailyRollupMaintainer.class);
+
+        var loader = store.isEnabled() ? store.newLoader() : null;
+        var daily = rollups.newAccumulator();
+        var random = new Random(42);
+        var batch = new ArrayList<PricePointEntity>(5_000);
+
+        for (String symbol : SYMBOLS) {
+            double price = 100 + random.nextInt(50_000);
+            Instant ts = FIRST_DAY.atStartOfDay().toInstant(ZoneOffset.UTC);
+
+            for (int hour = 0; hour < days * 24; hour++) {
+                price = Math.max(0.01, price * (1 + (random.nextDouble() - 0.5) / 25));
+                var priceUsd = BigDecimal.valueOf(price).setScale(2, java.math.RoundingMode.HALF_UP);
+
+                batch.add(new PricePointEntity(symbol, ts, priceUsd));
+                daily.add(symbol, ts, priceUsd);
+                if (loader != null) {
+                    loader.add(symbol, ts, priceUsd);
+                }
+                if (batch.size() == 5_000) {
+                    repo.saveAll(batch);
+                    batch.clear();
+                }
+                ts = ts.plusSeconds(3_600);
+            }
+        }
+        repo.saveAll(batch);
+        rollups.replaceAll(daily);
+
+        if (loader != null) {
+            loader.publish();
+        }
+    }
+}
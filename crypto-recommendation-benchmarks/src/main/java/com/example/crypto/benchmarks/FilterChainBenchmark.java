@@ -0,0 +1,80 @@
+package com.example.crypto.benchmarks;
+
+import com.example.crypto.adapters.in.web.ratelimit.IpRateLimitingFilter;
+import com.example.crypto.config.properties.RateLimitingProperties;
+import com.example.crypto.observability.RequestCorrelationFilter;
+import com.example.crypto.observability.ServiceInstanceId;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the servlet filter chain in front of the controllers:
+ * {@link RequestCorrelationFilter} followed by {@link IpRateLimitingFilter}.
+ *
+ * <p>The rate limit is high enough that no request is blocked, so the happy path is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class FilterChainBenchmark {
+
+    /**
+     * Number of distinct client IPs, i.e. rate limiter buckets in use.
+     */
+    @Param({"1", "10000"})
+    public int clients;
+
+    private RequestCorrelationFilter correlation;
+    private IpRateLimitingFilter rateLimit;
+    private String[] ips;
+
+    @Setup
+    public void setUp() {
+        var props = new RateLimitingProperties(true, 1_000_000_000L, 1_000_000_000L, Duration.ofSeconds(1),
+                100_000, Duration.ofMinutes(15));
+
+        correlation = new RequestCorrelationFilter(new ServiceInstanceId("benchmark"));
+        rateLimit = new IpRateLimitingFilter(props, new SimpleMeterRegistry(), (req, res, handler, ex) -> null,
+                new ObjectMapper());
+
+        ips = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            ips[i] = "10.%d.%d.%d".formatted((i >> 16) & 0xFF, (i >> 8) & 0xFF, i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    public int filterChain() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/v1/cryptos/recommendations");
+        request.setRemoteAddr(ips[ThreadLocalRandom.current().nextInt(ips.length)]);
+        var response = new MockHttpServletResponse();
+
+        FilterChain endpoint = (req, res) -> ((MockHttpServletResponse) res).setStatus(200);
+        correlation.doFilter(request, response, (req, res) -> rateLimit.doFilter(req, res, endpoint));
+
+        return response.getStatus();
+    }
+}
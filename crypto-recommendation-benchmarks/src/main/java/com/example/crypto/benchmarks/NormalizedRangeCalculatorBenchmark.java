@@ -0,0 +1,59 @@
+package com.example.crypto.benchmarks;
+
+import com.example.crypto.domain.model.PriceRange;
+import com.example.crypto.domain.service.NormalizedRangeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link NormalizedRangeCalculator}: the DECIMAL64 calculation and the fixed-point ranking comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizedRangeCalculatorBenchmark {
+
+    private final NormalizedRangeCalculator calculator = new NormalizedRangeCalculator();
+
+    private BigDecimal min;
+    private BigDecimal max;
+    private PriceRange btc;
+    private PriceRange eth;
+
+    @Setup
+    public void setUp() {
+        min = new BigDecimal("46813.2100000000");
+        max = new BigDecimal("47143.9800000000");
+        btc = PriceRange.of(min, max);
+        eth = PriceRange.of(new BigDecimal("3715.3200000000"), new BigDecimal("3828.1100000000"));
+    }
+
+    @Benchmark
+    public BigDecimal calculate() {
+        return calculator.calculate(min, max);
+    }
+
+    @Benchmark
+    public BigDecimal calculateFixedPoint() {
+        return calculator.calculate(btc);
+    }
+
+    @Benchmark
+    public int compareFixedPoint() {
+        return calculator.compare(btc, eth);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.crypto.benchmarks;
+
+import com.example.crypto.CryptoRecommendationApplication;
+import com.example.crypto.adapters.out.persistence.jpa.PricePointEntity;
+import com.example.crypto.adapters.out.persistence.repository.PricePointRepository;
+import com.example.crypto.adapters.out.persistence.writer.PricePointWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rows/s of the import writers ({@code app.import.writer}) against an in-memory H2 database: every
+ * invocation writes {@value #ROWS} new price points in batches of {@value #BATCH_SIZE}, each batch committed in
+ * its own transaction like the importer does. Scores are per row, so the throughput reads directly as rows/s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(PricePointWriterBenchmark.ROWS)
+public class PricePointWriterBenchmark {
+
+    static final int ROWS = 10_000;
+    static final int BATCH_SIZE = 1_000;
+
+    @Param({"jpa", "jdbc", "upsert"})
+    public String writer;
+
+    private ConfigurableApplicationContext context;
+    private PricePointWriter pricePointWriter;
+    private PricePointRepository repository;
+    private TransactionTemplate transactions;
+    private long nextTimestamp;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CryptoRecommendationApplication.class)
+                .web(WebApplicationType.NONE)
+                // command line arguments, so that they take precedence over application.yml
+                .run("--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "--app.import.enabled=false",
+                        "--app.warm-up.enabled=false",
+                        "--app.import.writer=" + writer,
+                        "--app.rate-limit.enabled=false",
+                        "--logging.level.root=WARN");
+
+        pricePointWriter = context.getBean(PricePointWriter.class);
+        repository = context.getBean(PricePointRepository.class);
+        transactions = context.getBean(TransactionTemplate.class);
+    }
+
+    /**
+     * Starts every iteration on an empty table, so index sizes stay comparable between writers.
+     */
+    @Setup(Level.Iteration)
+    public void clearTable() {
+        transactions.executeWithoutResult(status -> repository.deleteAllInBatch());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void write() {
+        for (int written = 0; written < ROWS; written += BATCH_SIZE) {
+            List<PricePointEntity> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                // unique timestamps across invocations, the table has a unique (symbol, timestamp) key
+                batch.add(new PricePointEntity("BTC", Instant.ofEpochMilli(nextTimestamp++),
+                        BigDecimal.valueOf(4_681_321 + i, 2)));
+            }
+            transactions.executeWithoutResult(status -> pricePointWriter.write(batch));
+        }
+    }
+}